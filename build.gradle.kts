@@ -2,6 +2,7 @@ plugins {
     `java-library`
     `maven-publish`
     kotlin("jvm") version "1.6.20"
+    id("me.champeau.jmh") version "0.6.6"
 }
 
 group = "at.xirado"
@@ -11,22 +12,38 @@ repositories {
     mavenCentral()
 }
 
+val jacksonVersion = "2.13.2"
+
 dependencies {
-    implementation("com.fasterxml.jackson.core:jackson-core:2.13.2")
-    implementation("com.fasterxml.jackson.core:jackson-databind:2.13.2.2")
-    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-yaml:2.8.3")
+    implementation("com.fasterxml.jackson.core:jackson-core:$jacksonVersion")
+    implementation("com.fasterxml.jackson.core:jackson-databind:$jacksonVersion.2")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-yaml:$jacksonVersion")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor:$jacksonVersion")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile:$jacksonVersion")
+    implementation("org.msgpack:jackson-dataformat-msgpack:0.9.1")
     api("org.jetbrains:annotations:23.0.0")
     api("org.slf4j:slf4j-api:1.7.36")
 
     compileOnly("org.jetbrains.kotlin:kotlin-stdlib")
 
     testImplementation(kotlin("test"))
+
+    jmh("org.openjdk.jol:jol-core:0.16")
 }
 
 tasks.test {
     useJUnitPlatform()
 }
 
+// Benchmarks live in src/jmh and run with `./gradlew jmh`.
+// Narrow the run with -Pjmh.includes=<regex> and collect allocation rates with -Pjmh.profilers=gc
+jmh {
+    jmhVersion.set("1.35")
+    includes.set(listOfNotNull(project.findProperty("jmh.includes")?.toString()))
+    profilers.set(listOfNotNull(project.findProperty("jmh.profilers")?.toString()))
+    resultFormat.set("JSON")
+}
+
 publishing {
     publications {
         create<MavenPublication>("maven") {
@@ -37,4 +54,4 @@ publishing {
             from(components["java"])
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package at.xirado.simplejson;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures typed getters and mutators on an already parsed document.
+ *
+ * <p>Run with {@code -Pjmh.profilers=gc} to see the allocation rate of each access path.
+ * The primitive getters should report close to 0 B/op, the object getters only pay for their wrapper.
+ * The {@code mode} parameter shows the cost of each {@link ThreadingMode} on a single thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessBenchmark {
+    private static final JSONPath NESTED = JSONPath.of("items[0].position.lat");
+
+    @Param({"SMALL", "MEDIUM"})
+    public Payloads.Size size;
+
+    @Param({"SYNCHRONIZED", "CONCURRENT", "UNSYNCHRONIZED"})
+    public ThreadingMode mode;
+
+    private JSONObject object;
+    private JSONObject meta;
+    private JSONObject item;
+    private JSONArray items;
+    private int counter;
+
+    @Setup
+    public void setup() {
+        object = JSONObject.fromJson(Payloads.json(size), mode);
+        meta = object.getObject("meta");
+        items = object.getArray("items");
+        item = items.getObject(0);
+    }
+
+    @Benchmark
+    public long getLong() {
+        return meta.getLong("id");
+    }
+
+    @Benchmark
+    public long getLongFromInt() {
+        return item.getLong("count");
+    }
+
+    @Benchmark
+    public long getUnsignedLong() {
+        return meta.getUnsignedLong("id");
+    }
+
+    @Benchmark
+    public int getInt() {
+        return meta.getInt("version");
+    }
+
+    @Benchmark
+    public double getDouble() {
+        return item.getDouble("score");
+    }
+
+    @Benchmark
+    public boolean getBoolean() {
+        return item.getBoolean("active");
+    }
+
+    @Benchmark
+    public String getString() {
+        return meta.getString("source");
+    }
+
+    @Benchmark
+    public JSONObject getObject() {
+        return object.getObject("meta");
+    }
+
+    @Benchmark
+    public double getNested() {
+        return object.getArray("items").getObject(0).getObject("position").getDouble("lat");
+    }
+
+    @Benchmark
+    public double getNestedPath() {
+        return object.getDouble(NESTED);
+    }
+
+    @Benchmark
+    public void iterateArray(Blackhole blackhole) {
+        for (int i = 0, n = items.length(); i < n; i++)
+            blackhole.consume(items.getObject(i).getLong("ts"));
+    }
+
+    @Benchmark
+    public JSONObject put() {
+        return meta.put("counter", counter++);
+    }
+
+    @Benchmark
+    public JSONArray addAndRemove() {
+        JSONArray tags = item.getArray("tags");
+        return tags.add("zulu").remove(tags.length() - 1);
+    }
+}
@@ -0,0 +1,73 @@
+package at.xirado.simplejson;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares per-element calls on a synchronized {@link JSONArray}, which take the lock once per value,
+ * against the batch calls {@link JSONArray#addAll(java.util.Collection)}, {@link JSONArray#removeIf(java.util.function.Predicate)}
+ * and {@link JSONArray#stream()}, which take it once per call.
+ * Run with {@code -t 4} to see the effect of lock contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchBenchmark {
+    @Param({"10", "1000"})
+    public int size;
+
+    private List<String> values;
+    private JSONArray filled;
+
+    @Setup
+    public void setup() {
+        values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            values.add("value-" + i);
+        filled = JSONArray.empty().addAll(values);
+    }
+
+    @Benchmark
+    public JSONArray addEach() {
+        JSONArray array = JSONArray.empty();
+        for (String value : values)
+            array.add(value);
+        return array;
+    }
+
+    @Benchmark
+    public JSONArray addBatch() {
+        return JSONArray.empty().addAll(values);
+    }
+
+    @Benchmark
+    public JSONArray removeEach() {
+        JSONArray array = JSONArray.empty().addAll(values);
+        for (int i = array.length() - 1; i >= 0; i -= 2)
+            array.remove(i);
+        return array;
+    }
+
+    @Benchmark
+    public JSONArray removeBatch() {
+        JSONArray array = JSONArray.empty().addAll(values);
+        array.removeIf(value -> ((String) value).hashCode() % 2 == 0);
+        return array;
+    }
+
+    @Benchmark
+    public long streamIndexed() {
+        return filled.stream(JSONArray::getString).filter(value -> value.endsWith("7")).count();
+    }
+
+    @Benchmark
+    public long streamSnapshot() {
+        return filled.stream().filter(value -> ((String) value).endsWith("7")).count();
+    }
+}
@@ -0,0 +1,51 @@
+package at.xirado.simplejson;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares JSON against the binary formats, by parse and serialize time and by encoded size.
+ *
+ * <p>The {@code bytes} counter of the serialize benchmark reports the size of one encoded payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    @Param({"JSON", "CBOR", "SMILE", "MSGPACK"})
+    public FileType format;
+
+    private JSONObject object;
+    private byte[] encoded;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Encoded {
+        public long bytes;
+    }
+
+    @Setup
+    public void setup() {
+        object = JSONObject.fromJson(Payloads.json(size), ThreadingMode.UNSYNCHRONIZED);
+        encoded = object.toBytes(format);
+    }
+
+    @Benchmark
+    public JSONObject parse() {
+        return JSONObject.fromBytes(encoded, format, ThreadingMode.UNSYNCHRONIZED);
+    }
+
+    @Benchmark
+    public byte[] serialize(Encoded counter) {
+        byte[] bytes = object.toBytes(format);
+        counter.bytes = bytes.length;
+        return bytes;
+    }
+}
@@ -0,0 +1,125 @@
+package at.xirado.simplejson;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a hand-written {@link SerializableData#toData()} with {@link BoundData},
+ * which is streamed or bound straight into the tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BindingBenchmark {
+    @Param({"10", "1000"})
+    public int orders;
+
+    private List<HandWritten> handWritten;
+    private List<Bound> bound;
+    private ByteArrayOutputStream sink;
+    private String json;
+
+    @Setup
+    public void setup() {
+        handWritten = new ArrayList<>(orders);
+        bound = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            handWritten.add(new HandWritten(i, "order-" + i, i * 1.5, i % 2 == 0));
+            bound.add(new Bound(i, "order-" + i, i * 1.5, i % 2 == 0));
+        }
+        sink = new ByteArrayOutputStream(64 * orders);
+        json = JSONBinding.toJson(bound);
+    }
+
+    @Benchmark
+    public int handWrittenToJson() {
+        sink.reset();
+        JSONArray array = JSONArray.empty();
+        for (HandWritten order : handWritten)
+            array.add(order);
+        array.writeTo(sink);
+        return sink.size();
+    }
+
+    @Benchmark
+    public int boundToJson() {
+        sink.reset();
+        JSONArray array = JSONArray.empty();
+        for (Bound order : bound)
+            array.add(order);
+        array.writeTo(sink);
+        return sink.size();
+    }
+
+    @Benchmark
+    public int boundStreamed() {
+        sink.reset();
+        try (JSONWriter writer = JSONWriter.toJson(sink)) {
+            writer.beginArray();
+            for (Bound order : bound)
+                writer.value(order);
+            writer.endArray();
+        }
+        return sink.size();
+    }
+
+    @Benchmark
+    public Bound[] boundFromJson() {
+        return JSONBinding.fromJson(json, Bound[].class);
+    }
+
+    public static final class HandWritten implements SerializableData {
+        private final long id;
+        private final String name;
+        private final double total;
+        private final boolean paid;
+
+        HandWritten(long id, String name, double total, boolean paid) {
+            this.id = id;
+            this.name = name;
+            this.total = total;
+            this.paid = paid;
+        }
+
+        @Override
+        public JSONObject toData() {
+            return JSONObject.empty()
+                    .put("id", id)
+                    .put("name", name)
+                    .put("total", total)
+                    .put("paid", paid);
+        }
+    }
+
+    public static final class Bound implements BoundData {
+        private long id;
+        private String name;
+        private double total;
+        private boolean paid;
+
+        public Bound() {}
+
+        Bound(long id, String name, double total, boolean paid) {
+            this.id = id;
+            this.name = name;
+            this.total = total;
+            this.paid = paid;
+        }
+
+        public long getId() { return id; }
+        public void setId(long id) { this.id = id; }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public double getTotal() { return total; }
+        public void setTotal(double total) { this.total = total; }
+        public boolean isPaid() { return paid; }
+        public void setPaid(boolean paid) { this.paid = paid; }
+    }
+}
@@ -0,0 +1,84 @@
+package at.xirado.simplejson;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ThreadingMode ThreadingModes} on a single object shared by all benchmark threads.
+ *
+ * <p>The benchmarks are declared once and run by one nested subclass per thread count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class ConcurrencyBenchmark {
+    private static final int KEYS = 64;
+
+    @Param({"SYNCHRONIZED", "CONCURRENT"})
+    public ThreadingMode mode;
+
+    private String[] keys;
+    private JSONObject shared;
+
+    @Setup
+    public void setup() {
+        keys = new String[KEYS];
+        shared = JSONObject.empty(mode);
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "key" + i;
+            shared.put(keys[i], (long) i);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public long read(Cursor cursor) {
+        return shared.getLong(keys[cursor.next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public boolean hasKey(Cursor cursor) {
+        return shared.hasKey(keys[cursor.next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public long readMostly(Cursor cursor) {
+        int index = cursor.next++;
+        String key = keys[index & (KEYS - 1)];
+        // one write for every fifteen reads
+        if ((index & 15) == 0) {
+            shared.put(key, (long) index);
+            return index;
+        }
+        return shared.getLong(key);
+    }
+
+    @Benchmark
+    public JSONObject write(Cursor cursor) {
+        int index = cursor.next++;
+        return shared.put(keys[index & (KEYS - 1)], (long) index);
+    }
+
+    @Threads(1)
+    public static class Threads1 extends ConcurrencyBenchmark {}
+
+    @Threads(4)
+    public static class Threads4 extends ConcurrencyBenchmark {}
+
+    @Threads(8)
+    public static class Threads8 extends ConcurrencyBenchmark {}
+
+    @Threads(16)
+    public static class Threads16 extends ConcurrencyBenchmark {}
+
+    @Threads(32)
+    public static class Threads32 extends ConcurrencyBenchmark {}
+}
@@ -0,0 +1,54 @@
+package at.xirado.simplejson;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares comparing and copying documents natively against round-tripping them through JSON text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DedupBenchmark {
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    private JSONObject left;
+    private JSONObject right;
+
+    @Setup
+    public void setup() {
+        left = JSONObject.fromJson(Payloads.json(size), ThreadingMode.UNSYNCHRONIZED);
+        right = JSONObject.fromJson(Payloads.json(size), ThreadingMode.UNSYNCHRONIZED);
+    }
+
+    @Benchmark
+    public boolean equalsByString() {
+        return left.toString().equals(right.toString());
+    }
+
+    @Benchmark
+    public boolean deepEquals() {
+        return left.equals(right);
+    }
+
+    @Benchmark
+    public UUID fingerprint128() {
+        return left.fingerprint128();
+    }
+
+    @Benchmark
+    public JSONObject copyByRoundTrip() {
+        return JSONObject.fromJson(left.toJson(), ThreadingMode.UNSYNCHRONIZED);
+    }
+
+    @Benchmark
+    public JSONObject deepCopy() {
+        return left.deepCopy();
+    }
+}
@@ -0,0 +1,49 @@
+package at.xirado.simplejson;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures computing and applying JSON Patches, for separately parsed documents and for versions which share structure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiffBenchmark {
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    private JSONObject source;
+    private JSONObject target;
+    private PersistentJSONObject version;
+    private PersistentJSONObject nextVersion;
+    private JSONPatch patch;
+
+    @Setup
+    public void setup() {
+        source = JSONObject.fromJson(Payloads.json(size), ThreadingMode.UNSYNCHRONIZED);
+        target = JSONObject.fromJson(Payloads.json(size), ThreadingMode.UNSYNCHRONIZED).put("changed", true);
+        version = PersistentJSONObject.copyOf(source);
+        nextVersion = version.with("changed", true);
+        patch = source.diff(target);
+    }
+
+    @Benchmark
+    public JSONPatch diffParsed() {
+        return source.diff(target);
+    }
+
+    @Benchmark
+    public JSONPatch diffSharedVersions() {
+        return version.diff(nextVersion);
+    }
+
+    @Benchmark
+    public JSONObject applyCopy() {
+        return source.applyCopy(patch);
+    }
+}
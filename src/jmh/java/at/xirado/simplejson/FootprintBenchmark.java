@@ -0,0 +1,61 @@
+package at.xirado.simplejson;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the retained heap of parsed payloads across representations.
+ *
+ * <p>The time of a single parse is only incidental, the interesting results are the
+ * {@code bytes} and {@code objects} counters, which report the size of the parsed tree as measured by JOL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+public class FootprintBenchmark {
+    public enum Representation {
+        MUTABLE(ParseOptions.defaults().withThreadingMode(ThreadingMode.UNSYNCHRONIZED)),
+        FROZEN(ParseOptions.defaults().withFrozen(true)),
+        FROZEN_PRIMITIVE(ParseOptions.defaults().withFrozen(true).withPrimitiveArrays(true));
+
+        private final ParseOptions options;
+
+        Representation(ParseOptions options) {
+            this.options = options;
+        }
+    }
+
+    @Param({"MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    @Param({"MUTABLE", "FROZEN", "FROZEN_PRIMITIVE"})
+    public Representation representation;
+
+    private String json;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Retained {
+        public long bytes;
+        public long objects;
+    }
+
+    @Setup
+    public void setup() {
+        json = Payloads.string(Payloads.json(size));
+    }
+
+    @Benchmark
+    public JSONObject parse(Retained retained) {
+        JSONObject parsed = JSONObject.fromJson(json, representation.options);
+        GraphLayout layout = GraphLayout.parseInstance(parsed.toMap());
+        retained.bytes = layout.totalSize();
+        retained.objects = layout.totalCount();
+        return parsed;
+    }
+}
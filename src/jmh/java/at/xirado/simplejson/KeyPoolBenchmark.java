@@ -0,0 +1,42 @@
+package at.xirado.simplejson;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing overhead of canonicalizing keys through a shared {@link KeyPool}.
+ *
+ * <p>Run with {@code -Pjmh.profilers=gc} to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeyPoolBenchmark {
+    @Param({"MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    private String json;
+    private ParseOptions plain;
+    private ParseOptions pooled;
+
+    @Setup
+    public void setup() {
+        json = Payloads.string(Payloads.json(size));
+        plain = ParseOptions.defaults();
+        pooled = plain.withKeyPool(new KeyPool(1024));
+    }
+
+    @Benchmark
+    public JSONObject parsePlain() {
+        return JSONObject.fromJson(json, plain);
+    }
+
+    @Benchmark
+    public JSONObject parsePooled() {
+        return JSONObject.fromJson(json, pooled);
+    }
+}
@@ -0,0 +1,79 @@
+package at.xirado.simplejson;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares storing domain objects eagerly with {@link JSONArray#add(Object)}
+ * against storing them with {@link JSONArray#addLazy(JSONProperty)}, for responses which are written and which are discarded.
+ * Run with {@code -Pjmh.profilers=gc} to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LazyBenchmark {
+    @Param({"10", "1000"})
+    public int orders;
+
+    private List<BindingBenchmark.HandWritten> handWritten;
+    private List<BindingBenchmark.Bound> bound;
+    private ByteArrayOutputStream sink;
+
+    @Setup
+    public void setup() {
+        handWritten = new ArrayList<>(orders);
+        bound = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            handWritten.add(new BindingBenchmark.HandWritten(i, "order-" + i, i * 1.5, i % 2 == 0));
+            bound.add(new BindingBenchmark.Bound(i, "order-" + i, i * 1.5, i % 2 == 0));
+        }
+        sink = new ByteArrayOutputStream(64 * orders);
+    }
+
+    @Benchmark
+    public JSONObject eagerDiscarded() {
+        JSONArray array = JSONArray.empty();
+        for (BindingBenchmark.HandWritten order : handWritten)
+            array.add(order);
+        return JSONObject.empty().put("orders", array);
+    }
+
+    @Benchmark
+    public JSONObject lazyDiscarded() {
+        JSONArray array = JSONArray.empty();
+        for (BindingBenchmark.HandWritten order : handWritten)
+            array.addLazy(order);
+        return JSONObject.empty().put("orders", array);
+    }
+
+    @Benchmark
+    public int eagerWritten() {
+        sink.reset();
+        eagerDiscarded().writeTo(sink);
+        return sink.size();
+    }
+
+    @Benchmark
+    public int lazyWritten() {
+        sink.reset();
+        lazyDiscarded().writeTo(sink);
+        return sink.size();
+    }
+
+    @Benchmark
+    public int lazyBoundWritten() {
+        sink.reset();
+        JSONArray array = JSONArray.empty();
+        for (BindingBenchmark.Bound order : bound)
+            array.addLazy(order);
+        JSONObject.empty().put("orders", array).writeTo(sink);
+        return sink.size();
+    }
+}
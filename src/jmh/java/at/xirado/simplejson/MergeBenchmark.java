@@ -0,0 +1,81 @@
+package at.xirado.simplejson;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares layering a small override onto a large base, by hand over {@link JSONObject#toMap()}
+ * against {@link JSONObject#merge(JSONObject)} onto a copy and onto a frozen base.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MergeBenchmark {
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    private JSONObject base;
+    private JSONObject frozenBase;
+    private JSONObject override;
+
+    @Setup
+    public void setup() {
+        base = JSONObject.fromJson(Payloads.json(size), ThreadingMode.UNSYNCHRONIZED);
+        frozenBase = JSONObject.fromJson(Payloads.json(size), ThreadingMode.UNSYNCHRONIZED).freeze();
+        override = JSONObject.fromJson("{\"meta\":{\"region\":\"eu-west\",\"debug\":true}}", ThreadingMode.UNSYNCHRONIZED);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public JSONObject mergeByHand() {
+        Map<String, Object> result = (Map<String, Object>) copy(base.toMap());
+        mergeMaps(result, override.toMap());
+        return new JSONObject(result, ThreadingMode.UNSYNCHRONIZED);
+    }
+
+    @Benchmark
+    public JSONObject mergeCopy() {
+        return base.deepCopy().merge(override);
+    }
+
+    @Benchmark
+    public JSONObject mergeFrozen() {
+        return JSONObject.empty(ThreadingMode.UNSYNCHRONIZED).merge(frozenBase).merge(override);
+    }
+
+    // Copies every layer recursively, as hand-written merges over toMap() have to
+    private static Object copy(Object value) {
+        if (value instanceof Map) {
+            Map<String, Object> copy = new HashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+                copy.put((String) entry.getKey(), copy(entry.getValue()));
+            return copy;
+        }
+        if (value instanceof List) {
+            List<Object> copy = new ArrayList<>();
+            for (Object element : (List<?>) value)
+                copy.add(copy(element));
+            return copy;
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void mergeMaps(Map<String, Object> target, Map<String, Object> source) {
+        for (Map.Entry<String, Object> entry : source.entrySet()) {
+            Object existing = target.get(entry.getKey());
+            if (existing instanceof Map && entry.getValue() instanceof Map)
+                mergeMaps((Map<String, Object>) existing, (Map<String, Object>) entry.getValue());
+            else
+                target.put(entry.getKey(), entry.getValue());
+        }
+    }
+}
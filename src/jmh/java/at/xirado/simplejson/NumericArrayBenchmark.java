@@ -0,0 +1,100 @@
+package at.xirado.simplejson;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares boxed and primitive storage of large numeric arrays.
+ *
+ * <p>Run with {@code -Pjmh.profilers=gc} to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NumericArrayBenchmark {
+    private static final ParseOptions BOXED = ParseOptions.defaults().withThreadingMode(ThreadingMode.UNSYNCHRONIZED);
+    private static final ParseOptions PRIMITIVE = BOXED.withPrimitiveArrays(true);
+
+    @Param({"1000", "100000"})
+    public int length;
+
+    private String longs;
+    private String doubles;
+    private JSONArray boxed;
+    private JSONArray primitive;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        StringBuilder longBuilder = new StringBuilder("[");
+        StringBuilder doubleBuilder = new StringBuilder("[");
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                longBuilder.append(',');
+                doubleBuilder.append(',');
+            }
+            longBuilder.append(1_600_000_000_000L + random.nextInt(1_000_000));
+            doubleBuilder.append(random.nextDouble() * 100);
+        }
+        longs = longBuilder.append(']').toString();
+        doubles = doubleBuilder.append(']').toString();
+        boxed = JSONArray.fromJson(longs, BOXED);
+        primitive = JSONArray.fromJson(longs, PRIMITIVE);
+    }
+
+    @Benchmark
+    public JSONArray parseLongsBoxed() {
+        return JSONArray.fromJson(longs, BOXED);
+    }
+
+    @Benchmark
+    public JSONArray parseLongsPrimitive() {
+        return JSONArray.fromJson(longs, PRIMITIVE);
+    }
+
+    @Benchmark
+    public JSONArray parseDoublesBoxed() {
+        return JSONArray.fromJson(doubles, BOXED);
+    }
+
+    @Benchmark
+    public JSONArray parseDoublesPrimitive() {
+        return JSONArray.fromJson(doubles, PRIMITIVE);
+    }
+
+    @Benchmark
+    public long sumBoxed() {
+        long sum = 0;
+        for (int i = 0, n = boxed.length(); i < n; i++)
+            sum += boxed.getLong(i);
+        return sum;
+    }
+
+    @Benchmark
+    public long sumPrimitive() {
+        long sum = 0;
+        for (int i = 0, n = primitive.length(); i < n; i++)
+            sum += primitive.getLong(i);
+        return sum;
+    }
+
+    @Benchmark
+    public long longStreamBoxed() {
+        return boxed.longStream().sum();
+    }
+
+    @Benchmark
+    public long longStreamPrimitive() {
+        return primitive.longStream().sum();
+    }
+
+    @Benchmark
+    public byte[] serializePrimitive() {
+        return primitive.toJson();
+    }
+}
@@ -0,0 +1,72 @@
+package at.xirado.simplejson;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parse entry points of {@link JSONObject} and {@link JSONArray}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    private byte[] json;
+    private String jsonString;
+    private byte[] array;
+    private String arrayString;
+    private String yaml;
+
+    @Setup
+    public void setup() {
+        json = Payloads.json(size);
+        jsonString = Payloads.string(json);
+        array = Payloads.jsonArray(size);
+        arrayString = Payloads.string(array);
+        yaml = Payloads.yaml(size);
+    }
+
+    @Benchmark
+    public JSONObject objectFromBytes() {
+        return JSONObject.fromJson(json);
+    }
+
+    @Benchmark
+    public JSONObject objectFromString() {
+        return JSONObject.fromJson(jsonString);
+    }
+
+    @Benchmark
+    public JSONObject objectFromInputStream() {
+        return JSONObject.fromJson(new ByteArrayInputStream(json));
+    }
+
+    @Benchmark
+    public JSONObject objectFromReader() {
+        return JSONObject.fromJson(new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public JSONArray arrayFromInputStream() {
+        return JSONArray.fromJson(new ByteArrayInputStream(array));
+    }
+
+    @Benchmark
+    public JSONArray arrayFromString() {
+        return JSONArray.fromJson(arrayString);
+    }
+
+    @Benchmark
+    public JSONObject objectFromYaml() {
+        return JSONObject.fromYaml(yaml);
+    }
+}
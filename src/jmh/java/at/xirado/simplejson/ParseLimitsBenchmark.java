@@ -0,0 +1,72 @@
+package at.xirado.simplejson;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the limits of {@link ParseOptions}, compared to parsing with the defaults,
+ * and how quickly a hostile payload is rejected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseLimitsBenchmark {
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    private byte[] json;
+    private byte[] deep;
+    private ParseOptions defaults;
+    private ParseOptions limited;
+    private ParseOptions nested;
+
+    @Setup
+    public void setup() {
+        json = Payloads.json(size);
+        defaults = ParseOptions.defaults().withThreadingMode(ThreadingMode.UNSYNCHRONIZED);
+        // Generous enough for the payload, so every check runs without failing
+        limited = defaults
+                .withMaxBytes(json.length)
+                .withMaxDepth(64)
+                .withMaxTokens(1_000_000)
+                .withMaxStringLength(4096)
+                .withNumberPolicy(NumberPolicy.LONG_AND_DOUBLE)
+                .withDuplicateKeyPolicy(DuplicateKeyPolicy.REJECT);
+
+        nested = limited.withMaxBytes(Long.MAX_VALUE);
+
+        StringBuilder builder = new StringBuilder("{\"a\":");
+        for (int i = 0; i < 100_000; i++)
+            builder.append('[');
+        deep = builder.toString().getBytes();
+    }
+
+    @Benchmark
+    public JSONObject defaults() {
+        return JSONObject.fromJson(json, defaults);
+    }
+
+    @Benchmark
+    public JSONObject limited() {
+        return JSONObject.fromJson(json, limited);
+    }
+
+    @Benchmark
+    public JSONObject limitedStream() {
+        return JSONObject.fromJson(new ByteArrayInputStream(json), limited);
+    }
+
+    @Benchmark
+    public Object rejectDeep() {
+        try {
+            return JSONObject.fromJson(deep, nested);
+        } catch (ParsingException ex) {
+            return ex;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package at.xirado.simplejson;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares extracting a few fields by path against parsing the whole document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathBenchmark {
+    private static final JSONPath META_ID = JSONPath.compile("meta.id");
+    private static final JSONPath FIRST_TS = JSONPath.compile("items[0].ts");
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    private byte[] json;
+
+    @Setup
+    public void setup() {
+        json = Payloads.json(size);
+    }
+
+    @Benchmark
+    public void parseAndGet(Blackhole blackhole) {
+        JSONObject object = JSONObject.fromJson(json);
+        blackhole.consume(object.getObject("meta").getLong("id"));
+        blackhole.consume(object.getArray("items").getObject(0).getLong("ts"));
+    }
+
+    @Benchmark
+    public Object[] extractAll() {
+        return JSONPath.extractAll(json, META_ID, FIRST_TS);
+    }
+}
@@ -0,0 +1,142 @@
+package at.xirado.simplejson;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Deterministic documents shared by all benchmarks.
+ *
+ * <p>Every document has the same shape: a {@code meta} object followed by an {@code items} array of records.
+ * Only the number of records changes between sizes, so results are comparable across sizes.
+ */
+public final class Payloads {
+    private static final String[] WORDS = {
+            "alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf", "hotel",
+            "india", "juliett", "kilo", "lima", "mike", "november", "oscar", "papa"
+    };
+
+    private Payloads() {}
+
+    /**
+     * Payload sizes used as JMH parameters.
+     */
+    public enum Size {
+        /** Roughly 1 KB of JSON. */
+        SMALL(4),
+        /** Roughly 64 KB of JSON. */
+        MEDIUM(256),
+        /** Roughly 4 MB of JSON. */
+        LARGE(16384);
+
+        final int items;
+
+        Size(int items) {
+            this.items = items;
+        }
+    }
+
+    /**
+     * Builds the raw tree for the provided size.
+     *
+     * @param size The payload size
+     * @return A fresh mutable tree of {@link HashMap} and {@link ArrayList} instances
+     */
+    static Map<String, Object> tree(Size size) {
+        Random random = new Random(42);
+        Map<String, Object> meta = new HashMap<>();
+        meta.put("id", 1_000_000_007L);
+        meta.put("source", "benchmark");
+        meta.put("version", 3);
+        meta.put("generated", 1_650_000_000_000L);
+
+        List<Object> items = new ArrayList<>(size.items);
+        for (int i = 0; i < size.items; i++)
+            items.add(item(random, i));
+
+        Map<String, Object> root = new HashMap<>();
+        root.put("meta", meta);
+        root.put("items", items);
+        return root;
+    }
+
+    /**
+     * JSON encoding of {@link #tree(Size)}.
+     */
+    static byte[] json(Size size) {
+        return new JSONObject(tree(size)).toJson();
+    }
+
+    /**
+     * JSON encoding of the {@code items} array of {@link #tree(Size)}.
+     */
+    static byte[] jsonArray(Size size) {
+        return new JSONObject(tree(size)).getArray("items").toJson();
+    }
+
+    /**
+     * Block style YAML encoding of {@link #tree(Size)}, shaped like a typical configuration file.
+     */
+    static String yaml(Size size) {
+        StringBuilder builder = new StringBuilder();
+        writeYaml(builder, tree(size), 0);
+        return builder.toString();
+    }
+
+    static String string(byte[] json) {
+        return new String(json, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, Object> item(Random random, int index) {
+        Map<String, Object> position = new HashMap<>();
+        position.put("lat", random.nextDouble() * 180 - 90);
+        position.put("lon", random.nextDouble() * 360 - 180);
+
+        List<Object> tags = new ArrayList<>();
+        for (int i = 0, n = 1 + random.nextInt(4); i < n; i++)
+            tags.add(WORDS[random.nextInt(WORDS.length)]);
+
+        Map<String, Object> item = new HashMap<>();
+        item.put("id", 10_000_000_000L + index);
+        item.put("ts", 1_650_000_000_000L + random.nextInt(86_400_000));
+        item.put("name", WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]);
+        item.put("count", random.nextInt(1000));
+        item.put("score", random.nextDouble());
+        item.put("active", random.nextBoolean());
+        item.put("note", null);
+        item.put("tags", tags);
+        item.put("position", position);
+        return item;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeYaml(StringBuilder builder, Object value, int indent) {
+        if (value instanceof Map) {
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                pad(builder, indent).append(entry.getKey()).append(':');
+                writeYamlChild(builder, entry.getValue(), indent);
+            }
+        } else {
+            for (Object element : (List<Object>) value) {
+                pad(builder, indent).append('-');
+                writeYamlChild(builder, element, indent);
+            }
+        }
+    }
+
+    private static void writeYamlChild(StringBuilder builder, Object value, int indent) {
+        if (value instanceof Map || value instanceof List) {
+            builder.append('\n');
+            writeYaml(builder, value, indent + 2);
+        } else if (value instanceof String) {
+            builder.append(" \"").append(value).append("\"\n");
+        } else {
+            builder.append(' ').append(value == null ? "null" : value).append('\n');
+        }
+    }
+
+    private static StringBuilder pad(StringBuilder builder, int indent) {
+        for (int i = 0; i < indent; i++)
+            builder.append(' ');
+        return builder;
+    }
+}
@@ -0,0 +1,73 @@
+package at.xirado.simplejson;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serialization of parsed documents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializeBenchmark {
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    private JSONObject object;
+    private JSONArray array;
+    private ByteArrayOutputStream sink;
+
+    @Setup
+    public void setup() {
+        object = JSONObject.fromJson(Payloads.json(size));
+        array = object.getArray("items");
+        sink = new ByteArrayOutputStream(object.toJson().length);
+    }
+
+    @Benchmark
+    public byte[] objectToJson() {
+        return object.toJson();
+    }
+
+    @Benchmark
+    public String objectToString() {
+        return object.toString();
+    }
+
+    @Benchmark
+    public String objectToPrettyString() {
+        return object.toPrettyString();
+    }
+
+    @Benchmark
+    public int objectWriteTo() {
+        // reusing the sink isolates the cost of serialization from growing the target buffer
+        sink.reset();
+        object.writeTo(sink);
+        return sink.size();
+    }
+
+    @Benchmark
+    public int objectWriter() {
+        sink.reset();
+        try (JSONWriter writer = JSONWriter.toJson(sink)) {
+            writer.value(object);
+        }
+        return sink.size();
+    }
+
+    @Benchmark
+    public byte[] arrayToJson() {
+        return array.toJson();
+    }
+
+    @Benchmark
+    public String arrayToString() {
+        return array.toString();
+    }
+}
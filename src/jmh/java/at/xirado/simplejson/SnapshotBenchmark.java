@@ -0,0 +1,61 @@
+package at.xirado.simplejson;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares taking a modified snapshot of a keyed state document,
+ * by copying the mutable representation or by deriving a new persistent version.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnapshotBenchmark {
+    @Param({"MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    private JSONObject mutable;
+    private PersistentJSONObject persistent;
+    private JSONObject replacement;
+    private String key;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        List<Object> items = (List<Object>) Payloads.tree(size).get("items");
+        Map<String, Object> state = new HashMap<>();
+        for (int i = 0; i < items.size(); i++)
+            state.put("item" + i, items.get(i));
+        mutable = new JSONObject(state, ThreadingMode.UNSYNCHRONIZED);
+        persistent = PersistentJSONObject.copyOf(mutable);
+        replacement = mutable.getObject("item0");
+        key = "item" + items.size() / 2;
+    }
+
+    @Benchmark
+    public JSONObject copySnapshot() {
+        return mutable.deepCopy().put(key, replacement);
+    }
+
+    @Benchmark
+    public PersistentJSONObject persistentSnapshot() {
+        return persistent.with(key, replacement);
+    }
+
+    @Benchmark
+    public long mutableGet() {
+        return mutable.getObject(key).getLong("ts");
+    }
+
+    @Benchmark
+    public long persistentGet() {
+        return persistent.getObject(key).getLong("ts");
+    }
+}
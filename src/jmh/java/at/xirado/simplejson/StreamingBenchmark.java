@@ -0,0 +1,45 @@
+package at.xirado.simplejson;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares materializing a whole array against streaming its elements one at a time.
+ *
+ * <p>Run with {@code -Pjmh.profilers=gc} to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamingBenchmark {
+    @Param({"MEDIUM", "LARGE"})
+    public Payloads.Size size;
+
+    private byte[] array;
+
+    @Setup
+    public void setup() {
+        array = Payloads.jsonArray(size);
+    }
+
+    @Benchmark
+    public void materialize(Blackhole blackhole) {
+        JSONArray items = JSONArray.fromJson(new ByteArrayInputStream(array));
+        for (int i = 0, n = items.length(); i < n; i++)
+            blackhole.consume(items.getObject(i).getLong("ts"));
+    }
+
+    @Benchmark
+    public void streamArray(Blackhole blackhole) {
+        try (Stream<JSONObject> items = JSONReader.streamArray(new ByteArrayInputStream(array))) {
+            items.forEach(item -> blackhole.consume(item.getLong("ts")));
+        }
+    }
+}
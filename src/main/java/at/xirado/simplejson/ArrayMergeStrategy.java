@@ -0,0 +1,85 @@
+package at.xirado.simplejson;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Defines how {@link JSONObject#merge(JSONObject, ArrayMergeStrategy)} combines an array with the array it overrides.
+ *
+ * <pre>{@code
+ * JSONObject config = defaults.deepCopy()
+ *         .merge(region)
+ *         .merge(host, ArrayMergeStrategy.byKey("name"));
+ * }</pre>
+ *
+ * <p>This class is immutable and Thread-Safe.
+ */
+public final class ArrayMergeStrategy {
+    /**
+     * The overriding array replaces the existing array. This is the default.
+     */
+    public static final ArrayMergeStrategy REPLACE = new ArrayMergeStrategy(null, false);
+
+    /**
+     * The elements of the overriding array are appended to the existing array.
+     */
+    public static final ArrayMergeStrategy APPEND = new ArrayMergeStrategy(null, true);
+
+    private final String key;
+    private final boolean append;
+
+    private ArrayMergeStrategy(String key, boolean append) {
+        this.key = key;
+        this.append = append;
+    }
+
+    /**
+     * Merges objects in both arrays which have an equal value for the provided key, such as an {@code id} or {@code name}.
+     *
+     * <p>Objects of the overriding array are deep merged into the existing object with the same key,
+     * using this strategy for nested arrays as well. Elements without a match are appended.
+     * Numbers in keys are matched by value, so {@code 1} matches {@code 1L}.
+     *
+     * @param key The key which identifies the objects
+     * @return The strategy
+     */
+    @NotNull
+    public static ArrayMergeStrategy byKey(@NotNull String key) {
+        return new ArrayMergeStrategy(key, true);
+    }
+
+    /**
+     * The key objects are matched by, or null if this strategy doesn't match objects.
+     */
+    @Nullable
+    String getKey() {
+        return key;
+    }
+
+    /**
+     * Whether the existing array is kept, rather than replaced.
+     */
+    boolean isAppend() {
+        return append;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof ArrayMergeStrategy))
+            return false;
+        ArrayMergeStrategy other = (ArrayMergeStrategy) obj;
+        return append == other.append && (key == null ? other.key == null : key.equals(other.key));
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (key == null ? 0 : key.hashCode()) + (append ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        if (key != null)
+            return "ArrayMergeStrategy(byKey=" + key + ")";
+        return append ? "ArrayMergeStrategy(APPEND)" : "ArrayMergeStrategy(REPLACE)";
+    }
+}
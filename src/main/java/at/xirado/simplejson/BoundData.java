@@ -0,0 +1,38 @@
+package at.xirado.simplejson;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * {@link SerializableData} which is bound through its public getters and fields, instead of a hand-written {@link #toData()}.
+ *
+ * <pre>{@code
+ * public class User implements BoundData {
+ *     private long id;
+ *     private String name;
+ *
+ *     public long getId() { return id; }
+ *     public String getName() { return name; }
+ *     ...
+ * }
+ *
+ * response.put("user", user);                           // stores the bound values, without building a JSONObject first
+ * writer.name("user").value(user);                       // streams the bound values straight to the output
+ * User copy = JSONBinding.fromData(data, User.class);    // binds the data back into a new instance
+ * }</pre>
+ *
+ * <p>Records can implement this interface as well, their components are bound instead of getters.
+ *
+ * @see JSONBinding
+ */
+public interface BoundData extends SerializableData {
+    /**
+     * Binds this object into a new {@link JSONObject}.
+     *
+     * @return {@link JSONObject}
+     */
+    @NotNull
+    @Override
+    default JSONObject toData() {
+        return JSONBinding.toData(this);
+    }
+}
@@ -0,0 +1,217 @@
+package at.xirado.simplejson;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * {@link ConcurrentHashMap} backed map which also accepts {@code null} values.
+ *
+ * <p>Null values are stored as a sentinel, since {@link ConcurrentHashMap} rejects them.
+ * Single key operations, including the atomic defaults of {@link Map} such as {@link #putIfAbsent(String, Object)},
+ * {@link #compute(String, BiFunction)} and {@link #merge(String, Object, BiFunction)}, are delegated to the backing map
+ * and are atomic. A key mapped to null counts as absent for them, as specified by {@link Map}.
+ * Iteration is weakly consistent, as described in {@link ConcurrentHashMap}.
+ *
+ * @see ThreadingMode#CONCURRENT
+ */
+final class ConcurrentDataMap extends AbstractMap<String, Object> {
+    private static final Object NULL = new Object();
+
+    private final ConcurrentHashMap<String, Object> map;
+    private Set<Entry<String, Object>> entrySet;
+
+    // Used by jackson when parsing with ThreadingMode.CONCURRENT
+    public ConcurrentDataMap() {
+        this.map = new ConcurrentHashMap<>();
+    }
+
+    ConcurrentDataMap(@NotNull Map<String, ?> source) {
+        this.map = new ConcurrentHashMap<>(Math.max(16, (int) (source.size() / 0.75f) + 1));
+        source.forEach(this::put);
+    }
+
+    private static Object mask(Object value) {
+        return value == null ? NULL : value;
+    }
+
+    private static Object unmask(Object value) {
+        return value == NULL ? null : value;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key != null && map.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return map.containsValue(mask(value));
+    }
+
+    @Override
+    public Object get(Object key) {
+        return key == null ? null : unmask(map.get(key));
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return unmask(map.put(key, mask(value)));
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return key == null ? null : unmask(map.remove(key));
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    @Override
+    public Object getOrDefault(Object key, Object defaultValue) {
+        Object value = key == null ? null : map.get(key);
+        return value == null ? defaultValue : unmask(value);
+    }
+
+    @Override
+    public Object putIfAbsent(String key, Object value) {
+        Object masked = mask(value);
+        while (true) {
+            Object previous = map.putIfAbsent(key, masked);
+            if (previous != NULL)
+                return previous;
+            // Mapped to null, which counts as absent
+            if (map.replace(key, NULL, masked))
+                return null;
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        return key != null && map.remove(key, mask(value));
+    }
+
+    @Override
+    public boolean replace(String key, Object oldValue, Object newValue) {
+        return map.replace(key, mask(oldValue), mask(newValue));
+    }
+
+    @Override
+    public Object replace(String key, Object value) {
+        return unmask(map.replace(key, mask(value)));
+    }
+
+    @Override
+    public Object computeIfAbsent(String key, Function<? super String, ?> mappingFunction) {
+        return unmask(map.compute(key, (k, existing) -> {
+            if (existing != null && existing != NULL)
+                return existing;
+            Object value = mappingFunction.apply(k);
+            return value == null ? existing : value;
+        }));
+    }
+
+    @Override
+    public Object computeIfPresent(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        return unmask(map.computeIfPresent(key, (k, existing) -> existing == NULL ? NULL : remappingFunction.apply(k, existing)));
+    }
+
+    @Override
+    public Object compute(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        return unmask(map.compute(key, (k, existing) -> remappingFunction.apply(k, unmask(existing))));
+    }
+
+    @Override
+    public Object merge(String key, Object value, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        Objects.requireNonNull(value);
+        return unmask(map.compute(key, (k, existing) -> existing == null || existing == NULL ? value : remappingFunction.apply(existing, value)));
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        map.forEach((key, value) -> action.accept(key, unmask(value)));
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super Object, ?> function) {
+        map.replaceAll((key, value) -> mask(function.apply(key, unmask(value))));
+    }
+
+    @NotNull
+    @Override
+    public Set<String> keySet() {
+        return map.keySet();
+    }
+
+    @NotNull
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Set<Entry<String, Object>> entries = entrySet;
+        if (entries == null)
+            entrySet = entries = new EntrySet();
+        return entries;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @NotNull
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            Iterator<Entry<String, Object>> iterator = map.entrySet().iterator();
+            return new Iterator<Entry<String, Object>>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Entry<String, Object> next() {
+                    Entry<String, Object> entry = iterator.next();
+                    return new DataEntry(entry.getKey(), unmask(entry.getValue()));
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                }
+            };
+        }
+    }
+
+    private final class DataEntry extends SimpleEntry<String, Object> {
+        DataEntry(String key, Object value) {
+            super(key, value);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            super.setValue(value);
+            return unmask(map.put(getKey(), mask(value)));
+        }
+    }
+}
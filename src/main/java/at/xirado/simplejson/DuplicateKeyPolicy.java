@@ -0,0 +1,19 @@
+package at.xirado.simplejson;
+
+/**
+ * Enum constants representing how an object which contains the same key more than once is parsed.
+ *
+ * @see ParseOptions#withDuplicateKeyPolicy(DuplicateKeyPolicy)
+ */
+public enum DuplicateKeyPolicy {
+    /**
+     * Every occurrence replaces the previous value, the last one is kept.
+     *
+     * <p>This is how all factory methods without a ParseOptions parameter parse duplicate keys.
+     */
+    LAST_WINS,
+    /**
+     * The payload is rejected with a {@link ParsingException}.
+     */
+    REJECT
+}
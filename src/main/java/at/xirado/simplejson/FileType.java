@@ -1,6 +1,39 @@
 package at.xirado.simplejson;
 
+/**
+ * Formats {@link JSONObject} and {@link JSONArray} can be read from and written to.
+ *
+ * <p>The binary formats encode the same data model as JSON, but are more compact and faster to parse.
+ * They can only be read from bytes or streams, never from Strings.
+ */
 public enum FileType {
-    JSON,
-    YAML,
+    JSON(false),
+    YAML(false),
+    /**
+     * Concise Binary Object Representation (RFC 8949).
+     */
+    CBOR(true),
+    /**
+     * Jackson's binary JSON format, which back-references repeated keys and short strings.
+     */
+    SMILE(true),
+    /**
+     * MessagePack, widely supported outside of the JVM.
+     */
+    MSGPACK(true);
+
+    private final boolean binary;
+
+    FileType(boolean binary) {
+        this.binary = binary;
+    }
+
+    /**
+     * Whether this is a binary format, which can't be represented as a String.
+     *
+     * @return True, if this format is binary
+     */
+    public boolean isBinary() {
+        return binary;
+    }
 }
@@ -0,0 +1,349 @@
+package at.xirado.simplejson;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Deeply immutable, compact representations of the {@link Map}/{@link List} trees
+ * that {@link JSONObject} and {@link JSONArray} are backed by.
+ *
+ * <p>Frozen trees never change after construction, so they are read without any locking.
+ * All mutators throw {@link UnsupportedOperationException}.
+ */
+final class Frozen {
+    private Frozen() {}
+
+    /**
+     * Marker for maps and lists which can never change, and therefore never need to be guarded or copied.
+     */
+    interface Immutable {}
+
+    /**
+     * Creates a frozen copy of the provided value, including all of its children.
+     * Values which are already frozen are shared instead of copied.
+     * Values which are neither maps nor lists are kept as they are.
+     *
+     * @param value The value to freeze
+     * @return The frozen value
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static Object freeze(@Nullable Object value) {
+        // Lazy values are materialized, a frozen tree may not refer to data which can still change
+        if (value instanceof JSONProperty)
+            value = JSONBinding.tree(value, ThreadingMode.UNSYNCHRONIZED);
+        if (value instanceof Map)
+            return freezeMap((Map<String, Object>) value);
+        if (value instanceof List)
+            return freezeList((List<Object>) value);
+        return value;
+    }
+
+    /**
+     * Whether the provided value is the root of a frozen tree.
+     */
+    static boolean isFrozen(@Nullable Object value) {
+        return value instanceof Immutable
+                || value instanceof NumericArrayList && ((NumericArrayList) value).isFrozen();
+    }
+
+    @NotNull
+    static Map<String, Object> freezeMap(@NotNull Map<String, Object> map) {
+        if (map instanceof Immutable)
+            return map;
+        Object[] pairs = new Object[map.size() * 2];
+        int i = 0;
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            // the map may have grown since size() was read, if it is modified concurrently
+            if (i == pairs.length)
+                pairs = Arrays.copyOf(pairs, pairs.length * 2 + 2);
+            pairs[i++] = entry.getKey();
+            pairs[i++] = freeze(entry.getValue());
+        }
+        return new FrozenMap(pairs, i / 2);
+    }
+
+    @NotNull
+    static List<Object> freezeList(@NotNull List<Object> list) {
+        if (list instanceof Immutable)
+            return list;
+        if (list instanceof NumericArrayList) {
+            NumericArrayList numbers = (NumericArrayList) list;
+            if (numbers.isFrozen())
+                return numbers;
+            // Primitive storage stays primitive, only boxed storage is copied into a FrozenList
+            if (numbers.kind() != NumericArrayList.OBJECTS)
+                return numbers.frozenCopy();
+        }
+        Object[] elements = list.toArray();
+        for (int i = 0; i < elements.length; i++)
+            elements[i] = freeze(elements[i]);
+        return new FrozenList(elements);
+    }
+
+    /**
+     * Open-addressed hash table which stores keys and values interleaved in a single array.
+     * Keys are never null, values may be.
+     *
+     * <p>The table is at most two thirds full, which keeps probe sequences short
+     * while storing an entry in roughly three references instead of a {@link HashMap} node and its table slot.
+     */
+    static final class FrozenMap extends AbstractMap<String, Object> implements Immutable {
+        private final Object[] table;
+        private final int size;
+        private Set<Entry<String, Object>> entrySet;
+
+        /**
+         * @param pairs Keys and values interleaved, later duplicates of a key replace earlier ones
+         * @param count The amount of pairs to read from the array
+         */
+        FrozenMap(@NotNull Object[] pairs, int count) {
+            int capacity = 2;
+            while (capacity * 2 < count * 3)
+                capacity <<= 1;
+            Object[] table = new Object[capacity * 2];
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                Object key = Objects.requireNonNull(pairs[i * 2], "Keys may not be null");
+                int slot = probe(table, key);
+                if (table[slot] == null) {
+                    table[slot] = key;
+                    size++;
+                }
+                table[slot + 1] = pairs[i * 2 + 1];
+            }
+            this.table = table;
+            this.size = size;
+        }
+
+        // Index of the slot which either holds the key, or is the empty slot the key belongs in
+        private static int probe(Object[] table, Object key) {
+            int hash = key.hashCode();
+            int mask = (table.length >> 1) - 1;
+            int index = (hash ^ (hash >>> 16)) & mask;
+            while (true) {
+                Object existing = table[index << 1];
+                if (existing == null || existing.equals(key))
+                    return index << 1;
+                index = (index + 1) & mask;
+            }
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (key == null)
+                return null;
+            int slot = probe(table, key);
+            return table[slot] == null ? null : table[slot + 1];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key != null && table[probe(table, key)] != null;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            throw frozen();
+        }
+
+        @Override
+        public Object remove(Object key) {
+            throw frozen();
+        }
+
+        @Override
+        public void putAll(@NotNull Map<? extends String, ?> map) {
+            throw frozen();
+        }
+
+        @Override
+        public void clear() {
+            throw frozen();
+        }
+
+        // The defaults of Map only call put or remove if something changes, these reject every call
+
+        @Override
+        public Object putIfAbsent(String key, Object value) {
+            throw frozen();
+        }
+
+        @Override
+        public boolean remove(Object key, Object value) {
+            throw frozen();
+        }
+
+        @Override
+        public boolean replace(String key, Object oldValue, Object newValue) {
+            throw frozen();
+        }
+
+        @Override
+        public Object replace(String key, Object value) {
+            throw frozen();
+        }
+
+        @Override
+        public Object computeIfAbsent(String key, @NotNull Function<? super String, ?> mappingFunction) {
+            throw frozen();
+        }
+
+        @Override
+        public Object computeIfPresent(String key, @NotNull BiFunction<? super String, ? super Object, ?> remappingFunction) {
+            throw frozen();
+        }
+
+        @Override
+        public Object compute(String key, @NotNull BiFunction<? super String, ? super Object, ?> remappingFunction) {
+            throw frozen();
+        }
+
+        @Override
+        public Object merge(String key, @NotNull Object value, @NotNull BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+            throw frozen();
+        }
+
+        @Override
+        public void replaceAll(BiFunction<? super String, ? super Object, ?> function) {
+            throw frozen();
+        }
+
+        @NotNull
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            Set<Entry<String, Object>> entrySet = this.entrySet;
+            if (entrySet == null)
+                this.entrySet = entrySet = new EntrySet();
+            return entrySet;
+        }
+
+        private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+            @NotNull
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<Entry<String, Object>>() {
+                    private int next = advance(0);
+
+                    private int advance(int from) {
+                        while (from < table.length && table[from] == null)
+                            from += 2;
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < table.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (next >= table.length)
+                            throw new NoSuchElementException();
+                        Entry<String, Object> entry = new SimpleImmutableEntry<>((String) table[next], table[next + 1]);
+                        next = advance(next + 2);
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        }
+    }
+
+    /**
+     * Fixed size list backed by an exactly sized array.
+     */
+    static final class FrozenList extends AbstractList<Object> implements RandomAccess, Immutable {
+        private final Object[] elements;
+
+        FrozenList(@NotNull Object[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public Object get(int index) {
+            return elements[index];
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        @NotNull
+        @Override
+        public Object[] toArray() {
+            return elements.clone();
+        }
+
+        @Override
+        public Object set(int index, Object element) {
+            throw frozenArray();
+        }
+
+        @Override
+        public void add(int index, Object element) {
+            throw frozenArray();
+        }
+
+        @Override
+        public Object remove(int index) {
+            throw frozenArray();
+        }
+
+        // The bulk operations of AbstractList only call the methods above if something changes, these reject every call
+
+        @Override
+        public boolean addAll(@NotNull Collection<?> values) {
+            throw frozenArray();
+        }
+
+        @Override
+        public boolean addAll(int index, @NotNull Collection<?> values) {
+            throw frozenArray();
+        }
+
+        @Override
+        public boolean removeIf(@NotNull Predicate<? super Object> filter) {
+            throw frozenArray();
+        }
+
+        @Override
+        public void replaceAll(@NotNull UnaryOperator<Object> operator) {
+            throw frozenArray();
+        }
+
+        @Override
+        public void sort(Comparator<? super Object> comparator) {
+            throw frozenArray();
+        }
+
+        @Override
+        public void clear() {
+            throw frozenArray();
+        }
+    }
+
+    private static UnsupportedOperationException frozen() {
+        return new UnsupportedOperationException("This object is frozen");
+    }
+
+    private static UnsupportedOperationException frozenArray() {
+        return new UnsupportedOperationException("This array is frozen");
+    }
+}
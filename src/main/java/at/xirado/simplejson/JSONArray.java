@@ -1,11 +1,7 @@
 package at.xirado.simplejson;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.util.DefaultIndenter;
-import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.module.SimpleModule;
-import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -13,11 +9,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.function.UnaryOperator;
+import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 /**
@@ -26,40 +30,50 @@ import java.util.stream.Stream;
  * <p>Throws {@link java.lang.IndexOutOfBoundsException}
  * if provided with index out of bounds.
  *
- * <p>This class is Thread-Safe
+ * <p>This class is Thread-Safe, unless created with {@link ThreadingMode#UNSYNCHRONIZED}.
+ * {@link #freeze() Frozen} instances are always safe to share and throw {@link UnsupportedOperationException} from all mutators.
  */
 public class JSONArray implements Iterable<Object>, SerializableArray {
     private static final Logger log = LoggerFactory.getLogger(JSONObject.class);
-    private static final ObjectMapper mapper;
-    private static final SimpleModule module;
-    private static final CollectionType listType;
-
-    static {
-        mapper = new ObjectMapper();
-        module = new SimpleModule();
-        module.addAbstractTypeMapping(Map.class, HashMap.class);
-        module.addAbstractTypeMapping(List.class, ArrayList.class);
-        mapper.registerModule(module);
-        listType = mapper.getTypeFactory().constructRawCollectionType(ArrayList.class);
-    }
 
     protected final List<Object> data;
+    protected final ThreadingMode threadingMode;
+    // Primitive storage behind data, if any. Guarded by the same lock as data.
+    private final NumericArrayList numbers;
 
     protected JSONArray(List<Object> data) {
-        this.data = Collections.synchronizedList(data);
+        this(data, ThreadingMode.SYNCHRONIZED);
+    }
+
+    protected JSONArray(List<Object> data, ThreadingMode threadingMode) {
+        this.data = threadingMode.wrap(data);
+        this.threadingMode = threadingMode;
+        this.numbers = data instanceof NumericArrayList ? (NumericArrayList) data : null;
     }
 
     protected JSONArray(String json) {
+        this(json, ThreadingMode.SYNCHRONIZED);
+    }
+
+    protected JSONArray(String json, ThreadingMode threadingMode) {
         try {
-            this.data = mapper.readValue(json, listType);
+            this.data = threadingMode.wrap((List<Object>) JSONCodecs.get(FileType.JSON).listReader.readValue(json));
+            this.threadingMode = threadingMode;
+            this.numbers = null;
         } catch (IOException e) {
             throw new ParsingException(e);
         }
     }
 
     protected JSONArray(InputStream stream) {
+        this(stream, ThreadingMode.SYNCHRONIZED);
+    }
+
+    protected JSONArray(InputStream stream, ThreadingMode threadingMode) {
         try {
-            this.data = mapper.readValue(stream, listType);
+            this.data = threadingMode.wrap((List<Object>) JSONCodecs.get(FileType.JSON).listReader.readValue(stream));
+            this.threadingMode = threadingMode;
+            this.numbers = null;
         } catch (IOException e) {
             throw new ParsingException(e);
         }
@@ -76,6 +90,18 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
         return new JSONArray(new ArrayList<>());
     }
 
+    /**
+     * Creates a new empty JSONArray, ready to be populated with values.
+     *
+     * @param threadingMode How concurrent access to the new instance is guarded
+     * @return An empty JSONArray instance
+     * @see #add(Object)
+     */
+    @NotNull
+    public static JSONArray empty(@NotNull ThreadingMode threadingMode) {
+        return new JSONArray(new ArrayList<>(), threadingMode);
+    }
+
     /**
      * Creates a new JSONArray and populates it with the contents
      * of the provided collection.
@@ -100,6 +126,19 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
         return new JSONArray(json);
     }
 
+    /**
+     * Parses a JSON Array into a JSONArray instance.
+     *
+     * @param json          The correctly formatted JSON Array
+     * @param threadingMode How concurrent access to the resulting instance is guarded
+     * @return A new JSONArray instance for the provided array
+     * @throws ParsingException If the provided JSON is incorrectly formatted
+     */
+    @NotNull
+    public static JSONArray fromJson(@NotNull String json, @NotNull ThreadingMode threadingMode) {
+        return new JSONArray(json, threadingMode);
+    }
+
     /**
      * Parses a JSON Array into a JSONArray instance.
      *
@@ -112,6 +151,19 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
         return new JSONArray(json);
     }
 
+    /**
+     * Parses a JSON Array into a JSONArray instance.
+     *
+     * @param json          The correctly formatted JSON Array
+     * @param threadingMode How concurrent access to the resulting instance is guarded
+     * @return A new JSONArray instance for the provided array
+     * @throws ParsingException If the provided JSON is incorrectly formatted or an I/O error occurred
+     */
+    @NotNull
+    public static JSONArray fromJson(@NotNull InputStream json, @NotNull ThreadingMode threadingMode) {
+        return new JSONArray(json, threadingMode);
+    }
+
     /**
      * Parses a JSON Array into a JSONArray instance.
      *
@@ -121,8 +173,222 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
      */
     @NotNull
     public static JSONArray fromJson(@NotNull Reader json) {
+        return fromJson(json, ThreadingMode.SYNCHRONIZED);
+    }
+
+    /**
+     * Parses a JSON Array into a JSONArray instance.
+     *
+     * @param json          The correctly formatted JSON Array
+     * @param threadingMode How concurrent access to the resulting instance is guarded
+     * @return A new JSONArray instance for the provided array
+     * @throws ParsingException If the provided JSON is incorrectly formatted or an I/O error occurred
+     */
+    @NotNull
+    public static JSONArray fromJson(@NotNull Reader json, @NotNull ThreadingMode threadingMode) {
+        try {
+            return new JSONArray((List<Object>) JSONCodecs.get(FileType.JSON).listReader.readValue(json), threadingMode);
+        } catch (IOException e) {
+            throw new ParsingException(e);
+        }
+    }
+
+    /**
+     * Parses a JSON Array into a JSONArray instance.
+     *
+     * @param json    The correctly formatted JSON Array
+     * @param options The options which decide how the array is stored
+     * @return A new JSONArray instance for the provided array
+     * @throws ParsingException If the provided JSON is incorrectly formatted or exceeds one of the limits of the options
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONArray fromJson(@NotNull String json, @NotNull ParseOptions options) {
+        TreeReader.checkSize(json.length(), options);
+        try (JsonParser parser = JSONCodecs.get(FileType.JSON).factory.createParser(json)) {
+            return parse(parser, options);
+        } catch (IOException e) {
+            throw new ParsingException(e);
+        }
+    }
+
+    /**
+     * Parses a JSON Array into a JSONArray instance.
+     *
+     * @param json    The correctly formatted JSON Array
+     * @param options The options which decide how the array is stored
+     * @return A new JSONArray instance for the provided array
+     * @throws ParsingException If the provided JSON is incorrectly formatted, exceeds one of the limits of the options or an I/O error occurred
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONArray fromJson(@NotNull InputStream json, @NotNull ParseOptions options) {
+        try (JsonParser parser = JSONCodecs.get(FileType.JSON).factory.createParser(TreeReader.limit(json, options))) {
+            return parse(parser, options);
+        } catch (IOException e) {
+            throw new ParsingException(e);
+        }
+    }
+
+    /**
+     * Parses a JSON Array into a JSONArray instance.
+     *
+     * @param json    The correctly formatted JSON Array
+     * @param options The options which decide how the array is stored
+     * @return A new JSONArray instance for the provided array
+     * @throws ParsingException If the provided JSON is incorrectly formatted, exceeds one of the limits of the options or an I/O error occurred
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONArray fromJson(@NotNull Reader json, @NotNull ParseOptions options) {
+        try (JsonParser parser = JSONCodecs.get(FileType.JSON).factory.createParser(TreeReader.limit(json, options))) {
+            return parse(parser, options);
+        } catch (IOException e) {
+            throw new ParsingException(e);
+        }
+    }
+
+    /**
+     * Parses a YAML sequence into a JSONArray instance.
+     *
+     * @param yml The correctly formatted YAML sequence
+     * @return A new JSONArray instance for the provided sequence
+     * @throws ParsingException If the provided yaml is incorrectly formatted
+     */
+    @NotNull
+    public static JSONArray fromYaml(@NotNull String yml) {
+        return fromYaml(yml, ThreadingMode.SYNCHRONIZED);
+    }
+
+    /**
+     * Parses a YAML sequence into a JSONArray instance.
+     *
+     * @param yml           The correctly formatted YAML sequence
+     * @param threadingMode How concurrent access to the resulting instance is guarded
+     * @return A new JSONArray instance for the provided sequence
+     * @throws ParsingException If the provided yaml is incorrectly formatted
+     */
+    @NotNull
+    public static JSONArray fromYaml(@NotNull String yml, @NotNull ThreadingMode threadingMode) {
+        try {
+            return new JSONArray((List<Object>) JSONCodecs.get(FileType.YAML).listReader.readValue(yml), threadingMode);
+        } catch (IOException e) {
+            throw new ParsingException(e);
+        }
+    }
+
+    /**
+     * Parses a YAML sequence into a JSONArray instance.
+     *
+     * @param inputStream The correctly formatted YAML sequence
+     * @return A new JSONArray instance for the provided sequence
+     * @throws ParsingException If the provided yaml is incorrectly formatted or an I/O error occurred
+     */
+    @NotNull
+    public static JSONArray fromYaml(@NotNull InputStream inputStream) {
+        return fromYaml(inputStream, ThreadingMode.SYNCHRONIZED);
+    }
+
+    /**
+     * Parses a YAML sequence into a JSONArray instance.
+     *
+     * @param inputStream   The correctly formatted YAML sequence
+     * @param threadingMode How concurrent access to the resulting instance is guarded
+     * @return A new JSONArray instance for the provided sequence
+     * @throws ParsingException If the provided yaml is incorrectly formatted or an I/O error occurred
+     */
+    @NotNull
+    public static JSONArray fromYaml(@NotNull InputStream inputStream, @NotNull ThreadingMode threadingMode) {
+        try {
+            return new JSONArray((List<Object>) JSONCodecs.get(FileType.YAML).listReader.readValue(inputStream), threadingMode);
+        } catch (IOException e) {
+            throw new ParsingException(e);
+        }
+    }
+
+    /**
+     * Parses a YAML sequence into a JSONArray instance.
+     *
+     * @param yml     The correctly formatted YAML sequence
+     * @param options The options which decide how the array is stored
+     * @return A new JSONArray instance for the provided sequence
+     * @throws ParsingException If the provided yaml is incorrectly formatted or exceeds one of the limits of the options
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONArray fromYaml(@NotNull String yml, @NotNull ParseOptions options) {
+        TreeReader.checkSize(yml.length(), options);
+        try (JsonParser parser = JSONCodecs.get(FileType.YAML).factory.createParser(yml)) {
+            return parse(parser, options);
+        } catch (IOException e) {
+            throw new ParsingException(e);
+        }
+    }
+
+    /**
+     * Parses a YAML sequence into a JSONArray instance.
+     *
+     * @param inputStream The correctly formatted YAML sequence
+     * @param options     The options which decide how the array is stored
+     * @return A new JSONArray instance for the provided sequence
+     * @throws ParsingException If the provided yaml is incorrectly formatted, exceeds one of the limits of the options or an I/O error occurred
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONArray fromYaml(@NotNull InputStream inputStream, @NotNull ParseOptions options) {
+        try (JsonParser parser = JSONCodecs.get(FileType.YAML).factory.createParser(TreeReader.limit(inputStream, options))) {
+            return parse(parser, options);
+        } catch (IOException e) {
+            throw new ParsingException(e);
+        }
+    }
+
+    /**
+     * Parses an array of the provided format into a JSONArray instance.
+     *
+     * @param data     The correctly formatted array to parse
+     * @param fileType The format of the array
+     * @return A new JSONArray instance for the provided array
+     * @throws ParsingException If the provided array is incorrectly formatted
+     */
+    @NotNull
+    public static JSONArray fromBytes(@NotNull byte[] data, @NotNull FileType fileType) {
+        return fromBytes(data, fileType, ThreadingMode.SYNCHRONIZED);
+    }
+
+    /**
+     * Parses an array of the provided format into a JSONArray instance.
+     *
+     * @param data          The correctly formatted array to parse
+     * @param fileType      The format of the array
+     * @param threadingMode How concurrent access to the resulting instance is guarded
+     * @return A new JSONArray instance for the provided array
+     * @throws ParsingException If the provided array is incorrectly formatted
+     */
+    @NotNull
+    public static JSONArray fromBytes(@NotNull byte[] data, @NotNull FileType fileType, @NotNull ThreadingMode threadingMode) {
         try {
-            return new JSONArray((List<Object>) mapper.readValue(json, listType));
+            return new JSONArray((List<Object>) JSONCodecs.get(fileType).listReader.readValue(data), threadingMode);
+        } catch (IOException e) {
+            throw new ParsingException(e);
+        }
+    }
+
+    /**
+     * Parses an array of the provided format into a JSONArray instance.
+     *
+     * @param data     The correctly formatted array to parse
+     * @param fileType The format of the array
+     * @param options  The options which decide how the array is stored
+     * @return A new JSONArray instance for the provided array
+     * @throws ParsingException If the provided array is incorrectly formatted or exceeds one of the limits of the options
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONArray fromBytes(@NotNull byte[] data, @NotNull FileType fileType, @NotNull ParseOptions options) {
+        TreeReader.checkSize(data.length, options);
+        try (JsonParser parser = JSONCodecs.get(fileType).factory.createParser(data)) {
+            return parse(parser, options);
         } catch (IOException e) {
             throw new ParsingException(e);
         }
@@ -186,7 +452,7 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
         }
         if (child == null)
             throw valueError(index, "JSONObject");
-        return new JSONObject(child);
+        return new JSONObject(child, threadingMode);
     }
 
     /**
@@ -207,7 +473,7 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
         }
         if (child == null)
             throw valueError(index, "JSONArray");
-        return new JSONArray(child);
+        return new JSONArray(child, threadingMode);
     }
 
     /**
@@ -259,8 +525,8 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
      * @throws ParsingException If the value is of the wrong type
      */
     public boolean getBoolean(int index, boolean defaultValue) {
-        Boolean value = get(Boolean.class, index, Boolean::parseBoolean, null);
-        return value == null ? defaultValue : value;
+        Object value = data.get(index);
+        return value == null ? defaultValue : toBoolean(index, null, value);
     }
 
     /**
@@ -271,10 +537,10 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
      * @throws ParsingException If the value is of the wrong type
      */
     public int getInt(int index) {
-        Integer value = get(Integer.class, index, Integer::parseInt, Number::intValue);
+        Object value = data.get(index);
         if (value == null)
             throw valueError(index, "int");
-        return value;
+        return toInt(index, null, value, Integer::parseInt);
     }
 
     /**
@@ -286,8 +552,8 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
      * @throws ParsingException If the value is of the wrong type
      */
     public int getInt(int index, int defaultValue) {
-        Integer value = get(Integer.class, index, Integer::parseInt, Number::intValue);
-        return value == null ? defaultValue : value;
+        Object value = data.get(index);
+        return value == null ? defaultValue : toInt(index, null, value, Integer::parseInt);
     }
 
     /**
@@ -298,10 +564,22 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
      * @throws ParsingException If the value is of the wrong type
      */
     public double getDouble(int index) {
-        Double value = get(Double.class, index, Double::parseDouble, Number::doubleValue);
+        NumericArrayList numbers = this.numbers;
+        if (numbers != null) {
+            if (threadingMode == ThreadingMode.UNSYNCHRONIZED) {
+                if (numbers.kind() == NumericArrayList.LONGS || numbers.kind() == NumericArrayList.DOUBLES)
+                    return numbers.getDouble(index);
+            } else {
+                synchronized (data) {
+                    if (numbers.kind() == NumericArrayList.LONGS || numbers.kind() == NumericArrayList.DOUBLES)
+                        return numbers.getDouble(index);
+                }
+            }
+        }
+        Object value = data.get(index);
         if (value == null)
             throw valueError(index, "double");
-        return value;
+        return toDouble(index, null, value, Double::parseDouble);
     }
 
     /**
@@ -313,8 +591,8 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
      * @throws ParsingException If the value is of the wrong type
      */
     public double getDouble(int index, double defaultValue) {
-        Double value = get(Double.class, index, Double::parseDouble, Number::doubleValue);
-        return value == null ? defaultValue : value;
+        Object value = data.get(index);
+        return value == null ? defaultValue : toDouble(index, null, value, Double::parseDouble);
     }
 
     /**
@@ -325,10 +603,10 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
      * @throws ParsingException If the value is of the wrong type
      */
     public int getUnsignedInt(int index) {
-        Integer value = get(Integer.class, index, Integer::parseUnsignedInt, Number::intValue);
+        Object value = data.get(index);
         if (value == null)
             throw valueError(index, "unsigned int");
-        return value;
+        return toInt(index, null, value, Integer::parseUnsignedInt);
     }
 
     /**
@@ -340,8 +618,8 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
      * @throws ParsingException If the value is of the wrong type
      */
     public int getUnsignedInt(int index, int defaultValue) {
-        Integer value = get(Integer.class, index, Integer::parseUnsignedInt, Number::intValue);
-        return value == null ? defaultValue : value;
+        Object value = data.get(index);
+        return value == null ? defaultValue : toInt(index, null, value, Integer::parseUnsignedInt);
     }
 
     /**
@@ -352,10 +630,22 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
      * @throws ParsingException If the value is of the wrong type
      */
     public long getLong(int index) {
-        Long value = get(Long.class, index, Long::parseLong, Number::longValue);
+        NumericArrayList numbers = this.numbers;
+        if (numbers != null) {
+            if (threadingMode == ThreadingMode.UNSYNCHRONIZED) {
+                if (numbers.kind() == NumericArrayList.LONGS)
+                    return numbers.getLong(index);
+            } else {
+                synchronized (data) {
+                    if (numbers.kind() == NumericArrayList.LONGS)
+                        return numbers.getLong(index);
+                }
+            }
+        }
+        Object value = data.get(index);
         if (value == null)
             throw valueError(index, "long");
-        return value;
+        return toLong(index, null, value, Long::parseLong);
     }
 
     /**
@@ -367,8 +657,8 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
      * @throws ParsingException If the value is of the wrong type
      */
     public long getLong(int index, long defaultValue) {
-        Long value = get(Long.class, index, Long::parseLong, Number::longValue);
-        return value == null ? defaultValue : value;
+        Object value = data.get(index);
+        return value == null ? defaultValue : toLong(index, null, value, Long::parseLong);
     }
 
     /**
@@ -379,10 +669,10 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
      * @throws ParsingException If the value is of the wrong type
      */
     public long getUnsignedLong(int index) {
-        Long value = get(Long.class, index, Long::parseUnsignedLong, Number::longValue);
+        Object value = data.get(index);
         if (value == null)
             throw valueError(index, "unsigned long");
-        return value;
+        return toLong(index, null, value, Long::parseUnsignedLong);
     }
 
     /**
@@ -394,141 +684,792 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
      * @throws ParsingException If the value is of the wrong type
      */
     public long getUnsignedLong(int index, long defaultValue) {
-        Long value = get(Long.class, index, Long::parseUnsignedLong, Number::longValue);
-        return value == null ? defaultValue : value;
+        Object value = data.get(index);
+        return value == null ? defaultValue : toLong(index, null, value, Long::parseUnsignedLong);
     }
 
     /**
-     * Appends the provided value to the end of the array.
+     * Copies all values of this array into a {@code long[]}.
      *
-     * @param value The value to append
-     * @return A JSONArray with the value inserted at the end
+     * <p>Arrays parsed with {@link ParseOptions#withPrimitiveArrays(boolean) primitive arrays} are copied directly,
+     * other arrays are converted like {@link #getLong(int)}.
+     *
+     * @return The values of this array
+     * @throws ParsingException If any value is null or of the wrong type
      */
     @NotNull
-    public JSONArray add(@Nullable Object value) {
-        if (value instanceof SerializableData)
-            data.add(((SerializableData) value).toData().data);
-        else if (value instanceof SerializableArray)
-            data.add(((SerializableArray) value).toJSONArray().data);
-        else
-            data.add(value);
-        return this;
+    public long[] toLongArray() {
+        synchronized (data) {
+            if (numbers != null && numbers.kind() == NumericArrayList.LONGS)
+                return numbers.toLongArray();
+            long[] values = new long[data.size()];
+            for (int i = 0; i < values.length; i++) {
+                Object value = data.get(i);
+                if (value == null)
+                    throw valueError(i, "long");
+                values[i] = toLong(i, null, value, Long::parseLong);
+            }
+            return values;
+        }
     }
 
     /**
-     * Appends the provided values to the end of the array.
+     * Copies all values of this array into a {@code double[]}.
      *
-     * @param values The values to append
-     * @return A JSONArray with the values inserted at the end
+     * <p>Arrays parsed with {@link ParseOptions#withPrimitiveArrays(boolean) primitive arrays} are copied directly,
+     * other arrays are converted like {@link #getDouble(int)}.
+     *
+     * @return The values of this array
+     * @throws ParsingException If any value is null or of the wrong type
      */
     @NotNull
-    public JSONArray addAll(@NotNull Collection<?> values) {
-        values.forEach(this::add);
-        return this;
+    public double[] toDoubleArray() {
+        synchronized (data) {
+            if (numbers != null && (numbers.kind() == NumericArrayList.LONGS || numbers.kind() == NumericArrayList.DOUBLES))
+                return numbers.toDoubleArray();
+            double[] values = new double[data.size()];
+            for (int i = 0; i < values.length; i++) {
+                Object value = data.get(i);
+                if (value == null)
+                    throw valueError(i, "double");
+                values[i] = toDouble(i, null, value, Double::parseDouble);
+            }
+            return values;
+        }
     }
 
     /**
-     * Appends the provided values to the end of the array.
+     * Stream of all values of this array as longs, without boxing.
+     * The stream operates on a snapshot taken by {@link #toLongArray()}, later modifications are not reflected.
      *
-     * @param array The values to append
-     * @return A JSONArray with the values inserted at the end
+     * @return A sequential {@link LongStream}
+     * @throws ParsingException If any value is null or of the wrong type
      */
     @NotNull
-    public JSONArray addAll(@NotNull JSONArray array) {
-        return addAll(array.data);
+    public LongStream longStream() {
+        return Arrays.stream(toLongArray());
     }
 
     /**
-     * Inserts the specified value at the provided index.
+     * Stream of all values of this array as doubles, without boxing.
+     * The stream operates on a snapshot taken by {@link #toDoubleArray()}, later modifications are not reflected.
      *
-     * @param index The target index
-     * @param value The value to insert
-     * @return A JSONArray with the value inserted at the specified index
+     * @return A sequential {@link DoubleStream}
+     * @throws ParsingException If any value is null or of the wrong type
      */
     @NotNull
-    public JSONArray insert(int index, @Nullable Object value) {
-        if (value instanceof SerializableData)
-            data.add(index, ((SerializableData) value).toData().data);
-        else if (value instanceof SerializableArray)
-            data.add(index, ((SerializableArray) value).toJSONArray().data);
-        else
-            data.add(index, value);
-        return this;
+    public DoubleStream doubleStream() {
+        return Arrays.stream(toDoubleArray());
     }
 
     /**
-     * Removes the value at the specified index.
+     * Whether the value at the specified path is missing or null.
      *
-     * @param index The target index to remove
-     * @return A JSONArray with the value removed
+     * @param path The path to check
+     * @return True, if the value at the path is null or missing
      */
-    @NotNull
-    public JSONArray remove(int index) {
-        data.remove(index);
-        return this;
+    public boolean isNull(@NotNull JSONPath path) {
+        return path.resolve(data, 0) == null;
     }
 
     /**
-     * Removes the specified value.
+     * Resolves any type at the provided path, without creating wrappers for the intermediate objects and arrays.
      *
-     * @param value The value to remove
-     * @return A JSONArray with the value removed
+     * @param path The path to resolve
+     * @return {@link java.util.Optional} with a possible value
      */
     @NotNull
-    public JSONArray remove(@Nullable Object value) {
-        data.remove(value);
-        return this;
+    public Optional<Object> opt(@NotNull JSONPath path) {
+        return Optional.ofNullable(path.resolve(data, 0));
     }
 
     /**
-     * Serializes this object as JSON.
+     * Resolves any type at the provided path.
      *
-     * @return byte array containing the JSON representation of this object
+     * @param path The path to resolve
+     * @return The value of any type
+     * @throws ParsingException If the value is missing or null
+     * @see #opt(JSONPath)
      */
     @NotNull
-    public byte[] toJson() {
-        try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            mapper.writeValue(outputStream, data);
-            return outputStream.toByteArray();
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
+    public Object get(@NotNull JSONPath path) {
+        Object value = path.resolve(data, 0);
+        if (value == null)
+            throw valueError(path, "any");
+        return value;
     }
 
-    @Override
-    public String toString() {
-        try {
-            return mapper.writeValueAsString(data);
-        } catch (JsonProcessingException e) {
-            throw new ParsingException(e);
-        }
+    /**
+     * Resolves a JSONObject at the provided path.
+     *
+     * @param path The path to resolve
+     * @return The resolved JSONObject
+     * @throws ParsingException If the type is incorrect or no value is present at the path
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public JSONObject getObject(@NotNull JSONPath path) {
+        Object value = path.resolve(data, 0);
+        if (!(value instanceof Map))
+            throw valueError(path, "JSONObject");
+        return new JSONObject((Map<String, Object>) value, threadingMode);
     }
 
+    /**
+     * Resolves a JSONArray at the provided path.
+     *
+     * @param path The path to resolve
+     * @return The resolved JSONArray
+     * @throws ParsingException If the type is incorrect or no value is present at the path
+     */
     @NotNull
-    public String toPrettyString() {
-        DefaultPrettyPrinter.Indenter indent = new DefaultIndenter("    ", DefaultIndenter.SYS_LF);
-        DefaultPrettyPrinter printer = new DefaultPrettyPrinter();
-        printer.withObjectIndenter(indent).withArrayIndenter(indent);
-        try {
-            return mapper.writer(printer).writeValueAsString(data);
-        } catch (JsonProcessingException e) {
-            throw new ParsingException(e);
-        }
+    @SuppressWarnings("unchecked")
+    public JSONArray getArray(@NotNull JSONPath path) {
+        Object value = path.resolve(data, 0);
+        if (!(value instanceof List))
+            throw valueError(path, "JSONArray");
+        return new JSONArray((List<Object>) value, threadingMode);
     }
 
     /**
-     * Converts this JSONArray to a {@link java.util.List}.
+     * Resolves a JSONObject at the provided path.
      *
-     * @return The resulting list
+     * @param path The path to resolve
+     * @return The resolved JSONObject, wrapped in {@link java.util.Optional}
+     * @throws ParsingException If the type is incorrect
      */
     @NotNull
-    public List<Object> toList() {
-        return data;
+    @SuppressWarnings("unchecked")
+    public Optional<JSONObject> optObject(@NotNull JSONPath path) {
+        Map<String, Object> child = get(Map.class, path, null, null);
+        return child == null ? Optional.empty() : Optional.of(new JSONObject(child, threadingMode));
     }
 
-    private ParsingException valueError(int index, String expectedType) {
-        return new ParsingException("Unable to resolve value at " + index + " to type " + expectedType + ": " + data.get(index));
+    /**
+     * Resolves a JSONArray at the provided path.
+     *
+     * @param path The path to resolve
+     * @return The resolved JSONArray, wrapped in {@link java.util.Optional}
+     * @throws ParsingException If the type is incorrect
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public Optional<JSONArray> optArray(@NotNull JSONPath path) {
+        List<Object> child = get(List.class, path, null, null);
+        return child == null ? Optional.empty() : Optional.of(new JSONArray(child, threadingMode));
+    }
+
+    /**
+     * Resolves a {@link java.lang.String} at the provided path.
+     *
+     * @param path The path to resolve
+     * @return The String value
+     * @throws ParsingException If the value is missing or null
+     */
+    @NotNull
+    public String getString(@NotNull JSONPath path) {
+        String value = getString(path, null);
+        if (value == null)
+            throw valueError(path, "String");
+        return value;
+    }
+
+    /**
+     * Resolves a {@link java.lang.String} at the provided path.
+     *
+     * @param path         The path to resolve
+     * @param defaultValue Alternative value to use when the value is missing or null
+     * @return The String value, or null if provided with null defaultValue
+     */
+    @Contract("_, !null -> !null")
+    public String getString(@NotNull JSONPath path, @Nullable String defaultValue) {
+        String value = get(String.class, path, UnaryOperator.identity(), String::valueOf);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Resolves a boolean at the provided path.
+     *
+     * @param path The path to resolve
+     * @return True, if the value is present and set to true. False if the value is missing or set to false.
+     * @throws ParsingException If the value is of the wrong type
+     */
+    public boolean getBoolean(@NotNull JSONPath path) {
+        return getBoolean(path, false);
+    }
+
+    /**
+     * Resolves a boolean at the provided path.
+     *
+     * @param path         The path to resolve
+     * @param defaultValue Alternative value to use when the value is missing or null
+     * @return True, if the value is present and set to true. False if the value is set to false. defaultValue if it is missing.
+     * @throws ParsingException If the value is of the wrong type
+     */
+    public boolean getBoolean(@NotNull JSONPath path, boolean defaultValue) {
+        Object value = path.resolve(data, 0);
+        return value == null ? defaultValue : toBoolean(-1, path, value);
+    }
+
+    /**
+     * Resolves a long at the provided path.
+     *
+     * @param path The path to resolve
+     * @return The long value
+     * @throws ParsingException If the value is missing, null, or of the wrong type
+     */
+    public long getLong(@NotNull JSONPath path) {
+        Object value = path.resolve(data, 0);
+        if (value == null)
+            throw valueError(path, "long");
+        return toLong(-1, path, value, Long::parseLong);
+    }
+
+    /**
+     * Resolves a long at the provided path.
+     *
+     * @param path         The path to resolve
+     * @param defaultValue Alternative value to use when the value is missing or null
+     * @return The long value
+     * @throws ParsingException If the value is of the wrong type
+     */
+    public long getLong(@NotNull JSONPath path, long defaultValue) {
+        Object value = path.resolve(data, 0);
+        return value == null ? defaultValue : toLong(-1, path, value, Long::parseLong);
+    }
+
+    /**
+     * Resolves an int at the provided path.
+     *
+     * @param path The path to resolve
+     * @return The int value
+     * @throws ParsingException If the value is missing, null, or of the wrong type
+     */
+    public int getInt(@NotNull JSONPath path) {
+        Object value = path.resolve(data, 0);
+        if (value == null)
+            throw valueError(path, "int");
+        return toInt(-1, path, value, Integer::parseInt);
+    }
+
+    /**
+     * Resolves an int at the provided path.
+     *
+     * @param path         The path to resolve
+     * @param defaultValue Alternative value to use when the value is missing or null
+     * @return The int value
+     * @throws ParsingException If the value is of the wrong type
+     */
+    public int getInt(@NotNull JSONPath path, int defaultValue) {
+        Object value = path.resolve(data, 0);
+        return value == null ? defaultValue : toInt(-1, path, value, Integer::parseInt);
+    }
+
+    /**
+     * Resolves a double at the provided path.
+     *
+     * @param path The path to resolve
+     * @return The double value
+     * @throws ParsingException If the value is missing, null, or of the wrong type
+     */
+    public double getDouble(@NotNull JSONPath path) {
+        Object value = path.resolve(data, 0);
+        if (value == null)
+            throw valueError(path, "double");
+        return toDouble(-1, path, value, Double::parseDouble);
+    }
+
+    /**
+     * Resolves a double at the provided path.
+     *
+     * @param path         The path to resolve
+     * @param defaultValue Alternative value to use when the value is missing or null
+     * @return The double value
+     * @throws ParsingException If the value is of the wrong type
+     */
+    public double getDouble(@NotNull JSONPath path, double defaultValue) {
+        Object value = path.resolve(data, 0);
+        return value == null ? defaultValue : toDouble(-1, path, value, Double::parseDouble);
+    }
+
+    /**
+     * Appends the provided value to the end of the array.
+     * {@link BoundData} is bound straight into the stored representation, without building a JSONObject first.
+     *
+     * @param value The value to append
+     * @return A JSONArray with the value inserted at the end
+     */
+    @NotNull
+    public JSONArray add(@Nullable Object value) {
+        data.add(unwrap(value));
+        return this;
+    }
+
+    /**
+     * Appends the provided {@link SerializableData} or {@link SerializableArray} as it is,
+     * and only serializes it once this array is written, for example by {@link #toJson()} or {@link #writeTo(OutputStream)}.
+     * {@link BoundData} is streamed straight to the output, without ever building a tree.
+     *
+     * <p>Until then, the element is the value itself: {@link #toList()} contains it,
+     * {@link #getObject(int)} and {@link #getArray(int)} return a detached copy of its data,
+     * and copies, diffs and equality compare the reference rather than its data. {@link #freeze()} materializes it.
+     *
+     * @param value The value to serialize on demand
+     * @return A JSONArray with the value inserted at the end
+     * @see JSONObject#putLazy(String, JSONProperty)
+     */
+    @NotNull
+    public JSONArray addLazy(@NotNull JSONProperty value) {
+        data.add(Objects.requireNonNull(value));
+        return this;
+    }
+
+    /**
+     * Appends the provided values to the end of the array.
+     *
+     * <p>The values are converted like {@link #add(Object)} first, then appended in one step under a single lock,
+     * so other threads observe either none or all of them.
+     *
+     * @param values The values to append
+     * @return A JSONArray with the values inserted at the end
+     */
+    @NotNull
+    public JSONArray addAll(@NotNull Collection<?> values) {
+        data.addAll(unwrapAll(values));
+        return this;
+    }
+
+    /**
+     * Appends the provided values to the end of the array.
+     *
+     * <p>The values are copied from a {@link #snapshot()} of the provided array, in one step under a single lock.
+     *
+     * @param array The values to append
+     * @return A JSONArray with the values inserted at the end
+     */
+    @NotNull
+    public JSONArray addAll(@NotNull JSONArray array) {
+        data.addAll(array.snapshot());
+        return this;
+    }
+
+    /**
+     * Inserts the provided values at the specified index, in the order they are returned by the collection.
+     *
+     * <p>The values are converted like {@link #add(Object)} first, then inserted in one step under a single lock.
+     *
+     * @param index  The target index
+     * @param values The values to insert
+     * @return A JSONArray with the values inserted at the specified index
+     * @throws IndexOutOfBoundsException If the index is out of range
+     */
+    @NotNull
+    public JSONArray insertAll(int index, @NotNull Collection<?> values) {
+        data.addAll(index, unwrapAll(values));
+        return this;
+    }
+
+    /**
+     * Removes every value which matches the provided filter, in one pass under a single lock.
+     *
+     * <p>The filter receives the stored values, objects and arrays as {@link Map} and {@link List}.
+     * It must not access this array.
+     *
+     * @param filter Decides which values to remove
+     * @return True, if any value was removed
+     */
+    public boolean removeIf(@NotNull Predicate<Object> filter) {
+        return data.removeIf(filter);
+    }
+
+    /**
+     * Inserts the specified value at the provided index.
+     * {@link BoundData} is bound straight into the stored representation, without building a JSONObject first.
+     *
+     * @param index The target index
+     * @param value The value to insert
+     * @return A JSONArray with the value inserted at the specified index
+     */
+    @NotNull
+    public JSONArray insert(int index, @Nullable Object value) {
+        data.add(index, unwrap(value));
+        return this;
+    }
+
+    /**
+     * Removes the value at the specified index.
+     *
+     * @param index The target index to remove
+     * @return A JSONArray with the value removed
+     */
+    @NotNull
+    public JSONArray remove(int index) {
+        data.remove(index);
+        return this;
+    }
+
+    /**
+     * Removes the specified value.
+     *
+     * @param value The value to remove
+     * @return A JSONArray with the value removed
+     */
+    @NotNull
+    public JSONArray remove(@Nullable Object value) {
+        data.remove(value);
+        return this;
+    }
+
+    /**
+     * Creates a deeply immutable snapshot of this array.
+     *
+     * <p>The snapshot is stored in an exactly sized array and is read without any locking.
+     * All mutators, including those of nested objects and arrays, throw {@link UnsupportedOperationException}.
+     * Frozen children are shared with the snapshot instead of being copied.
+     *
+     * @return The frozen snapshot, or this instance if it is frozen already
+     * @see ParseOptions#withFrozen(boolean)
+     */
+    @NotNull
+    public JSONArray freeze() {
+        if (isFrozen())
+            return this;
+        synchronized (data) {
+            return new JSONArray(Frozen.freezeList(numbers != null ? numbers : data), ThreadingMode.UNSYNCHRONIZED);
+        }
+    }
+
+    /**
+     * Whether this array is immutable.
+     *
+     * @return True, if this array was created by {@link #freeze()} or parsed with {@link ParseOptions#withFrozen(boolean)}
+     */
+    public boolean isFrozen() {
+        return Frozen.isFrozen(numbers != null ? numbers : data);
+    }
+
+    /**
+     * Serializes this object as JSON.
+     *
+     * @return byte array containing the JSON representation of this object
+     */
+    @NotNull
+    public byte[] toJson() {
+        try {
+            return serialize(value -> JSONCodecs.get(FileType.JSON).writer.writeValueAsBytes(value));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Serializes this array in the provided format.
+     *
+     * @param fileType The format to serialize to
+     * @return byte array containing the representation of this array
+     */
+    @NotNull
+    public byte[] toBytes(@NotNull FileType fileType) {
+        try {
+            return serialize(value -> JSONCodecs.get(fileType).writer.writeValueAsBytes(value));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Serializes this object as JSON directly to the provided stream, without intermediate buffers.
+     * The stream is flushed but not closed.
+     *
+     * @param stream The target stream
+     * @throws java.io.UncheckedIOException If an I/O error occurred
+     */
+    public void writeTo(@NotNull OutputStream stream) {
+        try {
+            serialize(value -> {
+                JSONCodecs.get(FileType.JSON).writer.writeValue(stream, value);
+                return null;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Serializes this array in the provided format directly to the provided stream, without intermediate buffers.
+     * The stream is flushed but not closed.
+     *
+     * @param stream   The target stream
+     * @param fileType The format to serialize to
+     * @throws java.io.UncheckedIOException If an I/O error occurred
+     */
+    public void writeTo(@NotNull OutputStream stream, @NotNull FileType fileType) {
+        try {
+            serialize(value -> {
+                JSONCodecs.get(fileType).writer.writeValue(stream, value);
+                return null;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Serializes this object as JSON directly to the provided writer, without intermediate buffers.
+     * The writer is flushed but not closed.
+     *
+     * @param writer The target writer
+     * @throws java.io.UncheckedIOException If an I/O error occurred
+     */
+    public void writeTo(@NotNull Writer writer) {
+        try {
+            serialize(value -> {
+                JSONCodecs.get(FileType.JSON).writer.writeValue(writer, value);
+                return null;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Serializes this object as UTF-8 encoded JSON directly to the provided channel, without intermediate buffers.
+     * The channel is not closed.
+     *
+     * @param channel The target channel
+     * @throws java.io.UncheckedIOException If an I/O error occurred
+     */
+    public void writeTo(@NotNull WritableByteChannel channel) {
+        writeTo(Channels.newOutputStream(channel));
+    }
+
+    /**
+     * Creates an independent copy of this array, including all nested objects and arrays.
+     * Values keep their exact types, and primitive numeric arrays keep their primitive storage.
+     *
+     * <p>The copy is mutable and uses the same {@link ThreadingMode}, unless this array is frozen or persistent,
+     * in which case the copy is {@link ThreadingMode#UNSYNCHRONIZED}.
+     * Arbitrarily deep arrays are copied without recursion.
+     *
+     * @return The copy
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public JSONArray deepCopy() {
+        synchronized (data) {
+            return new JSONArray((List<Object>) TreeUtil.deepCopy(numbers != null ? numbers : data, threadingMode), threadingMode);
+        }
+    }
+
+    /**
+     * Copies the data of this array into new, unguarded maps and lists of the provided mode.
+     * Primitive numeric arrays keep their primitive storage.
+     *
+     * @param threadingMode The mode whose map implementation is used for the copies
+     * @return The copied list
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    List<Object> copyData(@NotNull ThreadingMode threadingMode) {
+        synchronized (data) {
+            return (List<Object>) TreeUtil.deepCopy(numbers != null ? numbers : data, threadingMode);
+        }
+    }
+
+    /**
+     * Computes the JSON Patch (RFC 6902) which transforms this array into the provided array.
+     *
+     * <p>Subtrees which are the same instance in both arrays are skipped without being walked.
+     * The arrays are compared after removing their common prefix and suffix,
+     * so inserting or removing a single element produces a single operation.
+     *
+     * @param other The target array
+     * @return The patch, which is empty if both arrays are equal
+     */
+    @NotNull
+    public JSONPatch diff(@NotNull JSONArray other) {
+        return TreeUtil.lockBoth(data, other.data,
+                () -> JSONPatch.diff(numbers != null ? numbers : data, other.numbers != null ? other.numbers : other.data));
+    }
+
+    /**
+     * Applies the provided JSON Patch (RFC 6902) to this array, in place.
+     *
+     * <p>The operations are applied in order while holding the lock of this array.
+     * If an operation fails, the operations before it remain applied.
+     * Use {@link #applyCopy(JSONPatch)} to leave this array untouched on failure.
+     *
+     * @param patch The patch to apply
+     * @return This JSONArray
+     * @throws ParsingException              If an operation can't be applied, or a test operation fails
+     * @throws UnsupportedOperationException If this array is frozen or persistent
+     */
+    @NotNull
+    public JSONArray apply(@NotNull JSONPatch patch) {
+        synchronized (data) {
+            Object root = patch.applyTo(data, threadingMode);
+            if (root != data) {
+                if (!(root instanceof List))
+                    throw new ParsingException("Cannot replace an array with " + (root == null ? "null" : root.getClass().getSimpleName()));
+                List<?> replacement = new ArrayList<>((List<?>) root);
+                data.clear();
+                data.addAll(replacement);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Applies the provided JSON Patch (RFC 6902) to a {@link #deepCopy() copy} of this array.
+     *
+     * @param patch The patch to apply
+     * @return The patched copy
+     * @throws ParsingException If an operation can't be applied, or a test operation fails
+     */
+    @NotNull
+    public JSONArray applyCopy(@NotNull JSONPatch patch) {
+        return deepCopy().apply(patch);
+    }
+
+    /**
+     * Computes a 64 bit fingerprint of the content of this array, without serializing it.
+     *
+     * <p>Equal arrays always have equal fingerprints, regardless of the order of their keys.
+     * The fingerprint only depends on the content, so it is stable across processes and can be used as a dedup key.
+     * It is not a cryptographic hash.
+     *
+     * @return The fingerprint
+     * @see #fingerprint128()
+     */
+    public long fingerprint() {
+        synchronized (data) {
+            return TreeUtil.fingerprint64(data);
+        }
+    }
+
+    /**
+     * Computes a 128 bit fingerprint of the content of this array, without serializing it.
+     * The fingerprint is wrapped in a {@link UUID}, which can be used as a map key.
+     *
+     * @return The fingerprint
+     * @see #fingerprint()
+     */
+    @NotNull
+    public UUID fingerprint128() {
+        synchronized (data) {
+            return TreeUtil.fingerprint(data);
+        }
+    }
+
+    /**
+     * Compares the content of this array with the provided array, including all nested values.
+     *
+     * <p>Integral numbers are equal if their values are equal, regardless of their types,
+     * so {@code 1} parsed as an {@link Integer} equals {@code 1L}. They never equal floating point numbers.
+     *
+     * @param obj The array to compare with
+     * @return True, if both have equal content
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof JSONArray))
+            return false;
+        JSONArray other = (JSONArray) obj;
+        return TreeUtil.lockBoth(data, other.data, () -> TreeUtil.deepEquals(data, other.data));
+    }
+
+    /**
+     * Hash code of the content of this array, consistent with {@link #equals(Object)}.
+     *
+     * <p>The hash code is not cached, every call walks the whole array like {@link #fingerprint()}.
+     * Prefer keys which are cheaper to hash, or the fingerprint itself, when large arrays are looked up repeatedly.
+     *
+     * @return The hash code
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
+    @Override
+    public String toString() {
+        try {
+            return serialize(value -> JSONCodecs.get(FileType.JSON).writer.writeValueAsString(value));
+        } catch (IOException e) {
+            throw new ParsingException(e);
+        }
+    }
+
+    /**
+     * Serializes this array as a YAML document.
+     *
+     * @return The YAML representation of this array
+     */
+    @NotNull
+    public String toYaml() {
+        try {
+            return serialize(value -> JSONCodecs.get(FileType.YAML).writer.writeValueAsString(value));
+        } catch (IOException e) {
+            throw new ParsingException(e);
+        }
+    }
+
+    @NotNull
+    public String toPrettyString() {
+        try {
+            return serialize(value -> JSONCodecs.get(FileType.JSON).prettyWriter.writeValueAsString(value));
+        } catch (IOException e) {
+            throw new ParsingException(e);
+        }
+    }
+
+    /**
+     * Converts this JSONArray to a {@link java.util.List}.
+     *
+     * @return The resulting list
+     */
+    @NotNull
+    public List<Object> toList() {
+        return data;
+    }
+
+    /**
+     * Immutable copy of the values of this array, taken under a single lock.
+     * Later modifications of this array are not reflected.
+     *
+     * <p>The copy is shallow, objects and arrays are the same {@link Map} and {@link List} instances this array holds.
+     * Use {@link #freeze()} for a deeply immutable snapshot.
+     *
+     * @return The values of this array
+     */
+    @NotNull
+    public List<Object> snapshot() {
+        synchronized (data) {
+            return Collections.unmodifiableList(Arrays.asList(data.toArray()));
+        }
+    }
+
+    // Primitive storage is serialized directly under the lock, going through the wrapper would box every element
+    private <T> T serialize(Serialization<T> serialization) throws IOException {
+        if (numbers == null)
+            return serialization.write(data);
+        synchronized (data) {
+            return serialization.write(numbers);
+        }
+    }
+
+    private interface Serialization<T> {
+        T write(Object value) throws IOException;
+    }
+
+    private ParsingException valueError(int index, String expectedType) {
+        return new ParsingException("Unable to resolve value at " + index + " to type " + expectedType + ": " + data.get(index));
+    }
+
+    private ParsingException valueError(JSONPath path, String expectedType) {
+        return new ParsingException("Unable to resolve value at path " + path + " to type " + expectedType + ": " + path.resolve(data, 0));
     }
 
     @Nullable
@@ -538,11 +1479,27 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
 
     @Nullable
     private <T> T get(@NotNull Class<T> type, int index, @Nullable Function<String, T> stringMapper, @Nullable Function<Number, T> numberMapper) {
-        Object value = data.get(index);
+        return coerce(type, index, null, data.get(index), threadingMode, stringMapper, numberMapper);
+    }
+
+    @Nullable
+    private <T> T get(@NotNull Class<T> type, @NotNull JSONPath path, @Nullable Function<String, T> stringMapper, @Nullable Function<Number, T> numberMapper) {
+        return coerce(type, -1, path, path.resolve(data, 0), threadingMode, stringMapper, numberMapper);
+    }
+
+    // The location is either an index, or a path if path is not null
+    @Nullable
+    private static <T> T coerce(@NotNull Class<T> type, int index, @Nullable JSONPath path, @Nullable Object value, @NotNull ThreadingMode threadingMode, @Nullable Function<String, T> stringMapper, @Nullable Function<Number, T> numberMapper) {
         if (value == null)
             return null;
         if (type.isInstance(value))
             return type.cast(value);
+        // lazy values are materialized into a detached copy when they are read as an object or array
+        if (value instanceof JSONProperty && (type == Map.class || type == List.class)) {
+            Object tree = JSONBinding.tree(value, threadingMode);
+            if (type.isInstance(tree))
+                return type.cast(tree);
+        }
         if (type == String.class)
             return type.cast(value.toString());
         // attempt type coercion
@@ -551,10 +1508,75 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
         else if (numberMapper != null && value instanceof Number)
             return numberMapper.apply((Number) value);
 
-        throw new ParsingException(String.format(Locale.ROOT, "Cannot parse value for index %d into type %s: %s instance of %s",
+        throw typeError(index, path, type, value);
+    }
+
+    private static long toLong(int index, @Nullable JSONPath path, @NotNull Object value, @NotNull ToLongFunction<String> stringParse) {
+        if (value instanceof Number)
+            return ((Number) value).longValue();
+        if (value instanceof String)
+            return stringParse.applyAsLong((String) value);
+        throw typeError(index, path, Long.class, value);
+    }
+
+    private static int toInt(int index, @Nullable JSONPath path, @NotNull Object value, @NotNull ToIntFunction<String> stringParse) {
+        if (value instanceof Number)
+            return ((Number) value).intValue();
+        if (value instanceof String)
+            return stringParse.applyAsInt((String) value);
+        throw typeError(index, path, Integer.class, value);
+    }
+
+    private static double toDouble(int index, @Nullable JSONPath path, @NotNull Object value, @NotNull ToDoubleFunction<String> stringParse) {
+        if (value instanceof Number)
+            return ((Number) value).doubleValue();
+        if (value instanceof String)
+            return stringParse.applyAsDouble((String) value);
+        throw typeError(index, path, Double.class, value);
+    }
+
+    private static boolean toBoolean(int index, @Nullable JSONPath path, @NotNull Object value) {
+        if (value instanceof Boolean)
+            return (Boolean) value;
+        if (value instanceof String)
+            return Boolean.parseBoolean((String) value);
+        throw typeError(index, path, Boolean.class, value);
+    }
+
+    // The location is either an index, or a path if path is not null
+    private static ParsingException typeError(int index, @Nullable JSONPath path, Class<?> type, Object value) {
+        if (path != null)
+            return new ParsingException(String.format(Locale.ROOT, "Cannot parse value for path %s into type %s: %s instance of %s",
+                    path, type.getSimpleName(), value, value.getClass().getSimpleName()));
+        return new ParsingException(String.format(Locale.ROOT, "Cannot parse value for index %d into type %s: %s instance of %s",
                 index, type.getSimpleName(), value, value.getClass().getSimpleName()));
     }
 
+    // The representation a value is stored as, see add(Object)
+    private Object unwrap(Object value) {
+        if (value instanceof BoundData)
+            return JSONBinding.tree(value, threadingMode);
+        if (value instanceof SerializableData)
+            return ((SerializableData) value).toData().data;
+        if (value instanceof SerializableArray)
+            return ((SerializableArray) value).toJSONArray().data;
+        return value;
+    }
+
+    // Converts outside of the lock, toData() may be arbitrarily expensive
+    private List<Object> unwrapAll(Collection<?> values) {
+        Object[] unwrapped = values.toArray();
+        for (int i = 0; i < unwrapped.length; i++)
+            unwrapped[i] = unwrap(unwrapped[i]);
+        return Arrays.asList(unwrapped);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JSONArray parse(JsonParser parser, ParseOptions options) throws IOException {
+        List<Object> list = (List<Object>) TreeReader.readRoot(parser, options, JsonToken.START_ARRAY);
+        return new JSONArray(list, options.isFrozen() ? ThreadingMode.UNSYNCHRONIZED : options.getThreadingMode());
+    }
+
     @NotNull
     @Override
     public Iterator<Object> iterator() {
@@ -563,10 +1585,40 @@ public class JSONArray implements Iterable<Object>, SerializableArray {
         }
     }
 
+    /**
+     * {@link Spliterator} over a {@link #snapshot()} of this array, which is consistent even if other threads modify it.
+     *
+     * @return A spliterator over the values of this array
+     */
+    @NotNull
+    @Override
+    public Spliterator<Object> spliterator() {
+        return snapshot().spliterator();
+    }
+
+    /**
+     * Sequential stream over a {@link #snapshot()} of this array, which is consistent even if other threads modify it.
+     *
+     * @return A stream of the values of this array
+     */
+    @NotNull
+    public Stream<Object> stream() {
+        return snapshot().stream();
+    }
+
+    /**
+     * Sequential stream which maps every index of a {@link #snapshot()} of this array, such as {@code stream(JSONArray::getString)}.
+     * The mapper receives a read-only array over the snapshot, so indices stay valid even if other threads modify this array.
+     *
+     * @param mapper Maps an array and an index to a value
+     * @param <T>    The type of the mapped values
+     * @return A stream of the mapped values
+     */
     @NotNull
     public <T> Stream<T> stream(BiFunction<? super JSONArray, Integer, ? extends T> mapper) {
-        return IntStream.range(0, length())
-                .mapToObj(index -> mapper.apply(this, index));
+        JSONArray snapshot = new JSONArray(snapshot(), threadingMode);
+        return IntStream.range(0, snapshot.length())
+                .mapToObj(index -> mapper.apply(snapshot, index));
     }
 
     @NotNull
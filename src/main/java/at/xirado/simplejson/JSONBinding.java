@@ -0,0 +1,823 @@
+package at.xirado.simplejson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Binds plain Java objects and records to JSON, without annotations and without an intermediate tree.
+ *
+ * <p>An object is bound through its public getters ({@code getName()}, or {@code isActive()} for booleans)
+ * and public fields, properties are written in alphabetical order. Records are bound through their components,
+ * in declaration order. Reading an object requires a public no-arg constructor and a public setter or non-final field
+ * for every property that is read, or the canonical constructor of a record. Unknown properties are skipped.
+ *
+ * <p>Property values are bound recursively: Strings, numbers, booleans, enums (by name), maps, collections, arrays,
+ * {@link JSONObject}, {@link JSONArray} and nested objects. Other JDK types, such as {@link UUID},
+ * are read and written by Jackson, the same way {@link JSONObject#toString()} writes them.
+ *
+ * <pre>{@code
+ * String json = JSONBinding.toJson(user);
+ * User user = JSONBinding.fromJson(json, User.class);
+ * }</pre>
+ *
+ * <p>The accessors of a class are resolved into method handles once, on first use, and shared afterwards.
+ * Objects which implement {@link BoundData} are bound automatically when they are passed to
+ * {@link JSONObject#put(String, Object)}, {@link JSONArray#add(Object)} or {@link JSONWriter#value(Object)}.
+ *
+ * <p>This class is Thread-Safe.
+ */
+public final class JSONBinding {
+    private static final ClassValue<Binding> bindings = new ClassValue<Binding>() {
+        @Override
+        protected Binding computeValue(Class<?> type) {
+            return new Binding(type);
+        }
+    };
+
+    private JSONBinding() {}
+
+    /**
+     * Binds the provided object into a new JSONObject.
+     *
+     * @param value The object to bind
+     * @return A new JSONObject with the properties of the object
+     * @throws IllegalArgumentException If the value is not bound to a JSON object, for example a String or a collection
+     */
+    @NotNull
+    public static JSONObject toData(@NotNull Object value) {
+        return toData(value, ThreadingMode.SYNCHRONIZED);
+    }
+
+    /**
+     * Binds the provided object into a new JSONObject.
+     *
+     * @param value         The object to bind
+     * @param threadingMode How concurrent access to the resulting instance is guarded
+     * @return A new JSONObject with the properties of the object
+     * @throws IllegalArgumentException If the value is not bound to a JSON object, for example a String or a collection
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public static JSONObject toData(@NotNull Object value, @NotNull ThreadingMode threadingMode) {
+        Object tree = bindable(value.getClass()) ? bindings.get(value.getClass()).tree(value, threadingMode) : null;
+        if (!(tree instanceof Map))
+            throw new IllegalArgumentException(value.getClass().getName() + " is not bound to a JSON object");
+        return new JSONObject((Map<String, Object>) tree, threadingMode);
+    }
+
+    /**
+     * Binds the provided data into a new instance of the provided type.
+     *
+     * @param data The data to bind
+     * @param type The type to create
+     * @param <T>  The type to create
+     * @return A new instance with the properties of the data
+     * @throws ParsingException If a value can't be bound to the type of its property
+     */
+    @NotNull
+    public static <T> T fromData(@NotNull JSONObject data, @NotNull Class<T> type) {
+        TokenBuffer buffer = new TokenBuffer(JSONCodecs.get(FileType.JSON).factory.getCodec(), false);
+        try {
+            synchronized (data.data) {
+                JSONCodecs.get(FileType.JSON).writer.writeValue(buffer, data.data);
+            }
+            try (JsonParser parser = buffer.asParser()) {
+                parser.nextToken();
+                return type.cast(read(parser, type, ParseOptions.defaults()));
+            }
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Serializes the provided object into a JSON String.
+     *
+     * @param value The object to serialize
+     * @return The JSON representation of the object
+     */
+    @NotNull
+    public static String toJson(@Nullable Object value) {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = JSONCodecs.get(FileType.JSON).factory.createGenerator(writer)) {
+            write(generator, value);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Serializes the provided object as UTF-8 encoded JSON to the provided stream.
+     * The stream is not closed.
+     *
+     * @param value  The object to serialize
+     * @param stream The target stream
+     * @throws UncheckedIOException If the stream could not be written to
+     */
+    public static void writeTo(@Nullable Object value, @NotNull OutputStream stream) {
+        try (JsonGenerator generator = JSONCodecs.get(FileType.JSON).factory.createGenerator(stream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            write(generator, value);
+        } catch (JsonProcessingException ex) {
+            throw new ParsingException(ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Parses a JSON payload into a new instance of the provided type.
+     *
+     * @param json The correctly formatted JSON payload to parse
+     * @param type The type to create
+     * @param <T>  The type to create
+     * @return A new instance for the provided payload
+     * @throws ParsingException If the provided json is incorrectly formatted or can't be bound to the type
+     */
+    @Nullable
+    public static <T> T fromJson(@NotNull String json, @NotNull Class<T> type) {
+        return fromJson(json, type, ParseOptions.defaults());
+    }
+
+    /**
+     * Parses a JSON payload into a new instance of the provided type.
+     * <br>Values bound to {@link Object}, {@link JSONObject} or {@link JSONArray} are materialized as decided by the options.
+     *
+     * @param json    The correctly formatted JSON payload to parse
+     * @param type    The type to create
+     * @param options The options to parse with
+     * @param <T>     The type to create
+     * @return A new instance for the provided payload
+     * @throws ParsingException If the provided json is incorrectly formatted, exceeds the limits or can't be bound to the type
+     */
+    @Nullable
+    public static <T> T fromJson(@NotNull String json, @NotNull Class<T> type, @NotNull ParseOptions options) {
+        TreeReader.checkSize(json.length(), options);
+        try (JsonParser parser = JSONCodecs.get(FileType.JSON).factory.createParser(json)) {
+            return readRoot(parser, type, options);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Parses a JSON payload into a new instance of the provided type.
+     *
+     * @param json The correctly formatted JSON payload to parse
+     * @param type The type to create
+     * @param <T>  The type to create
+     * @return A new instance for the provided payload
+     * @throws ParsingException If the provided json is incorrectly formatted or can't be bound to the type
+     */
+    @Nullable
+    public static <T> T fromJson(@NotNull byte[] json, @NotNull Class<T> type) {
+        return fromJson(json, type, ParseOptions.defaults());
+    }
+
+    /**
+     * Parses a JSON payload into a new instance of the provided type.
+     * <br>Values bound to {@link Object}, {@link JSONObject} or {@link JSONArray} are materialized as decided by the options.
+     *
+     * @param json    The correctly formatted JSON payload to parse
+     * @param type    The type to create
+     * @param options The options to parse with
+     * @param <T>     The type to create
+     * @return A new instance for the provided payload
+     * @throws ParsingException If the provided json is incorrectly formatted, exceeds the limits or can't be bound to the type
+     */
+    @Nullable
+    public static <T> T fromJson(@NotNull byte[] json, @NotNull Class<T> type, @NotNull ParseOptions options) {
+        TreeReader.checkSize(json.length, options);
+        try (JsonParser parser = JSONCodecs.get(FileType.JSON).factory.createParser(json)) {
+            return readRoot(parser, type, options);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Parses a JSON payload into a new instance of the provided type.
+     *
+     * @param stream The correctly formatted JSON payload to parse
+     * @param type   The type to create
+     * @param <T>    The type to create
+     * @return A new instance for the provided payload
+     * @throws ParsingException If the provided json is incorrectly formatted, can't be bound to the type or an I/O error occurred
+     */
+    @Nullable
+    public static <T> T fromJson(@NotNull InputStream stream, @NotNull Class<T> type) {
+        return fromJson(stream, type, ParseOptions.defaults());
+    }
+
+    /**
+     * Parses a JSON payload into a new instance of the provided type.
+     * <br>Values bound to {@link Object}, {@link JSONObject} or {@link JSONArray} are materialized as decided by the options.
+     *
+     * @param stream  The correctly formatted JSON payload to parse
+     * @param type    The type to create
+     * @param options The options to parse with
+     * @param <T>     The type to create
+     * @return A new instance for the provided payload
+     * @throws ParsingException If the provided json is incorrectly formatted, can't be bound to the type, exceeds the limits or an I/O error occurred
+     */
+    @Nullable
+    public static <T> T fromJson(@NotNull InputStream stream, @NotNull Class<T> type, @NotNull ParseOptions options) {
+        try (JsonParser parser = JSONCodecs.get(FileType.JSON).factory.createParser(TreeReader.limit(stream, options))) {
+            return readRoot(parser, type, options);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Writes the provided value, binding objects which have no JSON representation of their own.
+     *
+     * @param generator The target generator
+     * @param value     The value to write
+     * @throws IOException If the generator could not be written to
+     */
+    static void write(@NotNull JsonGenerator generator, @Nullable Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof String) {
+            generator.writeString((String) value);
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Double) {
+            generator.writeNumber((Double) value);
+        } else if (value instanceof Float) {
+            generator.writeNumber((Float) value);
+        } else if (value instanceof Enum) {
+            generator.writeString(((Enum<?>) value).name());
+        } else if (value instanceof Character) {
+            generator.writeString(value.toString());
+        } else if (value instanceof BoundData) {
+            bindings.get(value.getClass()).write(generator, value);
+        } else if (value instanceof SerializableData) {
+            generator.writeObject(((SerializableData) value).toData().data);
+        } else if (value instanceof SerializableArray) {
+            generator.writeObject(((SerializableArray) value).toJSONArray().data);
+        } else if (value instanceof Map) {
+            generator.writeStartObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                generator.writeFieldName(String.valueOf(entry.getKey()));
+                write(generator, entry.getValue());
+            }
+            generator.writeEndObject();
+        } else if (value instanceof Iterable) {
+            generator.writeStartArray();
+            for (Object element : (Iterable<?>) value)
+                write(generator, element);
+            generator.writeEndArray();
+        } else if (value instanceof long[]) {
+            generator.writeArray((long[]) value, 0, ((long[]) value).length);
+        } else if (value instanceof int[]) {
+            generator.writeArray((int[]) value, 0, ((int[]) value).length);
+        } else if (value instanceof double[]) {
+            generator.writeArray((double[]) value, 0, ((double[]) value).length);
+        } else if (value.getClass().isArray() && !(value instanceof byte[])) {
+            generator.writeStartArray();
+            for (int i = 0, length = Array.getLength(value); i < length; i++)
+                write(generator, Array.get(value, i));
+            generator.writeEndArray();
+        } else if (bindable(value.getClass())) {
+            bindings.get(value.getClass()).write(generator, value);
+        } else {
+            // BigDecimal, byte[], UUID and other JDK types are written the way Jackson writes them inside a tree
+            generator.writeObject(value);
+        }
+    }
+
+    /**
+     * Binds the provided value into the {@link Map}/{@link List} representation used by {@link JSONObject} and {@link JSONArray}.
+     *
+     * @param value         The value to bind
+     * @param threadingMode The mode of the instance the value is stored in, which decides the type of nested maps
+     * @return The unwrapped value
+     */
+    @Nullable
+    static Object tree(@Nullable Object value, @NotNull ThreadingMode threadingMode) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean)
+            return value;
+        if (value instanceof Enum)
+            return ((Enum<?>) value).name();
+        if (value instanceof Character)
+            return value.toString();
+        if (value instanceof BoundData)
+            return bindings.get(value.getClass()).tree(value, threadingMode);
+        // The data is copied, it is already guarded and may still be owned by the value
+        if (value instanceof SerializableData)
+            return ((SerializableData) value).toData().copyData(threadingMode);
+        if (value instanceof SerializableArray)
+            return ((SerializableArray) value).toJSONArray().copyData(threadingMode);
+        if (value instanceof Map) {
+            Map<String, Object> map = threadingMode.newMap();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+                map.put(String.valueOf(entry.getKey()), tree(entry.getValue(), threadingMode));
+            return map;
+        }
+        if (value instanceof Iterable) {
+            List<Object> list = new ArrayList<>();
+            for (Object element : (Iterable<?>) value)
+                list.add(tree(element, threadingMode));
+            return list;
+        }
+        if (value.getClass().isArray() && !(value instanceof byte[])) {
+            int length = Array.getLength(value);
+            List<Object> list = new ArrayList<>(length);
+            for (int i = 0; i < length; i++)
+                list.add(tree(Array.get(value, i), threadingMode));
+            return list;
+        }
+        if (bindable(value.getClass()))
+            return bindings.get(value.getClass()).tree(value, threadingMode);
+        return value;
+    }
+
+    private static <T> T readRoot(JsonParser parser, Class<T> type, ParseOptions options) throws IOException {
+        if (parser.nextToken() == null)
+            throw new ParsingException("Unexpected end of input");
+        return type.cast(read(parser, type, options));
+    }
+
+    // Reads the value the parser is positioned at into the provided type, leaving the parser at its last token
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object read(JsonParser parser, Type type, ParseOptions options) throws IOException {
+        JsonToken token = parser.currentToken();
+        Class<?> raw = rawType(type);
+        if (token == JsonToken.VALUE_NULL)
+            return null;
+        if (raw == Object.class)
+            return TreeReader.readValue(parser, options);
+        if (raw == String.class && token == JsonToken.VALUE_STRING)
+            return parser.getText();
+        if ((raw == boolean.class || raw == Boolean.class) && token.isBoolean())
+            return token == JsonToken.VALUE_TRUE;
+        if (token.isNumeric()) {
+            if (raw == int.class || raw == Integer.class)
+                return parser.getIntValue();
+            if (raw == long.class || raw == Long.class)
+                return parser.getLongValue();
+            if (raw == double.class || raw == Double.class)
+                return parser.getDoubleValue();
+            if (raw == float.class || raw == Float.class)
+                return parser.getFloatValue();
+            if (raw == short.class || raw == Short.class)
+                return parser.getShortValue();
+            if (raw == byte.class || raw == Byte.class)
+                return parser.getByteValue();
+            if (raw == BigDecimal.class)
+                return parser.getDecimalValue();
+            if (raw == BigInteger.class)
+                return parser.getBigIntegerValue();
+            if (raw == Number.class)
+                return parser.getNumberValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            if ((raw == char.class || raw == Character.class) && parser.getTextLength() == 1)
+                return parser.getText().charAt(0);
+            if (raw.isEnum()) {
+                try {
+                    return Enum.valueOf((Class<? extends Enum>) raw, parser.getText());
+                } catch (IllegalArgumentException ex) {
+                    throw new ParsingException("Unknown constant " + parser.getText() + " of " + raw.getName() + " at " + parser.getTokenLocation());
+                }
+            }
+        }
+        if (token == JsonToken.START_OBJECT) {
+            if (raw == JSONObject.class)
+                return new JSONObject((Map<String, Object>) TreeReader.readValue(parser, options), containerMode(options));
+            if (Map.class.isAssignableFrom(raw)) {
+                Map<String, Object> map = raw.isInterface() || Modifier.isAbstract(raw.getModifiers())
+                        ? new LinkedHashMap<>() : (Map<String, Object>) instantiate(raw);
+                Type valueType = typeArgument(type, 1);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String key = parser.getCurrentName();
+                    parser.nextToken();
+                    map.put(key, read(parser, valueType, options));
+                }
+                return map;
+            }
+            if (bindable(raw))
+                return bindings.get(raw).read(parser, options);
+        }
+        if (token == JsonToken.START_ARRAY) {
+            if (raw == JSONArray.class)
+                return new JSONArray((List<Object>) TreeReader.readValue(parser, options), containerMode(options));
+            if (raw.isArray()) {
+                List<Object> elements = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY)
+                    elements.add(read(parser, raw.getComponentType(), options));
+                Object array = Array.newInstance(raw.getComponentType(), elements.size());
+                for (int i = 0; i < elements.size(); i++) {
+                    Object element = elements.get(i);
+                    if (element != null || !raw.getComponentType().isPrimitive())
+                        Array.set(array, i, element);
+                }
+                return array;
+            }
+            if (Collection.class.isAssignableFrom(raw) || raw == Iterable.class) {
+                Collection<Object> collection;
+                if (!raw.isInterface() && !Modifier.isAbstract(raw.getModifiers()))
+                    collection = (Collection<Object>) instantiate(raw);
+                else if (Set.class.isAssignableFrom(raw))
+                    collection = new LinkedHashSet<>();
+                else
+                    collection = new ArrayList<>();
+                Type elementType = typeArgument(type, 0);
+                while (parser.nextToken() != JsonToken.END_ARRAY)
+                    collection.add(read(parser, elementType, options));
+                return collection;
+            }
+        }
+        if (!bindable(raw) && !raw.isPrimitive() && raw.getName().startsWith("java."))
+            return JSONCodecs.get(FileType.JSON).factory.getCodec().readValue(parser, raw);
+        throw new ParsingException("Cannot bind " + token + " to " + type.getTypeName() + " at " + parser.getTokenLocation());
+    }
+
+    // Frozen trees need no guard, everything else is guarded as requested
+    private static ThreadingMode containerMode(ParseOptions options) {
+        return options.isFrozen() ? ThreadingMode.UNSYNCHRONIZED : options.getThreadingMode();
+    }
+
+    private static Object instantiate(Class<?> type) {
+        try {
+            return type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException ex) {
+            throw new ParsingException("Cannot create " + type.getName(), ex);
+        }
+    }
+
+    // Classes which are bound by their properties, rather than written as a value of their own
+    private static boolean bindable(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.isInterface() || type.isEnum() || type.getName().startsWith("java."))
+            return false;
+        return !(Map.class.isAssignableFrom(type) || Iterable.class.isAssignableFrom(type) || Number.class.isAssignableFrom(type)
+                || type == JSONObject.class || type == JSONArray.class);
+    }
+
+    private static Class<?> rawType(Type type) {
+        if (type instanceof Class)
+            return (Class<?>) type;
+        if (type instanceof ParameterizedType)
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        if (type instanceof GenericArrayType)
+            return Array.newInstance(rawType(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        // Type variables and wildcards are read as plain values
+        return Object.class;
+    }
+
+    private static Type typeArgument(Type type, int index) {
+        if (type instanceof ParameterizedType) {
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            if (index < arguments.length)
+                return arguments[index];
+        }
+        return Object.class;
+    }
+
+    private static RuntimeException rethrow(Throwable throwable, String message) {
+        if (throwable instanceof RuntimeException)
+            return (RuntimeException) throwable;
+        if (throwable instanceof Error)
+            throw (Error) throwable;
+        return new ParsingException(message, (Exception) throwable);
+    }
+
+    /**
+     * Writes {@link SerializableData} and {@link SerializableArray} values which are stored in a tree as they are,
+     * such as values added with {@link JSONObject#putLazy(String, JSONProperty)}, only once the tree is serialized.
+     */
+    static final class Serializer extends StdSerializer<JSONProperty> {
+        Serializer() {
+            super(JSONProperty.class);
+        }
+
+        @Override
+        public void serialize(JSONProperty value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            write(generator, value);
+        }
+    }
+
+    /**
+     * The accessors of one class, resolved into method handles.
+     */
+    private static final class Binding {
+        private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+        private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+        private final Class<?> type;
+        /** Properties which are written, in output order. */
+        private final Property[] readable;
+        /** Properties which are read, by name. */
+        private final Map<String, Property> writable = new HashMap<>();
+        /** No-arg constructor of a class, or the canonical constructor of a record spread over an Object[]. */
+        private final MethodHandle constructor;
+        private final boolean record;
+
+        Binding(Class<?> type) {
+            this.type = type;
+            List<Property> properties = new ArrayList<>();
+            Records.Component[] components = Records.components(type);
+            this.record = components != null;
+            if (record) {
+                Class<?>[] parameterTypes = new Class<?>[components.length];
+                for (int i = 0; i < components.length; i++) {
+                    Records.Component component = components[i];
+                    Property property = new Property(component.name, component.type, component.genericType, i);
+                    property.getter = unreflect(component.accessor).asType(GETTER);
+                    properties.add(property);
+                    writable.put(property.name, property);
+                    parameterTypes[i] = component.type;
+                }
+                MethodHandle canonical = constructor(type, parameterTypes);
+                this.constructor = canonical == null ? null
+                        : canonical.asType(canonical.type().generic()).asSpreader(Object[].class, components.length);
+            } else {
+                Map<String, Property> byName = new TreeMap<>();
+                for (Field field : type.getFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers))
+                        continue;
+                    Property property = new Property(field.getName(), field.getType(), field.getGenericType(), -1);
+                    property.getter = unreflectGetter(field).asType(GETTER);
+                    if (!Modifier.isFinal(modifiers))
+                        property.setter = unreflectSetter(field).asType(SETTER);
+                    byName.put(property.name, property);
+                }
+                // Getters and setters take precedence over public fields of the same name
+                Set<String> getters = new HashSet<>();
+                for (Method method : type.getMethods()) {
+                    String name = getterName(method);
+                    if (name == null || !getters.add(name))
+                        continue;
+                    Property field = byName.get(name);
+                    Property property = new Property(name, method.getReturnType(), method.getGenericReturnType(), -1);
+                    property.getter = unreflect(method).asType(GETTER);
+                    if (field != null && field.type == property.type)
+                        property.setter = field.setter;
+                    byName.put(name, property);
+                }
+                for (Method method : type.getMethods()) {
+                    String name = setterName(method);
+                    Property property = name == null ? null : byName.get(name);
+                    if (property != null && property.type == method.getParameterTypes()[0])
+                        property.setter = unreflect(method).asType(SETTER);
+                }
+                for (Property property : byName.values()) {
+                    properties.add(property);
+                    if (property.setter != null)
+                        writable.put(property.name, property);
+                }
+                MethodHandle noArgs = constructor(type);
+                this.constructor = noArgs == null ? null : noArgs.asType(MethodType.methodType(Object.class));
+            }
+            this.readable = properties.toArray(new Property[0]);
+        }
+
+        void write(JsonGenerator generator, Object value) throws IOException {
+            generator.writeStartObject(value);
+            for (Property property : readable) {
+                generator.writeFieldName(property.name);
+                JSONBinding.write(generator, property.get(value));
+            }
+            generator.writeEndObject();
+        }
+
+        Map<String, Object> tree(Object value, ThreadingMode threadingMode) {
+            Map<String, Object> map = threadingMode.newMap();
+            for (Property property : readable)
+                map.put(property.name, JSONBinding.tree(property.get(value), threadingMode));
+            return map;
+        }
+
+        Object read(JsonParser parser, ParseOptions options) throws IOException {
+            if (constructor == null)
+                throw new ParsingException(type.getName() + " has no public " + (record ? "canonical" : "no-arg") + " constructor");
+            Object[] arguments = record ? defaults() : null;
+            Object instance = null;
+            if (!record) {
+                try {
+                    instance = (Object) constructor.invokeExact();
+                } catch (Throwable ex) {
+                    throw rethrow(ex, "Cannot create " + type.getName());
+                }
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                Property property = writable.get(parser.getCurrentName());
+                parser.nextToken();
+                if (property == null) {
+                    parser.skipChildren();
+                    continue;
+                }
+                Object value = JSONBinding.read(parser, property.genericType, options);
+                if (value == null && property.type.isPrimitive())
+                    continue;
+                if (record)
+                    arguments[property.index] = value;
+                else
+                    property.set(instance, value);
+            }
+            if (!record)
+                return instance;
+            try {
+                return (Object) constructor.invokeExact(arguments);
+            } catch (Throwable ex) {
+                throw rethrow(ex, "Cannot create " + type.getName());
+            }
+        }
+
+        // Arguments of the canonical constructor, primitive components default to zero if they are missing
+        private Object[] defaults() {
+            Object[] arguments = new Object[readable.length];
+            for (Property property : readable) {
+                if (property.type.isPrimitive())
+                    arguments[property.index] = Array.get(Array.newInstance(property.type, 1), 0);
+            }
+            return arguments;
+        }
+
+        private static String getterName(Method method) {
+            if (Modifier.isStatic(method.getModifiers()) || method.isBridge() || method.getDeclaringClass() == Object.class
+                    || method.getParameterCount() != 0 || method.getReturnType() == void.class)
+                return null;
+            String name = method.getName();
+            if (name.startsWith("get") && name.length() > 3)
+                return decapitalize(name.substring(3));
+            if (name.startsWith("is") && name.length() > 2 && (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class))
+                return decapitalize(name.substring(2));
+            return null;
+        }
+
+        private static String setterName(Method method) {
+            if (Modifier.isStatic(method.getModifiers()) || method.isBridge() || method.getParameterCount() != 1)
+                return null;
+            String name = method.getName();
+            return name.startsWith("set") && name.length() > 3 ? decapitalize(name.substring(3)) : null;
+        }
+
+        // Same rules as java.beans.Introspector: getURL is URL, getName is name
+        private static String decapitalize(String name) {
+            if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0)))
+                return name;
+            return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+        }
+
+        private static MethodHandle constructor(Class<?> type, Class<?>... parameterTypes) {
+            try {
+                Constructor<?> constructor = type.getConstructor(parameterTypes);
+                if (Modifier.isAbstract(type.getModifiers()))
+                    return null;
+                return access(constructor, lookup -> lookup.unreflectConstructor(constructor));
+            } catch (NoSuchMethodException ex) {
+                return null;
+            }
+        }
+
+        private static MethodHandle unreflect(Method method) {
+            return access(method, lookup -> lookup.unreflect(method));
+        }
+
+        private static MethodHandle unreflectGetter(Field field) {
+            return access(field, lookup -> lookup.unreflectGetter(field));
+        }
+
+        private static MethodHandle unreflectSetter(Field field) {
+            return access(field, lookup -> lookup.unreflectSetter(field));
+        }
+
+        // Public members of classes which aren't public themselves can only be accessed after setAccessible
+        private static MethodHandle access(AccessibleObject member, Unreflector unreflector) {
+            try {
+                return unreflector.unreflect(MethodHandles.publicLookup());
+            } catch (IllegalAccessException ignored) {
+            }
+            try {
+                member.setAccessible(true);
+                return unreflector.unreflect(MethodHandles.lookup());
+            } catch (IllegalAccessException | RuntimeException ex) {
+                throw new IllegalArgumentException("Cannot access " + member + ", its class has to be public", ex);
+            }
+        }
+    }
+
+    private interface Unreflector {
+        MethodHandle unreflect(MethodHandles.Lookup lookup) throws IllegalAccessException;
+    }
+
+    private static final class Property {
+        final String name;
+        final Class<?> type;
+        final Type genericType;
+        /** Position in the canonical constructor of a record. */
+        final int index;
+        MethodHandle getter;
+        MethodHandle setter;
+
+        Property(String name, Class<?> type, Type genericType, int index) {
+            this.name = name;
+            this.type = type;
+            this.genericType = genericType;
+            this.index = index;
+        }
+
+        Object get(Object instance) {
+            try {
+                return (Object) getter.invokeExact(instance);
+            } catch (Throwable ex) {
+                throw rethrow(ex, "Cannot read property " + name);
+            }
+        }
+
+        void set(Object instance, Object value) {
+            try {
+                setter.invokeExact(instance, value);
+            } catch (Throwable ex) {
+                throw rethrow(ex, "Cannot write property " + name);
+            }
+        }
+    }
+
+    /**
+     * Reflective access to records, which can't be referenced directly while targeting Java 8.
+     */
+    private static final class Records {
+        private static final Method getRecordComponents;
+        private static final Method getName;
+        private static final Method getType;
+        private static final Method getGenericType;
+        private static final Method getAccessor;
+
+        static {
+            Method[] methods = new Method[5];
+            try {
+                methods[0] = Class.class.getMethod("getRecordComponents");
+                Class<?> component = Class.forName("java.lang.reflect.RecordComponent");
+                methods[1] = component.getMethod("getName");
+                methods[2] = component.getMethod("getType");
+                methods[3] = component.getMethod("getGenericType");
+                methods[4] = component.getMethod("getAccessor");
+            } catch (ReflectiveOperationException ex) {
+                Arrays.fill(methods, null);
+            }
+            getRecordComponents = methods[0];
+            getName = methods[1];
+            getType = methods[2];
+            getGenericType = methods[3];
+            getAccessor = methods[4];
+        }
+
+        private Records() {}
+
+        @Nullable
+        static Component[] components(Class<?> type) {
+            if (getRecordComponents == null || type.getSuperclass() == null || !type.getSuperclass().getName().equals("java.lang.Record"))
+                return null;
+            try {
+                Object[] components = (Object[]) getRecordComponents.invoke(type);
+                Component[] result = new Component[components.length];
+                for (int i = 0; i < components.length; i++) {
+                    Object component = components[i];
+                    result[i] = new Component((String) getName.invoke(component), (Class<?>) getType.invoke(component),
+                            (Type) getGenericType.invoke(component), (Method) getAccessor.invoke(component));
+                }
+                return result;
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalArgumentException("Cannot read the components of " + type.getName(), ex);
+            }
+        }
+
+        static final class Component {
+            final String name;
+            final Class<?> type;
+            final Type genericType;
+            final Method accessor;
+
+            Component(String name, Class<?> type, Type genericType, Method accessor) {
+                this.name = name;
+                this.type = type;
+                this.genericType = genericType;
+                this.accessor = accessor;
+            }
+        }
+    }
+}
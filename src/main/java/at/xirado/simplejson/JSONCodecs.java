@@ -0,0 +1,164 @@
+package at.xirado.simplejson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.jetbrains.annotations.NotNull;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Registry of the Jackson codecs used to read and write every {@link FileType}.
+ *
+ * <p>Each format is set up once, on first use, with immutable readers and writers that are shared by all
+ * {@link JSONObject}, {@link JSONArray}, {@link JSONReader}, {@link JSONWriter} and {@link JSONPath} calls.
+ * Formats which are never used are never loaded.
+ *
+ * <p>The {@link JsonFactory} of a format can be replaced, for example to toggle parser features or buffer recycling:
+ *
+ * <pre>{@code
+ * JsonFactory factory = JSONCodecs.getFactory(FileType.JSON)
+ *         .enable(JsonParser.Feature.ALLOW_COMMENTS);
+ * JSONCodecs.setFactory(FileType.JSON, factory);
+ * }</pre>
+ *
+ * <p>This class is Thread-Safe. Calls which are in progress while a factory is replaced finish with the previous codecs.
+ */
+public final class JSONCodecs {
+    private static final AtomicReferenceArray<Codec> codecs = new AtomicReferenceArray<>(FileType.values().length);
+
+    private JSONCodecs() {}
+
+    /**
+     * A copy of the factory currently used for the provided format, which can be reconfigured and passed to
+     * {@link #setFactory(FileType, JsonFactory)}.
+     *
+     * @param fileType The format
+     * @return A new factory with the current configuration
+     */
+    @NotNull
+    public static JsonFactory getFactory(@NotNull FileType fileType) {
+        return get(fileType).factory.copy();
+    }
+
+    /**
+     * Replaces the factory used for the provided format.
+     * The factory is copied, later changes to the provided instance have no effect.
+     *
+     * @param fileType The format
+     * @param factory  The factory to read and write the format with
+     * @throws IllegalArgumentException If the factory produces a different format
+     */
+    public static void setFactory(@NotNull FileType fileType, @NotNull JsonFactory factory) {
+        JsonFactory defaults = defaultFactory(fileType);
+        // Subclasses of JsonFactory may not report a format name, other formats always do
+        String formatName = factory.getFormatName();
+        if (!defaults.getClass().isInstance(factory) || formatName != null && !formatName.equals(defaults.getFormatName()))
+            throw new IllegalArgumentException(factory.getClass().getSimpleName() + " does not produce " + fileType);
+        codecs.set(fileType.ordinal(), new Codec(fileType, factory.copy()));
+    }
+
+    /**
+     * Restores the default factory of the provided format.
+     *
+     * @param fileType The format
+     */
+    public static void reset(@NotNull FileType fileType) {
+        codecs.set(fileType.ordinal(), null);
+    }
+
+    @NotNull
+    static Codec get(@NotNull FileType fileType) {
+        Codec codec = codecs.get(fileType.ordinal());
+        if (codec == null) {
+            codec = new Codec(fileType, defaultFactory(fileType));
+            if (!codecs.compareAndSet(fileType.ordinal(), null, codec))
+                codec = codecs.get(fileType.ordinal());
+        }
+        return codec;
+    }
+
+    private static JsonFactory defaultFactory(FileType fileType) {
+        switch (fileType) {
+            case JSON:
+                return new JsonFactory();
+            case YAML:
+                return new YAMLFactory();
+            case CBOR:
+                return new CBORFactory();
+            case SMILE:
+                return new SmileFactory();
+            case MSGPACK:
+                return new MessagePackFactory();
+            default:
+                throw new IllegalArgumentException("Unsupported Type");
+        }
+    }
+
+    /**
+     * Pre-built readers and writers of one format.
+     */
+    static final class Codec {
+        private static final DefaultPrettyPrinter prettyPrinter;
+
+        static {
+            DefaultPrettyPrinter.Indenter indent = new DefaultIndenter("    ", DefaultIndenter.SYS_LF);
+            prettyPrinter = new DefaultPrettyPrinter().withObjectIndenter(indent).withArrayIndenter(indent);
+        }
+
+        /** Creates parsers and generators, for streaming access without data binding. */
+        final JsonFactory factory;
+        /** Reads objects into {@link HashMap}s. */
+        final ObjectReader mapReader;
+        /** Reads objects into {@link ConcurrentDataMap}s, including all nested objects. */
+        final ObjectReader concurrentMapReader;
+        /** Reads arrays into {@link ArrayList}s. */
+        final ObjectReader listReader;
+        /** Writes compact output, and never closes the target. */
+        final ObjectWriter writer;
+        /** Writes indented output for JSON, and the same as {@link #writer} for all other formats. */
+        final ObjectWriter prettyWriter;
+
+        private Codec(FileType fileType, JsonFactory factory) {
+            // Both mappers share the factory, the one created first becomes its codec
+            ObjectMapper mapper = newMapper(factory, HashMap.class);
+            ObjectMapper concurrentMapper = newMapper(factory, ConcurrentDataMap.class);
+            this.factory = mapper.getFactory();
+            this.mapReader = mapper.readerFor(mapper.getTypeFactory().constructRawMapType(HashMap.class));
+            this.concurrentMapReader = concurrentMapper.readerFor(
+                    concurrentMapper.getTypeFactory().constructMapType(ConcurrentDataMap.class, String.class, Object.class));
+            this.listReader = mapper.readerFor(mapper.getTypeFactory().constructRawCollectionType(ArrayList.class));
+            this.writer = mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.prettyWriter = fileType == FileType.JSON ? writer.with(prettyPrinter) : writer;
+        }
+
+        @NotNull
+        ObjectReader mapReader(@NotNull ThreadingMode threadingMode) {
+            return threadingMode == ThreadingMode.CONCURRENT ? concurrentMapReader : mapReader;
+        }
+
+        private static ObjectMapper newMapper(JsonFactory factory, Class<? extends Map> mapClass) {
+            ObjectMapper mapper = new ObjectMapper(factory);
+            SimpleModule module = new SimpleModule();
+            module.addAbstractTypeMapping(Map.class, mapClass);
+            module.addAbstractTypeMapping(List.class, ArrayList.class);
+            module.addSerializer(NumericArrayList.class, new NumericArrayList.Serializer());
+            module.addSerializer(JSONProperty.class, new JSONBinding.Serializer());
+            mapper.registerModule(module);
+            return mapper;
+        }
+    }
+}
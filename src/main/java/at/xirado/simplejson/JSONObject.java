@@ -1,12 +1,8 @@
 package at.xirado.simplejson;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.util.DefaultIndenter;
-import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.module.SimpleModule;
-import com.fasterxml.jackson.databind.type.MapType;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.core.JsonToken;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -14,8 +10,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.function.UnaryOperator;
 
 /**
@@ -24,44 +25,49 @@ import java.util.function.UnaryOperator;
  * <p>Throws {@link java.lang.NullPointerException},
  * if a parameter annotated with {@link NotNull} is provided with {@code null}.
  *
- * <p>This class is Thread-Safe.
+ * <p>This class is Thread-Safe. How concurrent access is guarded can be chosen with {@link ThreadingMode}.
+ * {@link #freeze() Frozen} instances throw {@link UnsupportedOperationException} from all mutators.
  */
 public class JSONObject implements SerializableData {
     private static final Logger log = LoggerFactory.getLogger(JSONObject.class);
-    private static final ObjectMapper mapper;
-    private static final ObjectMapper ymlMapper;
-    private static final SimpleModule module;
-    private static final MapType mapType;
-
-    static {
-        mapper = new ObjectMapper();
-        ymlMapper = new ObjectMapper(new YAMLFactory());
-        module = new SimpleModule();
-        module.addAbstractTypeMapping(Map.class, HashMap.class);
-        module.addAbstractTypeMapping(List.class, ArrayList.class);
-        mapper.registerModule(module);
-        mapType = mapper.getTypeFactory().constructRawMapType(HashMap.class);
-    }
 
     protected final Map<String, Object> data;
+    protected final ThreadingMode threadingMode;
 
     public JSONObject(@NotNull Map<String, Object> data) {
-        this.data = Collections.synchronizedMap(data);
+        this(data, ThreadingMode.SYNCHRONIZED);
+    }
+
+    public JSONObject(@NotNull Map<String, Object> data, @NotNull ThreadingMode threadingMode) {
+        this.data = threadingMode.wrap(data);
+        this.threadingMode = threadingMode;
     }
 
     public JSONObject(@NotNull String data, @NotNull FileType fileType) {
+        this(data, fileType, ThreadingMode.SYNCHRONIZED);
+    }
+
+    public JSONObject(@NotNull String data, @NotNull FileType fileType, @NotNull ThreadingMode threadingMode) {
+        if (fileType.isBinary())
+            throw new IllegalArgumentException(fileType + " is a binary format and can't be read from a String");
         try {
-            Map<String, Object> map = getMapper(fileType).readValue(data, mapType);
-            this.data = Collections.synchronizedMap(map);
+            Map<String, Object> map = JSONCodecs.get(fileType).mapReader(threadingMode).readValue(data);
+            this.data = threadingMode.wrap(map);
+            this.threadingMode = threadingMode;
         } catch (IOException ex) {
             throw new ParsingException(ex);
         }
     }
 
     public JSONObject(@NotNull InputStream stream, @NotNull FileType fileType) {
+        this(stream, fileType, ThreadingMode.SYNCHRONIZED);
+    }
+
+    public JSONObject(@NotNull InputStream stream, @NotNull FileType fileType, @NotNull ThreadingMode threadingMode) {
         try {
-            Map<String, Object> map = getMapper(fileType).readValue(stream, mapType);
-            this.data = Collections.synchronizedMap(map);
+            Map<String, Object> map = JSONCodecs.get(fileType).mapReader(threadingMode).readValue(stream);
+            this.data = threadingMode.wrap(map);
+            this.threadingMode = threadingMode;
         } catch (IOException ex) {
             throw new ParsingException(ex);
         }
@@ -69,6 +75,7 @@ public class JSONObject implements SerializableData {
 
     public JSONObject(@NotNull JSONObject object) {
         this.data = object.data;
+        this.threadingMode = object.threadingMode;
     }
 
     /**
@@ -82,6 +89,18 @@ public class JSONObject implements SerializableData {
         return new JSONObject(new HashMap<>());
     }
 
+    /**
+     * Creates a new empty JSONObject, ready to be populated with values.
+     *
+     * @param threadingMode How concurrent access to the new instance is guarded
+     * @return An empty JSONObject instance
+     * @see #put(String, Object)
+     */
+    @NotNull
+    public static JSONObject empty(@NotNull ThreadingMode threadingMode) {
+        return new JSONObject(threadingMode.newMap(), threadingMode);
+    }
+
     /**
      * Parses a JSON payload into a JSONObject instance.
      *
@@ -91,9 +110,22 @@ public class JSONObject implements SerializableData {
      */
     @NotNull
     public static JSONObject fromJson(@NotNull byte[] data) {
+        return fromJson(data, ThreadingMode.SYNCHRONIZED);
+    }
+
+    /**
+     * Parses a JSON payload into a JSONObject instance.
+     *
+     * @param data          The correctly formatted JSON payload to parse
+     * @param threadingMode How concurrent access to the resulting instance is guarded
+     * @return A JSONObject instance for the provided payload
+     * @throws ParsingException If the provided json is incorrectly formatted
+     */
+    @NotNull
+    public static JSONObject fromJson(@NotNull byte[] data, @NotNull ThreadingMode threadingMode) {
         try {
-            Map<String, Object> map = mapper.readValue(data, mapType);
-            return new JSONObject(map);
+            Map<String, Object> map = JSONCodecs.get(FileType.JSON).mapReader(threadingMode).readValue(data);
+            return new JSONObject(map, threadingMode);
         } catch (IOException ex) {
             throw new ParsingException(ex);
         }
@@ -108,12 +140,20 @@ public class JSONObject implements SerializableData {
      */
     @NotNull
     public static JSONObject fromYaml(@NotNull String yml) {
-        try {
-            Map<String, Object> map = ymlMapper.readValue(yml, mapType);
-            return new JSONObject(map);
-        } catch (IOException ex) {
-            throw new ParsingException(ex);
-        }
+        return new JSONObject(yml, FileType.YAML);
+    }
+
+    /**
+     * Parses a YAML payload into a JSONObject instance.
+     *
+     * @param yml           The correctly formatted YAML payload to parse
+     * @param threadingMode How concurrent access to the resulting instance is guarded
+     * @return A JSONObject instance for the provided payload
+     * @throws ParsingException If the provided yaml is incorrectly formatted
+     */
+    @NotNull
+    public static JSONObject fromYaml(@NotNull String yml, @NotNull ThreadingMode threadingMode) {
+        return new JSONObject(yml, FileType.YAML, threadingMode);
     }
 
     /**
@@ -125,12 +165,20 @@ public class JSONObject implements SerializableData {
      */
     @NotNull
     public static JSONObject fromYaml(@NotNull InputStream inputStream) {
-        try {
-            Map<String, Object> map = ymlMapper.readValue(inputStream, mapType);
-            return new JSONObject(map);
-        } catch (IOException ex) {
-            throw new ParsingException(ex);
-        }
+        return new JSONObject(inputStream, FileType.YAML);
+    }
+
+    /**
+     * Parses a YAML payload into a JSONObject instance.
+     *
+     * @param inputStream   The correctly formatted YAML payload to parse
+     * @param threadingMode How concurrent access to the resulting instance is guarded
+     * @return A JSONObject instance for the provided payload
+     * @throws ParsingException If the provided yaml is incorrectly formatted
+     */
+    @NotNull
+    public static JSONObject fromYaml(@NotNull InputStream inputStream, @NotNull ThreadingMode threadingMode) {
+        return new JSONObject(inputStream, FileType.YAML, threadingMode);
     }
 
     /**
@@ -145,6 +193,19 @@ public class JSONObject implements SerializableData {
         return new JSONObject(json, FileType.JSON);
     }
 
+    /**
+     * Parses a JSON payload into a JSONObject instance.
+     *
+     * @param json          The correctly formatted JSON payload to parse
+     * @param threadingMode How concurrent access to the resulting instance is guarded
+     * @return A JSONObject instance for the provided payload
+     * @throws ParsingException If the provided json is incorrectly formatted
+     */
+    @NotNull
+    public static JSONObject fromJson(@NotNull String json, @NotNull ThreadingMode threadingMode) {
+        return new JSONObject(json, FileType.JSON, threadingMode);
+    }
+
     /**
      * Parses a JSON payload into a JSONObject instance.
      *
@@ -157,6 +218,19 @@ public class JSONObject implements SerializableData {
         return new JSONObject(stream, FileType.JSON);
     }
 
+    /**
+     * Parses a JSON payload into a JSONObject instance.
+     *
+     * @param stream        The correctly formatted JSON payload to parse
+     * @param threadingMode How concurrent access to the resulting instance is guarded
+     * @return A JSONObject instance for the provided payload
+     * @throws ParsingException If the provided json is incorrectly formatted or an I/O error occurred
+     */
+    @NotNull
+    public static JSONObject fromJson(@NotNull InputStream stream, @NotNull ThreadingMode threadingMode) {
+        return new JSONObject(stream, FileType.JSON, threadingMode);
+    }
+
     /**
      * Parses a JSON payload into a JSONObject instance.
      *
@@ -166,9 +240,185 @@ public class JSONObject implements SerializableData {
      */
     @NotNull
     public static JSONObject fromJson(@NotNull Reader stream) {
+        return fromJson(stream, ThreadingMode.SYNCHRONIZED);
+    }
+
+    /**
+     * Parses a JSON payload into a JSONObject instance.
+     *
+     * @param stream        The correctly formatted JSON payload to parse
+     * @param threadingMode How concurrent access to the resulting instance is guarded
+     * @return A JSONObject instance for the provided payload
+     * @throws ParsingException If the provided json is incorrectly formatted or an I/O error occurred
+     */
+    @NotNull
+    public static JSONObject fromJson(@NotNull Reader stream, @NotNull ThreadingMode threadingMode) {
+        try {
+            Map<String, Object> map = JSONCodecs.get(FileType.JSON).mapReader(threadingMode).readValue(stream);
+            return new JSONObject(map, threadingMode);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Parses a JSON payload into a JSONObject instance.
+     *
+     * @param data    The correctly formatted JSON payload to parse
+     * @param options The options which decide how the payload is stored
+     * @return A JSONObject instance for the provided payload
+     * @throws ParsingException If the provided json is incorrectly formatted or exceeds one of the limits of the options
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONObject fromJson(@NotNull byte[] data, @NotNull ParseOptions options) {
+        TreeReader.checkSize(data.length, options);
+        try (JsonParser parser = JSONCodecs.get(FileType.JSON).factory.createParser(data)) {
+            return parse(parser, options);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Parses a JSON payload into a JSONObject instance.
+     *
+     * @param json    The correctly formatted JSON payload to parse
+     * @param options The options which decide how the payload is stored
+     * @return A JSONObject instance for the provided payload
+     * @throws ParsingException If the provided json is incorrectly formatted or exceeds one of the limits of the options
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONObject fromJson(@NotNull String json, @NotNull ParseOptions options) {
+        TreeReader.checkSize(json.length(), options);
+        try (JsonParser parser = JSONCodecs.get(FileType.JSON).factory.createParser(json)) {
+            return parse(parser, options);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Parses a JSON payload into a JSONObject instance.
+     *
+     * @param stream  The correctly formatted JSON payload to parse
+     * @param options The options which decide how the payload is stored
+     * @return A JSONObject instance for the provided payload
+     * @throws ParsingException If the provided json is incorrectly formatted, exceeds one of the limits of the options or an I/O error occurred
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONObject fromJson(@NotNull InputStream stream, @NotNull ParseOptions options) {
+        try (JsonParser parser = JSONCodecs.get(FileType.JSON).factory.createParser(TreeReader.limit(stream, options))) {
+            return parse(parser, options);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Parses a JSON payload into a JSONObject instance.
+     *
+     * @param stream  The correctly formatted JSON payload to parse
+     * @param options The options which decide how the payload is stored
+     * @return A JSONObject instance for the provided payload
+     * @throws ParsingException If the provided json is incorrectly formatted, exceeds one of the limits of the options or an I/O error occurred
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONObject fromJson(@NotNull Reader stream, @NotNull ParseOptions options) {
+        try (JsonParser parser = JSONCodecs.get(FileType.JSON).factory.createParser(TreeReader.limit(stream, options))) {
+            return parse(parser, options);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Parses a YAML payload into a JSONObject instance.
+     *
+     * @param yml     The correctly formatted YAML payload to parse
+     * @param options The options which decide how the payload is stored
+     * @return A JSONObject instance for the provided payload
+     * @throws ParsingException If the provided yaml is incorrectly formatted or exceeds one of the limits of the options
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONObject fromYaml(@NotNull String yml, @NotNull ParseOptions options) {
+        TreeReader.checkSize(yml.length(), options);
+        try (JsonParser parser = JSONCodecs.get(FileType.YAML).factory.createParser(yml)) {
+            return parse(parser, options);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Parses a YAML payload into a JSONObject instance.
+     *
+     * @param inputStream The correctly formatted YAML payload to parse
+     * @param options     The options which decide how the payload is stored
+     * @return A JSONObject instance for the provided payload
+     * @throws ParsingException If the provided yaml is incorrectly formatted, exceeds one of the limits of the options or an I/O error occurred
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONObject fromYaml(@NotNull InputStream inputStream, @NotNull ParseOptions options) {
+        try (JsonParser parser = JSONCodecs.get(FileType.YAML).factory.createParser(TreeReader.limit(inputStream, options))) {
+            return parse(parser, options);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Parses a payload of the provided format into a JSONObject instance.
+     *
+     * @param data     The correctly formatted payload to parse
+     * @param fileType The format of the payload
+     * @return A JSONObject instance for the provided payload
+     * @throws ParsingException If the provided payload is incorrectly formatted
+     */
+    @NotNull
+    public static JSONObject fromBytes(@NotNull byte[] data, @NotNull FileType fileType) {
+        return fromBytes(data, fileType, ThreadingMode.SYNCHRONIZED);
+    }
+
+    /**
+     * Parses a payload of the provided format into a JSONObject instance.
+     *
+     * @param data          The correctly formatted payload to parse
+     * @param fileType      The format of the payload
+     * @param threadingMode How concurrent access to the resulting instance is guarded
+     * @return A JSONObject instance for the provided payload
+     * @throws ParsingException If the provided payload is incorrectly formatted
+     */
+    @NotNull
+    public static JSONObject fromBytes(@NotNull byte[] data, @NotNull FileType fileType, @NotNull ThreadingMode threadingMode) {
         try {
-            Map<String, Object> map = mapper.readValue(stream, mapType);
-            return new JSONObject(map);
+            Map<String, Object> map = JSONCodecs.get(fileType).mapReader(threadingMode).readValue(data);
+            return new JSONObject(map, threadingMode);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Parses a payload of the provided format into a JSONObject instance.
+     *
+     * @param data     The correctly formatted payload to parse
+     * @param fileType The format of the payload
+     * @param options  The options which decide how the payload is stored
+     * @return A JSONObject instance for the provided payload
+     * @throws ParsingException If the provided payload is incorrectly formatted or exceeds one of the limits of the options
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONObject fromBytes(@NotNull byte[] data, @NotNull FileType fileType, @NotNull ParseOptions options) {
+        TreeReader.checkSize(data.length, options);
+        try (JsonParser parser = JSONCodecs.get(fileType).factory.createParser(data)) {
+            return parse(parser, options);
         } catch (IOException ex) {
             throw new ParsingException(ex);
         }
@@ -214,8 +464,12 @@ public class JSONObject implements SerializableData {
      * @throws ParsingException If the type is incorrect or no value is present for the specified key
      */
     @NotNull
+    @SuppressWarnings("unchecked")
     public JSONObject getObject(@NotNull String key) {
-        return optObject(key).orElseThrow(() -> valueError(key, "JSONObject"));
+        Map<String, Object> child = get(Map.class, key);
+        if (child == null)
+            throw valueError(key, "JSONObject");
+        return new JSONObject(child, threadingMode);
     }
 
     /**
@@ -234,7 +488,7 @@ public class JSONObject implements SerializableData {
         } catch (ClassCastException ex) {
             log.error("Unable to extract child data", ex);
         }
-        return child == null ? Optional.empty() : Optional.of(new JSONObject(child));
+        return child == null ? Optional.empty() : Optional.of(new JSONObject(child, threadingMode));
     }
 
     /**
@@ -245,8 +499,12 @@ public class JSONObject implements SerializableData {
      * @throws ParsingException If the type is incorrect or no value is present for the specified key
      */
     @NotNull
+    @SuppressWarnings("unchecked")
     public JSONArray getArray(@NotNull String key) {
-        return optArray(key).orElseThrow(() -> valueError(key, "JSONArray"));
+        List<Object> child = get(List.class, key);
+        if (child == null)
+            throw valueError(key, "JSONArray");
+        return new JSONArray(child, threadingMode);
     }
 
     /**
@@ -265,7 +523,7 @@ public class JSONObject implements SerializableData {
         } catch (ClassCastException ex) {
             log.error("Unable to extract child data", ex);
         }
-        return child == null ? Optional.empty() : Optional.of(new JSONArray(child));
+        return child == null ? Optional.empty() : Optional.of(new JSONArray(child, threadingMode));
     }
 
     /**
@@ -343,8 +601,8 @@ public class JSONObject implements SerializableData {
      * @throws ParsingException If the value is of the wrong type
      */
     public boolean getBoolean(@NotNull String key, boolean defaultValue) {
-        Boolean value = get(Boolean.class, key, Boolean::parseBoolean, null);
-        return value == null ? defaultValue : value;
+        Object value = data.get(key);
+        return value == null ? defaultValue : toBoolean(key, value);
     }
 
     /**
@@ -355,10 +613,10 @@ public class JSONObject implements SerializableData {
      * @throws ParsingException If the value is missing, null, or of the wrong type
      */
     public long getLong(@NotNull String key) {
-        Long value = get(Long.class, key, MiscUtil::parseLong, Number::longValue);
+        Object value = data.get(key);
         if (value == null)
             throw valueError(key, "long");
-        return value;
+        return toLong(key, value, MiscUtil::parseLong);
     }
 
     /**
@@ -370,8 +628,8 @@ public class JSONObject implements SerializableData {
      * @throws ParsingException If the value is of the wrong type
      */
     public long getLong(@NotNull String key, long defaultValue) {
-        Long value = get(Long.class, key, Long::parseLong, Number::longValue);
-        return value == null ? defaultValue : value;
+        Object value = data.get(key);
+        return value == null ? defaultValue : toLong(key, value, Long::parseLong);
     }
 
     /**
@@ -382,10 +640,10 @@ public class JSONObject implements SerializableData {
      * @throws ParsingException If the value is missing, null, or of the wrong type
      */
     public long getUnsignedLong(@NotNull String key) {
-        Long value = get(Long.class, key, Long::parseUnsignedLong, Number::longValue);
+        Object value = data.get(key);
         if (value == null)
             throw valueError(key, "unsigned long");
-        return value;
+        return toLong(key, value, Long::parseUnsignedLong);
     }
 
     /**
@@ -397,8 +655,8 @@ public class JSONObject implements SerializableData {
      * @throws ParsingException If the value is of the wrong type
      */
     public long getUnsignedLong(@NotNull String key, long defaultValue) {
-        Long value = get(Long.class, key, Long::parseUnsignedLong, Number::longValue);
-        return value == null ? defaultValue : value;
+        Object value = data.get(key);
+        return value == null ? defaultValue : toLong(key, value, Long::parseUnsignedLong);
     }
 
     /**
@@ -409,10 +667,10 @@ public class JSONObject implements SerializableData {
      * @throws ParsingException If the value is missing, null, or of the wrong type
      */
     public int getInt(@NotNull String key) {
-        Integer value = get(Integer.class, key, Integer::parseInt, Number::intValue);
+        Object value = data.get(key);
         if (value == null)
             throw valueError(key, "int");
-        return value;
+        return toInt(key, value, Integer::parseInt);
     }
 
     /**
@@ -424,8 +682,8 @@ public class JSONObject implements SerializableData {
      * @throws ParsingException If the value is of the wrong type
      */
     public int getInt(@NotNull String key, int defaultValue) {
-        Integer value = get(Integer.class, key, Integer::parseInt, Number::intValue);
-        return value == null ? defaultValue : value;
+        Object value = data.get(key);
+        return value == null ? defaultValue : toInt(key, value, Integer::parseInt);
     }
 
     /**
@@ -436,10 +694,10 @@ public class JSONObject implements SerializableData {
      * @throws ParsingException If the value is missing, null, or of the wrong type
      */
     public int getUnsignedInt(@NotNull String key) {
-        Integer value = get(Integer.class, key, Integer::parseUnsignedInt, Number::intValue);
+        Object value = data.get(key);
         if (value == null)
             throw valueError(key, "unsigned int");
-        return value;
+        return toInt(key, value, Integer::parseUnsignedInt);
     }
 
     /**
@@ -451,8 +709,8 @@ public class JSONObject implements SerializableData {
      * @throws ParsingException If the value is of the wrong type
      */
     public int getUnsignedInt(@NotNull String key, int defaultValue) {
-        Integer value = get(Integer.class, key, Integer::parseUnsignedInt, Number::intValue);
-        return value == null ? defaultValue : value;
+        Object value = data.get(key);
+        return value == null ? defaultValue : toInt(key, value, Integer::parseUnsignedInt);
     }
 
     /**
@@ -463,10 +721,10 @@ public class JSONObject implements SerializableData {
      * @throws ParsingException If the value is missing, null, or of the wrong type
      */
     public double getDouble(@NotNull String key) {
-        Double value = get(Double.class, key, Double::parseDouble, Number::doubleValue);
+        Object value = data.get(key);
         if (value == null)
             throw valueError(key, "double");
-        return value;
+        return toDouble(key, value, Double::parseDouble);
     }
 
     /**
@@ -478,10 +736,240 @@ public class JSONObject implements SerializableData {
      * @throws ParsingException If the value is of the wrong type
      */
     public double getDouble(@NotNull String key, double defaultValue) {
-        Double value = get(Double.class, key, Double::parseDouble, Number::doubleValue);
+        Object value = data.get(key);
+        return value == null ? defaultValue : toDouble(key, value, Double::parseDouble);
+    }
+
+    /**
+     * Whether the value at the specified path is missing or null.
+     *
+     * @param path The path to check
+     * @return True, if the value at the path is null or missing
+     */
+    public boolean isNull(@NotNull JSONPath path) {
+        return path.resolve(data, 0) == null;
+    }
+
+    /**
+     * Resolves any type at the provided path, without creating wrappers for the intermediate objects and arrays.
+     *
+     * @param path The path to resolve
+     * @return {@link java.util.Optional} with a possible value
+     */
+    @NotNull
+    public Optional<Object> opt(@NotNull JSONPath path) {
+        return Optional.ofNullable(path.resolve(data, 0));
+    }
+
+    /**
+     * Resolves any type at the provided path.
+     *
+     * @param path The path to resolve
+     * @return The value of any type
+     * @throws ParsingException If the value is missing or null
+     * @see #opt(JSONPath)
+     */
+    @NotNull
+    public Object get(@NotNull JSONPath path) {
+        Object value = path.resolve(data, 0);
+        if (value == null)
+            throw valueError(path, "any");
+        return value;
+    }
+
+    /**
+     * Resolves a JSONObject at the provided path.
+     *
+     * @param path The path to resolve
+     * @return The resolved JSONObject
+     * @throws ParsingException If the type is incorrect or no value is present at the path
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public JSONObject getObject(@NotNull JSONPath path) {
+        Object value = path.resolve(data, 0);
+        if (!(value instanceof Map))
+            throw valueError(path, "JSONObject");
+        return new JSONObject((Map<String, Object>) value, threadingMode);
+    }
+
+    /**
+     * Resolves a JSONArray at the provided path.
+     *
+     * @param path The path to resolve
+     * @return The resolved JSONArray
+     * @throws ParsingException If the type is incorrect or no value is present at the path
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public JSONArray getArray(@NotNull JSONPath path) {
+        Object value = path.resolve(data, 0);
+        if (!(value instanceof List))
+            throw valueError(path, "JSONArray");
+        return new JSONArray((List<Object>) value, threadingMode);
+    }
+
+    /**
+     * Resolves a JSONObject at the provided path.
+     *
+     * @param path The path to resolve
+     * @return The resolved JSONObject, wrapped in {@link java.util.Optional}
+     * @throws ParsingException If the type is incorrect
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public Optional<JSONObject> optObject(@NotNull JSONPath path) {
+        Map<String, Object> child = get(Map.class, path, null, null);
+        return child == null ? Optional.empty() : Optional.of(new JSONObject(child, threadingMode));
+    }
+
+    /**
+     * Resolves a JSONArray at the provided path.
+     *
+     * @param path The path to resolve
+     * @return The resolved JSONArray, wrapped in {@link java.util.Optional}
+     * @throws ParsingException If the type is incorrect
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public Optional<JSONArray> optArray(@NotNull JSONPath path) {
+        List<Object> child = get(List.class, path, null, null);
+        return child == null ? Optional.empty() : Optional.of(new JSONArray(child, threadingMode));
+    }
+
+    /**
+     * Resolves a {@link java.lang.String} at the provided path.
+     *
+     * @param path The path to resolve
+     * @return The String value
+     * @throws ParsingException If the value is missing or null
+     */
+    @NotNull
+    public String getString(@NotNull JSONPath path) {
+        String value = getString(path, null);
+        if (value == null)
+            throw valueError(path, "String");
+        return value;
+    }
+
+    /**
+     * Resolves a {@link java.lang.String} at the provided path.
+     *
+     * @param path         The path to resolve
+     * @param defaultValue Alternative value to use when the value is missing or null
+     * @return The String value, or null if provided with null defaultValue
+     */
+    @Contract("_, !null -> !null")
+    public String getString(@NotNull JSONPath path, @Nullable String defaultValue) {
+        String value = get(String.class, path, UnaryOperator.identity(), String::valueOf);
         return value == null ? defaultValue : value;
     }
 
+    /**
+     * Resolves a boolean at the provided path.
+     *
+     * @param path The path to resolve
+     * @return True, if the value is present and set to true. False if the value is missing or set to false.
+     * @throws ParsingException If the value is of the wrong type
+     */
+    public boolean getBoolean(@NotNull JSONPath path) {
+        return getBoolean(path, false);
+    }
+
+    /**
+     * Resolves a boolean at the provided path.
+     *
+     * @param path         The path to resolve
+     * @param defaultValue Alternative value to use when the value is missing or null
+     * @return True, if the value is present and set to true. False if the value is set to false. defaultValue if it is missing.
+     * @throws ParsingException If the value is of the wrong type
+     */
+    public boolean getBoolean(@NotNull JSONPath path, boolean defaultValue) {
+        Object value = path.resolve(data, 0);
+        return value == null ? defaultValue : toBoolean(path.toString(), value);
+    }
+
+    /**
+     * Resolves a long at the provided path.
+     *
+     * @param path The path to resolve
+     * @return The long value
+     * @throws ParsingException If the value is missing, null, or of the wrong type
+     */
+    public long getLong(@NotNull JSONPath path) {
+        Object value = path.resolve(data, 0);
+        if (value == null)
+            throw valueError(path, "long");
+        return toLong(path.toString(), value, MiscUtil::parseLong);
+    }
+
+    /**
+     * Resolves a long at the provided path.
+     *
+     * @param path         The path to resolve
+     * @param defaultValue Alternative value to use when the value is missing or null
+     * @return The long value
+     * @throws ParsingException If the value is of the wrong type
+     */
+    public long getLong(@NotNull JSONPath path, long defaultValue) {
+        Object value = path.resolve(data, 0);
+        return value == null ? defaultValue : toLong(path.toString(), value, Long::parseLong);
+    }
+
+    /**
+     * Resolves an int at the provided path.
+     *
+     * @param path The path to resolve
+     * @return The int value
+     * @throws ParsingException If the value is missing, null, or of the wrong type
+     */
+    public int getInt(@NotNull JSONPath path) {
+        Object value = path.resolve(data, 0);
+        if (value == null)
+            throw valueError(path, "int");
+        return toInt(path.toString(), value, Integer::parseInt);
+    }
+
+    /**
+     * Resolves an int at the provided path.
+     *
+     * @param path         The path to resolve
+     * @param defaultValue Alternative value to use when the value is missing or null
+     * @return The int value
+     * @throws ParsingException If the value is of the wrong type
+     */
+    public int getInt(@NotNull JSONPath path, int defaultValue) {
+        Object value = path.resolve(data, 0);
+        return value == null ? defaultValue : toInt(path.toString(), value, Integer::parseInt);
+    }
+
+    /**
+     * Resolves a double at the provided path.
+     *
+     * @param path The path to resolve
+     * @return The double value
+     * @throws ParsingException If the value is missing, null, or of the wrong type
+     */
+    public double getDouble(@NotNull JSONPath path) {
+        Object value = path.resolve(data, 0);
+        if (value == null)
+            throw valueError(path, "double");
+        return toDouble(path.toString(), value, Double::parseDouble);
+    }
+
+    /**
+     * Resolves a double at the provided path.
+     *
+     * @param path         The path to resolve
+     * @param defaultValue Alternative value to use when the value is missing or null
+     * @return The double value
+     * @throws ParsingException If the value is of the wrong type
+     */
+    public double getDouble(@NotNull JSONPath path, double defaultValue) {
+        Object value = path.resolve(data, 0);
+        return value == null ? defaultValue : toDouble(path.toString(), value, Double::parseDouble);
+    }
+
     /**
      * Removes the value associated with the specified key.
      * If no value is associated with the key, this does nothing.
@@ -509,6 +997,7 @@ public class JSONObject implements SerializableData {
 
     /**
      * Upserts a new value for the provided key.
+     * {@link BoundData} is bound straight into the stored representation, without building a JSONObject first.
      *
      * @param key   The key to upsert
      * @param value The new value
@@ -516,7 +1005,9 @@ public class JSONObject implements SerializableData {
      */
     @NotNull
     public JSONObject put(@NotNull String key, @Nullable Object value) {
-        if (value instanceof SerializableData)
+        if (value instanceof BoundData)
+            data.put(key, JSONBinding.tree(value, threadingMode));
+        else if (value instanceof SerializableData)
             data.put(key, ((SerializableData) value).toData().data);
         else if (value instanceof SerializableArray)
             data.put(key, ((SerializableArray) value).toJSONArray().data);
@@ -525,6 +1016,28 @@ public class JSONObject implements SerializableData {
         return this;
     }
 
+    /**
+     * Stores the provided {@link SerializableData} or {@link SerializableArray} as it is,
+     * and only serializes it once this object is written, for example by {@link #toJson()} or {@link #writeTo(OutputStream)}.
+     * {@link BoundData} is streamed straight to the output, without ever building a tree.
+     *
+     * <p>Nothing is materialized for values which are never written, such as parts of a response which is discarded.
+     * The value is serialized every time this object is written, and reflects its state at that moment.
+     *
+     * <p>Until then, the entry is the value itself: {@link #get(String)} returns it,
+     * {@link #getObject(String)} and {@link #getArray(String)} return a detached copy of its data,
+     * and copies, diffs and equality compare the reference rather than its data. {@link #freeze()} materializes it.
+     *
+     * @param key   The key to upsert
+     * @param value The value to serialize on demand
+     * @return A JSONObject with the updated value
+     */
+    @NotNull
+    public JSONObject putLazy(@NotNull String key, @NotNull JSONProperty value) {
+        data.put(key, Objects.requireNonNull(value));
+        return this;
+    }
+
     /**
      * {@link java.util.Collection} of all values in this JSONObject.
      *
@@ -545,6 +1058,36 @@ public class JSONObject implements SerializableData {
         return data.keySet();
     }
 
+    /**
+     * Creates a deeply immutable snapshot of this object.
+     *
+     * <p>The snapshot is stored in a compact open-addressed table instead of a {@link HashMap}
+     * and is read without any locking. All mutators, including those of nested objects and arrays, throw
+     * {@link UnsupportedOperationException}. Frozen children are shared with the snapshot instead of being copied.
+     *
+     * <p>In {@link ThreadingMode#CONCURRENT} mode, keys written while the snapshot is taken may or may not be included.
+     *
+     * @return The frozen snapshot, or this instance if it is frozen already
+     * @see ParseOptions#withFrozen(boolean)
+     */
+    @NotNull
+    public JSONObject freeze() {
+        if (isFrozen())
+            return this;
+        synchronized (data) {
+            return new JSONObject(Frozen.freezeMap(data), ThreadingMode.UNSYNCHRONIZED);
+        }
+    }
+
+    /**
+     * Whether this object is immutable.
+     *
+     * @return True, if this object was created by {@link #freeze()} or parsed with {@link ParseOptions#withFrozen(boolean)}
+     */
+    public boolean isFrozen() {
+        return Frozen.isFrozen(data);
+    }
+
     /**
      * Serialize this object as JSON.
      *
@@ -553,18 +1096,326 @@ public class JSONObject implements SerializableData {
     @NotNull
     public byte[] toJson() {
         try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            mapper.writeValue(outputStream, data);
-            return outputStream.toByteArray();
+            return JSONCodecs.get(FileType.JSON).writer.writeValueAsBytes(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Serializes this object in the provided format.
+     *
+     * @param fileType The format to serialize to
+     * @return byte array containing the representation of this object, UTF-8 encoded for text formats
+     */
+    @NotNull
+    public byte[] toBytes(@NotNull FileType fileType) {
+        try {
+            return JSONCodecs.get(fileType).writer.writeValueAsBytes(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Serializes this object as JSON directly to the provided stream, without intermediate buffers.
+     * The stream is flushed but not closed.
+     *
+     * @param stream The target stream
+     * @throws java.io.UncheckedIOException If an I/O error occurred
+     */
+    public void writeTo(@NotNull OutputStream stream) {
+        try {
+            JSONCodecs.get(FileType.JSON).writer.writeValue(stream, data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Serializes this object in the provided format directly to the provided stream, without intermediate buffers.
+     * The stream is flushed but not closed.
+     *
+     * @param stream   The target stream
+     * @param fileType The format to serialize to
+     * @throws java.io.UncheckedIOException If an I/O error occurred
+     */
+    public void writeTo(@NotNull OutputStream stream, @NotNull FileType fileType) {
+        try {
+            JSONCodecs.get(fileType).writer.writeValue(stream, data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Serializes this object as JSON directly to the provided writer, without intermediate buffers.
+     * The writer is flushed but not closed.
+     *
+     * @param writer The target writer
+     * @throws java.io.UncheckedIOException If an I/O error occurred
+     */
+    public void writeTo(@NotNull Writer writer) {
+        try {
+            JSONCodecs.get(FileType.JSON).writer.writeValue(writer, data);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
+    /**
+     * Serializes this object as UTF-8 encoded JSON directly to the provided channel, without intermediate buffers.
+     * The channel is not closed.
+     *
+     * @param channel The target channel
+     * @throws java.io.UncheckedIOException If an I/O error occurred
+     */
+    public void writeTo(@NotNull WritableByteChannel channel) {
+        writeTo(Channels.newOutputStream(channel));
+    }
+
+    /**
+     * Creates an independent copy of this object, including all nested objects and arrays.
+     * Values keep their exact types, and primitive numeric arrays keep their primitive storage.
+     *
+     * <p>The copy is mutable and uses the same {@link ThreadingMode}, unless this object is frozen or persistent,
+     * in which case the copy is {@link ThreadingMode#UNSYNCHRONIZED}.
+     * Arbitrarily deep objects are copied without recursion.
+     * In {@link ThreadingMode#CONCURRENT} mode, the copy reflects concurrent writes only partially.
+     *
+     * @return The copy
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public JSONObject deepCopy() {
+        synchronized (data) {
+            return new JSONObject((Map<String, Object>) TreeUtil.deepCopy(data, threadingMode), threadingMode);
+        }
+    }
+
+    /**
+     * Copies the data of this object into new, unguarded maps and lists of the provided mode.
+     *
+     * @param threadingMode The mode whose map implementation is used for the copies
+     * @return The copied map
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    Map<String, Object> copyData(@NotNull ThreadingMode threadingMode) {
+        synchronized (data) {
+            return (Map<String, Object>) TreeUtil.deepCopy(data, threadingMode);
+        }
+    }
+
+    /**
+     * Computes the JSON Patch (RFC 6902) which transforms this object into the provided object.
+     *
+     * <p>Subtrees which are the same instance in both objects, such as the shared children of
+     * {@link #freeze() frozen} or {@link PersistentJSONObject persistent} versions, are skipped without being walked.
+     * Arrays are compared after removing their common prefix and suffix,
+     * so inserting or removing a single element produces a single operation.
+     *
+     * <p>Both objects are locked while they are compared, except objects in {@link ThreadingMode#CONCURRENT} mode,
+     * which are compared while other threads may write to them.
+     *
+     * @param other The target object
+     * @return The patch, which is empty if both objects are equal
+     */
+    @NotNull
+    public JSONPatch diff(@NotNull JSONObject other) {
+        return TreeUtil.lockBoth(data, other.data, () -> JSONPatch.diff(data, other.data));
+    }
+
+    /**
+     * Applies the provided JSON Patch (RFC 6902) to this object, in place.
+     *
+     * <p>The operations are applied in order while holding the lock of this object.
+     * If an operation fails, the operations before it remain applied.
+     * Use {@link #applyCopy(JSONPatch)} to leave this object untouched on failure.
+     * In {@link ThreadingMode#CONCURRENT} mode the lock doesn't exclude other writers,
+     * and readers can observe the patch, including the replacement of the whole object, half applied.
+     *
+     * @param patch The patch to apply
+     * @return This JSONObject
+     * @throws ParsingException              If an operation can't be applied, or a test operation fails
+     * @throws UnsupportedOperationException If this object is frozen or persistent
+     */
+    @NotNull
+    public JSONObject apply(@NotNull JSONPatch patch) {
+        synchronized (data) {
+            Object root = patch.applyTo(data, threadingMode);
+            if (root != data) {
+                if (!(root instanceof Map))
+                    throw new ParsingException("Cannot replace an object with " + (root == null ? "null" : root.getClass().getSimpleName()));
+                @SuppressWarnings("unchecked")
+                Map<String, Object> replacement = (Map<String, Object>) root;
+                data.clear();
+                data.putAll(replacement);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Applies the provided JSON Patch (RFC 6902) to a {@link #deepCopy() copy} of this object.
+     *
+     * @param patch The patch to apply
+     * @return The patched copy
+     * @throws ParsingException If an operation can't be applied, or a test operation fails
+     */
+    @NotNull
+    public JSONObject applyCopy(@NotNull JSONPatch patch) {
+        return deepCopy().apply(patch);
+    }
+
+    /**
+     * Deep merges the provided object into this object, replacing arrays.
+     *
+     * @param other The object whose values take precedence
+     * @return This JSONObject
+     * @see #merge(JSONObject, ArrayMergeStrategy)
+     */
+    @NotNull
+    public JSONObject merge(@NotNull JSONObject other) {
+        return merge(other, ArrayMergeStrategy.REPLACE);
+    }
+
+    /**
+     * Deep merges the provided object into this object, in place.
+     * Nested objects are merged recursively, arrays are combined according to the provided strategy,
+     * and all other values of the provided object replace the existing values, including null.
+     *
+     * <p>Only the keys present in the provided object are visited, so layering overrides onto a large base costs
+     * as much as the overrides themselves. Values taken from the provided object are copied, unless they are frozen.
+     * {@link #freeze() Frozen} subtrees of this object are copied only along the paths which are modified.
+     * In {@link ThreadingMode#CONCURRENT} mode, neither object is locked and readers observe the merge one key at a time.
+     *
+     * <pre>{@code
+     * JSONObject config = JSONObject.empty()
+     *         .merge(defaults)
+     *         .merge(region)
+     *         .merge(host, ArrayMergeStrategy.byKey("name"));
+     * }</pre>
+     *
+     * @param other  The object whose values take precedence
+     * @param arrays How arrays present in both objects are combined
+     * @return This JSONObject
+     * @throws UnsupportedOperationException If this object is frozen or persistent
+     */
+    @NotNull
+    public JSONObject merge(@NotNull JSONObject other, @NotNull ArrayMergeStrategy arrays) {
+        // Both locks are held, so the source can't change while it is merged and the merge can't deadlock against
+        // the reverse merge. Merging an object into itself merges a copy.
+        TreeUtil.lockBoth(data, other.data, () -> {
+            TreeMerger.merge(data, other.data == data ? (Map<?, ?>) TreeUtil.deepCopy(data, ThreadingMode.UNSYNCHRONIZED) : other.data, arrays, threadingMode);
+            return null;
+        });
+        return this;
+    }
+
+    /**
+     * Applies the provided JSON Merge Patch (RFC 7386) to this object, in place.
+     *
+     * <p>Null values remove the key, nested objects are applied recursively,
+     * and all other values of the patch replace the existing values. Arrays are always replaced.
+     * In {@link ThreadingMode#CONCURRENT} mode, neither object is locked and readers observe the patch one key at a time.
+     *
+     * @param patch The merge patch
+     * @return This JSONObject
+     * @throws UnsupportedOperationException If this object is frozen or persistent
+     * @see #merge(JSONObject, ArrayMergeStrategy)
+     */
+    @NotNull
+    public JSONObject mergePatch(@NotNull JSONObject patch) {
+        TreeUtil.lockBoth(data, patch.data, () -> {
+            TreeMerger.mergePatch(data, patch.data == data ? (Map<?, ?>) TreeUtil.deepCopy(data, ThreadingMode.UNSYNCHRONIZED) : patch.data, threadingMode);
+            return null;
+        });
+        return this;
+    }
+
+    /**
+     * Computes a 64 bit fingerprint of the content of this object, without serializing it.
+     *
+     * <p>Equal objects always have equal fingerprints, regardless of the order of their keys.
+     * The fingerprint only depends on the content, so it is stable across processes and can be used as a dedup key.
+     * It is not a cryptographic hash.
+     *
+     * @return The fingerprint
+     * @see #fingerprint128()
+     */
+    public long fingerprint() {
+        synchronized (data) {
+            return TreeUtil.fingerprint64(data);
+        }
+    }
+
+    /**
+     * Computes a 128 bit fingerprint of the content of this object, without serializing it.
+     * The fingerprint is wrapped in a {@link UUID}, which can be used as a map key.
+     * In {@link ThreadingMode#CONCURRENT} mode, concurrent writes can produce a fingerprint of a state which never existed.
+     *
+     * @return The fingerprint
+     * @see #fingerprint()
+     */
+    @NotNull
+    public UUID fingerprint128() {
+        synchronized (data) {
+            return TreeUtil.fingerprint(data);
+        }
+    }
+
+    /**
+     * Compares the content of this object with the provided object, including all nested values.
+     *
+     * <p>Integral numbers are equal if their values are equal, regardless of their types,
+     * so {@code 1} parsed as an {@link Integer} equals {@code 1L}. They never equal floating point numbers.
+     * Objects in {@link ThreadingMode#CONCURRENT} mode are not locked, concurrent writes may be seen partially.
+     *
+     * @param obj The object to compare with
+     * @return True, if both have equal content
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof JSONObject))
+            return false;
+        JSONObject other = (JSONObject) obj;
+        return TreeUtil.lockBoth(data, other.data, () -> TreeUtil.deepEquals(data, other.data));
+    }
+
+    /**
+     * Hash code of the content of this object, consistent with {@link #equals(Object)}.
+     *
+     * <p>The hash code is not cached, every call walks the whole object like {@link #fingerprint()}.
+     * Prefer keys which are cheaper to hash, or the fingerprint itself, when large objects are looked up repeatedly.
+     *
+     * @return The hash code
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
     @Override
     public String toString() {
         try {
-            return mapper.writeValueAsString(data);
+            return JSONCodecs.get(FileType.JSON).writer.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new ParsingException(e);
+        }
+    }
+
+    /**
+     * Serializes this object as a YAML document.
+     *
+     * @return The YAML representation of this object
+     */
+    @NotNull
+    public String toYaml() {
+        try {
+            return JSONCodecs.get(FileType.YAML).writer.writeValueAsString(data);
         } catch (JsonProcessingException e) {
             throw new ParsingException(e);
         }
@@ -572,11 +1423,8 @@ public class JSONObject implements SerializableData {
 
     @NotNull
     public String toPrettyString() {
-        DefaultPrettyPrinter.Indenter indent = new DefaultIndenter("    ", DefaultIndenter.SYS_LF);
-        DefaultPrettyPrinter printer = new DefaultPrettyPrinter();
-        printer.withObjectIndenter(indent).withArrayIndenter(indent);
         try {
-            return mapper.writer(printer).writeValueAsString(data);
+            return JSONCodecs.get(FileType.JSON).prettyWriter.writeValueAsString(data);
         } catch (JsonProcessingException e) {
             throw new ParsingException(e);
         }
@@ -602,6 +1450,10 @@ public class JSONObject implements SerializableData {
         return new ParsingException("Unable to resolve value with key " + key + " to type " + expectedType + ": " + data.get(key));
     }
 
+    private ParsingException valueError(JSONPath path, String expectedType) {
+        return new ParsingException("Unable to resolve value at path " + path + " to type " + expectedType + ": " + path.resolve(data, 0));
+    }
+
     @Nullable
     private <T> T get(@NotNull Class<T> type, @NotNull String key) {
         return get(type, key, null, null);
@@ -609,11 +1461,26 @@ public class JSONObject implements SerializableData {
 
     @Nullable
     private <T> T get(@NotNull Class<T> type, @NotNull String key, @Nullable Function<String, T> stringParse, @Nullable Function<Number, T> numberParse) {
-        Object value = data.get(key);
+        return coerce(type, key, data.get(key), threadingMode, stringParse, numberParse);
+    }
+
+    @Nullable
+    private <T> T get(@NotNull Class<T> type, @NotNull JSONPath path, @Nullable Function<String, T> stringParse, @Nullable Function<Number, T> numberParse) {
+        return coerce(type, path.toString(), path.resolve(data, 0), threadingMode, stringParse, numberParse);
+    }
+
+    @Nullable
+    private static <T> T coerce(@NotNull Class<T> type, @NotNull String location, @Nullable Object value, @NotNull ThreadingMode threadingMode, @Nullable Function<String, T> stringParse, @Nullable Function<Number, T> numberParse) {
         if (value == null)
             return null;
         if (type.isInstance(value))
             return type.cast(value);
+        // lazy values are materialized into a detached copy when they are read as an object or array
+        if (value instanceof JSONProperty && (type == Map.class || type == List.class)) {
+            Object tree = JSONBinding.tree(value, threadingMode);
+            if (type.isInstance(tree))
+                return type.cast(tree);
+        }
         if (type == String.class)
             return type.cast(value.toString());
         // attempt type coercion
@@ -622,18 +1489,49 @@ public class JSONObject implements SerializableData {
         else if (value instanceof String && stringParse != null)
             return stringParse.apply((String) value);
 
-        throw new ParsingException(String.format(Locale.ROOT, "Cannot parse value for %s into type %s: %s instance of %s",
-                key, type.getSimpleName(), value, value.getClass().getSimpleName()));
+        throw typeError(location, type, value);
     }
 
-    private ObjectMapper getMapper(FileType fileType) {
-        switch(fileType) {
-            case JSON:
-                return mapper;
-            case YAML:
-                return ymlMapper;
-            default:
-                throw new IllegalArgumentException("Unsupported Type");
-        }
+    private static long toLong(@NotNull String location, @NotNull Object value, @NotNull ToLongFunction<String> stringParse) {
+        if (value instanceof Number)
+            return ((Number) value).longValue();
+        if (value instanceof String)
+            return stringParse.applyAsLong((String) value);
+        throw typeError(location, Long.class, value);
+    }
+
+    private static int toInt(@NotNull String location, @NotNull Object value, @NotNull ToIntFunction<String> stringParse) {
+        if (value instanceof Number)
+            return ((Number) value).intValue();
+        if (value instanceof String)
+            return stringParse.applyAsInt((String) value);
+        throw typeError(location, Integer.class, value);
+    }
+
+    private static double toDouble(@NotNull String location, @NotNull Object value, @NotNull ToDoubleFunction<String> stringParse) {
+        if (value instanceof Number)
+            return ((Number) value).doubleValue();
+        if (value instanceof String)
+            return stringParse.applyAsDouble((String) value);
+        throw typeError(location, Double.class, value);
+    }
+
+    private static boolean toBoolean(@NotNull String location, @NotNull Object value) {
+        if (value instanceof Boolean)
+            return (Boolean) value;
+        if (value instanceof String)
+            return Boolean.parseBoolean((String) value);
+        throw typeError(location, Boolean.class, value);
+    }
+
+    private static ParsingException typeError(String location, Class<?> type, Object value) {
+        return new ParsingException(String.format(Locale.ROOT, "Cannot parse value for %s into type %s: %s instance of %s",
+                location, type.getSimpleName(), value, value.getClass().getSimpleName()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JSONObject parse(JsonParser parser, ParseOptions options) throws IOException {
+        Map<String, Object> map = (Map<String, Object>) TreeReader.readRoot(parser, options, JsonToken.START_OBJECT);
+        return new JSONObject(map, options.isFrozen() ? ThreadingMode.UNSYNCHRONIZED : options.getThreadingMode());
     }
 }
@@ -0,0 +1,573 @@
+package at.xirado.simplejson;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Sequence of operations which transform one JSON document into another, as specified by RFC 6902.
+ *
+ * <pre>{@code
+ * JSONPatch patch = previous.diff(current);
+ * byte[] delta = patch.toJSONArray().toJson();
+ * // on the receiving side
+ * replica.apply(JSONPatch.fromJson(delta));
+ * }</pre>
+ *
+ * <p>Paths are JSON Pointers (RFC 6901), such as {@code /items/0/name}. Dotted paths are not accepted.
+ * Operations which can't be applied, such as removing a missing key or a failed {@link Op#TEST test},
+ * throw a {@link ParsingException}.
+ *
+ * <p>This class is immutable and Thread-Safe.
+ */
+public final class JSONPatch implements SerializableArray, Iterable<JSONPatch.Operation> {
+    private static final JSONPatch EMPTY = new JSONPatch(Collections.emptyList());
+
+    private final List<Operation> operations;
+
+    private JSONPatch(List<Operation> operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * Creates a patch from the provided operations.
+     *
+     * @param operations The operations, in the order they are applied
+     * @return The patch
+     */
+    @NotNull
+    public static JSONPatch of(@NotNull Operation... operations) {
+        return of(Arrays.asList(operations));
+    }
+
+    /**
+     * Creates a patch from the provided operations.
+     *
+     * @param operations The operations, in the order they are applied
+     * @return The patch
+     */
+    @NotNull
+    public static JSONPatch of(@NotNull List<Operation> operations) {
+        return operations.isEmpty() ? EMPTY : new JSONPatch(Collections.unmodifiableList(new ArrayList<>(operations)));
+    }
+
+    /**
+     * Parses a JSON Patch document.
+     *
+     * @param json The JSON array of operations
+     * @return The patch
+     * @throws ParsingException If the document is incorrectly formatted or contains invalid operations
+     */
+    @NotNull
+    public static JSONPatch fromJson(@NotNull byte[] json) {
+        return fromJSONArray(JSONArray.fromJson(new String(json, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Parses a JSON Patch document.
+     *
+     * @param json The JSON array of operations
+     * @return The patch
+     * @throws ParsingException If the document is incorrectly formatted or contains invalid operations
+     */
+    @NotNull
+    public static JSONPatch fromJson(@NotNull String json) {
+        return fromJSONArray(JSONArray.fromJson(json));
+    }
+
+    /**
+     * Reads a JSON Patch document from an already parsed array.
+     *
+     * @param array The array of operations
+     * @return The patch
+     * @throws ParsingException If the array contains invalid operations
+     */
+    @NotNull
+    public static JSONPatch fromJSONArray(@NotNull JSONArray array) {
+        List<Operation> operations = new ArrayList<>(array.length());
+        for (int i = 0; i < array.length(); i++) {
+            JSONObject operation = array.getObject(i);
+            Op op = Op.fromName(operation.getString("op"));
+            String path = operation.getString("path");
+            String from = op == Op.MOVE || op == Op.COPY ? operation.getString("from") : null;
+            if (!isPointer(path) || from != null && !isPointer(from))
+                throw new ParsingException("Invalid JSON Pointer in " + op.getName() + " operation at " + path);
+            if ((op == Op.ADD || op == Op.REPLACE || op == Op.TEST) && !operation.hasKey("value"))
+                throw new ParsingException("Missing value for " + op.getName() + " operation at " + path);
+            operations.add(new Operation(op, path, from, operation.toMap().get("value")));
+        }
+        return of(operations);
+    }
+
+    /**
+     * The operations of this patch, in the order they are applied.
+     *
+     * @return Unmodifiable list of operations
+     */
+    @NotNull
+    public List<Operation> getOperations() {
+        return operations;
+    }
+
+    /**
+     * The amount of operations in this patch.
+     *
+     * @return The amount of operations
+     */
+    public int size() {
+        return operations.size();
+    }
+
+    /**
+     * Whether this patch has no operations, which means the compared documents are equal.
+     *
+     * @return True, if this patch is empty
+     */
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    @NotNull
+    @Override
+    public Iterator<Operation> iterator() {
+        return operations.iterator();
+    }
+
+    /**
+     * Converts this patch to its JSON representation, an array of operation objects.
+     *
+     * @return A new JSONArray
+     */
+    @NotNull
+    @Override
+    public JSONArray toJSONArray() {
+        JSONArray array = JSONArray.empty(ThreadingMode.UNSYNCHRONIZED);
+        for (Operation operation : operations) {
+            JSONObject object = JSONObject.empty(ThreadingMode.UNSYNCHRONIZED)
+                    .put("op", operation.op.getName())
+                    .put("path", operation.path);
+            if (operation.from != null)
+                object.put("from", operation.from);
+            if (operation.op == Op.ADD || operation.op == Op.REPLACE || operation.op == Op.TEST)
+                object.put("value", operation.value);
+            array.add(object);
+        }
+        return array;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof JSONPatch && operations.equals(((JSONPatch) obj).operations);
+    }
+
+    @Override
+    public int hashCode() {
+        return operations.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toJSONArray().toString();
+    }
+
+    /**
+     * Computes the operations which transform the source tree into the target tree.
+     * Values in the patch are copies, later modifications of the target don't affect it.
+     */
+    @NotNull
+    static JSONPatch diff(@NotNull Object source, @NotNull Object target) {
+        List<Operation> operations = new ArrayList<>();
+        diff(source, target, new StringBuilder(), operations);
+        return of(operations);
+    }
+
+    private static void diff(Object source, Object target, StringBuilder path, List<Operation> operations) {
+        // Shared subtrees, for example of frozen or persistent documents, are skipped without being walked
+        if (source == target)
+            return;
+        if (source instanceof Map && target instanceof Map)
+            diffMaps((Map<?, ?>) source, (Map<?, ?>) target, path, operations);
+        else if (source instanceof List && target instanceof List)
+            diffLists((List<?>) source, (List<?>) target, path, operations);
+        else if (source instanceof Map || source instanceof List || target instanceof Map || target instanceof List
+                || !TreeUtil.valueEquals(source, target))
+            operations.add(new Operation(Op.REPLACE, path.toString(), null, copyValue(target, ThreadingMode.UNSYNCHRONIZED)));
+    }
+
+    private static void diffMaps(Map<?, ?> source, Map<?, ?> target, StringBuilder path, List<Operation> operations) {
+        int length = path.length();
+        for (Map.Entry<?, ?> entry : source.entrySet()) {
+            String key = String.valueOf(entry.getKey());
+            appendSegment(path, key);
+            if (!target.containsKey(key))
+                operations.add(new Operation(Op.REMOVE, path.toString(), null, null));
+            else
+                diff(entry.getValue(), target.get(key), path, operations);
+            path.setLength(length);
+        }
+        for (Map.Entry<?, ?> entry : target.entrySet()) {
+            String key = String.valueOf(entry.getKey());
+            if (!source.containsKey(key)) {
+                appendSegment(path, key);
+                operations.add(new Operation(Op.ADD, path.toString(), null, copyValue(entry.getValue(), ThreadingMode.UNSYNCHRONIZED)));
+                path.setLength(length);
+            }
+        }
+    }
+
+    private static void diffLists(List<?> source, List<?> target, StringBuilder path, List<Operation> operations) {
+        int length = path.length();
+        int sourceSize = source.size();
+        int targetSize = target.size();
+
+        // Only the range between the common prefix and the common suffix produces operations,
+        // so a single insertion or removal doesn't shift every following element
+        int start = 0;
+        while (start < sourceSize && start < targetSize && TreeUtil.deepEquals(source.get(start), target.get(start)))
+            start++;
+        int sourceEnd = sourceSize;
+        int targetEnd = targetSize;
+        while (sourceEnd > start && targetEnd > start && TreeUtil.deepEquals(source.get(sourceEnd - 1), target.get(targetEnd - 1))) {
+            sourceEnd--;
+            targetEnd--;
+        }
+
+        int common = Math.min(sourceEnd - start, targetEnd - start);
+        for (int i = 0; i < common; i++) {
+            appendSegment(path, Integer.toString(start + i));
+            diff(source.get(start + i), target.get(start + i), path, operations);
+            path.setLength(length);
+        }
+        int next = start + common;
+        for (int i = next; i < sourceEnd; i++) {
+            appendSegment(path, Integer.toString(next));
+            operations.add(new Operation(Op.REMOVE, path.toString(), null, null));
+            path.setLength(length);
+        }
+        for (int i = next; i < targetEnd; i++) {
+            appendSegment(path, i == targetSize - 1 ? "-" : Integer.toString(i));
+            operations.add(new Operation(Op.ADD, path.toString(), null, copyValue(target.get(i), ThreadingMode.UNSYNCHRONIZED)));
+            path.setLength(length);
+        }
+    }
+
+    private static void appendSegment(StringBuilder path, String key) {
+        path.append('/');
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c == '~')
+                path.append("~0");
+            else if (c == '/')
+                path.append("~1");
+            else
+                path.append(c);
+        }
+    }
+
+    private static Object copyValue(Object value, ThreadingMode threadingMode) {
+        return value instanceof Map || value instanceof List ? TreeUtil.deepCopy(value, threadingMode) : value;
+    }
+
+    /**
+     * Applies all operations to the provided tree, in order.
+     * The tree is modified in place, operations which replace the whole document return the new root instead.
+     *
+     * @param root          The map or list to modify
+     * @param threadingMode The mode whose map implementation is used for inserted objects
+     * @return The new root
+     */
+    @Nullable
+    Object applyTo(@NotNull Object root, @NotNull ThreadingMode threadingMode) {
+        for (Operation operation : operations)
+            root = operation.applyTo(root, threadingMode);
+        return root;
+    }
+
+    /**
+     * The operation types of RFC 6902.
+     */
+    public enum Op {
+        ADD("add"), REMOVE("remove"), REPLACE("replace"), MOVE("move"), COPY("copy"), TEST("test");
+
+        private final String name;
+
+        Op(String name) {
+            this.name = name;
+        }
+
+        /**
+         * The name used in the JSON representation, such as {@code add}.
+         *
+         * @return The name
+         */
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        @NotNull
+        static Op fromName(@NotNull String name) {
+            for (Op op : values()) {
+                if (op.name.equals(name))
+                    return op;
+            }
+            throw new ParsingException("Unknown patch operation " + name);
+        }
+    }
+
+    /**
+     * A single operation of a {@link JSONPatch}.
+     */
+    public static final class Operation {
+        private final Op op;
+        private final String path;
+        private final String from;
+        private final Object value;
+
+        private Operation(Op op, String path, String from, Object value) {
+            this.op = op;
+            this.path = path;
+            this.from = from;
+            this.value = value;
+        }
+
+        /**
+         * Adds a value, or inserts it into an array. The path {@code /items/-} appends to the array {@code items}.
+         */
+        @NotNull
+        public static Operation add(@NotNull String path, @Nullable Object value) {
+            return new Operation(Op.ADD, path, null, unwrap(value));
+        }
+
+        /**
+         * Removes the value at the path, which has to exist.
+         */
+        @NotNull
+        public static Operation remove(@NotNull String path) {
+            return new Operation(Op.REMOVE, path, null, null);
+        }
+
+        /**
+         * Replaces the value at the path, which has to exist.
+         */
+        @NotNull
+        public static Operation replace(@NotNull String path, @Nullable Object value) {
+            return new Operation(Op.REPLACE, path, null, unwrap(value));
+        }
+
+        /**
+         * Removes the value at {@code from} and adds it at {@code path}.
+         */
+        @NotNull
+        public static Operation move(@NotNull String from, @NotNull String path) {
+            return new Operation(Op.MOVE, path, from, null);
+        }
+
+        /**
+         * Adds a copy of the value at {@code from} at {@code path}.
+         */
+        @NotNull
+        public static Operation copy(@NotNull String from, @NotNull String path) {
+            return new Operation(Op.COPY, path, from, null);
+        }
+
+        /**
+         * Fails the patch unless the value at the path equals the provided value.
+         * Numbers are compared by their value, so {@code 1} equals {@code 1.0}.
+         */
+        @NotNull
+        public static Operation test(@NotNull String path, @Nullable Object value) {
+            return new Operation(Op.TEST, path, null, unwrap(value));
+        }
+
+        @NotNull
+        public Op getOp() {
+            return op;
+        }
+
+        @NotNull
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * The source path of {@link Op#MOVE move} and {@link Op#COPY copy} operations.
+         *
+         * @return The source path, or null for other operations
+         */
+        @Nullable
+        public String getFrom() {
+            return from;
+        }
+
+        /**
+         * The raw value of {@link Op#ADD add}, {@link Op#REPLACE replace} and {@link Op#TEST test} operations.
+         *
+         * @return The value, which is a {@link Map}, {@link List}, {@link String}, {@link Number}, {@link Boolean} or null
+         */
+        @Nullable
+        public Object getValue() {
+            return value;
+        }
+
+        private static Object unwrap(Object value) {
+            if (value instanceof SerializableData)
+                return copyValue(((SerializableData) value).toData().data, ThreadingMode.UNSYNCHRONIZED);
+            if (value instanceof SerializableArray)
+                return copyValue(((SerializableArray) value).toJSONArray().data, ThreadingMode.UNSYNCHRONIZED);
+            return copyValue(value, ThreadingMode.UNSYNCHRONIZED);
+        }
+
+        private Object applyTo(Object root, ThreadingMode threadingMode) {
+            JSONPath target = pointer(path);
+            switch (op) {
+                case ADD:
+                    return insert(root, target, copyValue(value, threadingMode));
+                case REMOVE:
+                    if (target.size() == 0)
+                        throw error("Cannot remove the whole document");
+                    delete(root, target);
+                    return root;
+                case REPLACE:
+                    if (target.size() == 0)
+                        return copyValue(value, threadingMode);
+                    delete(root, target);
+                    return insert(root, target, copyValue(value, threadingMode));
+                case MOVE: {
+                    if (path.equals(from))
+                        return root;
+                    if (path.startsWith(from + "/"))
+                        throw error("Cannot move a value into one of its own children");
+                    JSONPath source = pointer(from);
+                    if (source.size() == 0)
+                        throw error("Cannot move the whole document");
+                    return insert(root, target, delete(root, source));
+                }
+                case COPY:
+                    return insert(root, target, copyValue(lookup(root, pointer(from), from), threadingMode));
+                case TEST:
+                    // Unlike equals, numbers are compared by value here, so 1 passes a test for 1.0
+                    if (!TreeUtil.numericEquals(lookup(root, target, path), value))
+                        throw error("Test failed, value at " + path + " is not " + value);
+                    return root;
+                default:
+                    throw new IllegalStateException();
+            }
+        }
+
+        // Patch paths are always JSON Pointers, a dotted path such as a.b is rejected instead of resolved.
+        // They are compiled without the path cache, so applying patches doesn't evict the paths of the caller.
+        private JSONPath pointer(String raw) {
+            if (!isPointer(raw))
+                throw error(raw + " is not a JSON Pointer");
+            return JSONPath.compile(raw);
+        }
+
+        // Resolves the container which holds the last segment of the path
+        private Object parent(Object root, JSONPath path, String raw) {
+            Object current = root;
+            for (int i = 0; i < path.size() - 1; i++) {
+                current = child(current, path, i);
+                if (current == NOT_FOUND)
+                    throw error("Path " + raw + " does not exist");
+            }
+            return current;
+        }
+
+        private Object lookup(Object root, JSONPath path, String raw) {
+            Object current = root;
+            for (int i = 0; i < path.size(); i++) {
+                current = child(current, path, i);
+                if (current == NOT_FOUND)
+                    throw error("Path " + raw + " does not exist");
+            }
+            return current;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object insert(Object root, JSONPath path, Object value) {
+            if (path.size() == 0)
+                return value;
+            Object parent = parent(root, path, this.path);
+            int last = path.size() - 1;
+            if (parent instanceof Map) {
+                ((Map<String, Object>) parent).put(path.name(last), value);
+            } else if (parent instanceof List) {
+                List<Object> list = (List<Object>) parent;
+                int index = path.index(last);
+                if ("-".equals(path.name(last)))
+                    list.add(value);
+                else if (index >= 0 && index <= list.size())
+                    list.add(index, value);
+                else
+                    throw error("Index " + path.name(last) + " is out of bounds in " + this.path);
+            } else {
+                throw error("Path " + this.path + " does not exist");
+            }
+            return root;
+        }
+
+        private Object delete(Object root, JSONPath path) {
+            Object parent = parent(root, path, path.toString());
+            int last = path.size() - 1;
+            if (parent instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) parent;
+                String key = path.name(last);
+                if (key == null || !map.containsKey(key))
+                    throw error("Path " + path + " does not exist");
+                return map.remove(key);
+            } else if (parent instanceof List) {
+                List<?> list = (List<?>) parent;
+                int index = path.index(last);
+                if (index < 0 || index >= list.size())
+                    throw error("Path " + path + " does not exist");
+                return list.remove(index);
+            }
+            throw error("Path " + path + " does not exist");
+        }
+
+        private ParsingException error(String message) {
+            return new ParsingException("Cannot apply " + op.getName() + " operation at " + path + ": " + message);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Operation))
+                return false;
+            Operation other = (Operation) obj;
+            return op == other.op && path.equals(other.path) && Objects.equals(from, other.from) && TreeUtil.deepEquals(value, other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(op, path, from) * 31 + Long.hashCode(TreeUtil.fingerprint64(value));
+        }
+
+        @Override
+        public String toString() {
+            return op.getName() + " " + (from != null ? from + " -> " : "") + path + (value != null ? " = " + value : "");
+        }
+    }
+
+    private static final Object NOT_FOUND = new Object();
+
+    private static boolean isPointer(String path) {
+        return path.isEmpty() || path.charAt(0) == '/';
+    }
+
+    private static Object child(Object current, JSONPath path, int segment) {
+        if (current instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) current;
+            String key = path.name(segment);
+            return key != null && map.containsKey(key) ? map.get(key) : NOT_FOUND;
+        }
+        if (current instanceof List) {
+            List<?> list = (List<?>) current;
+            int index = path.index(segment);
+            return index >= 0 && index < list.size() ? list.get(index) : NOT_FOUND;
+        }
+        return NOT_FOUND;
+    }
+}
@@ -0,0 +1,427 @@
+package at.xirado.simplejson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Compiled path to a value inside a JSON document.
+ *
+ * <p>Two syntaxes are supported:
+ * <ul>
+ *     <li>Dotted paths, such as {@code payload.items[0].ts}. Keys which contain dots or brackets
+ *     can be quoted, as in {@code meta['content.type']}.</li>
+ *     <li>JSON Pointers (RFC 6901), such as {@code /payload/items/0/ts}. Every path starting with {@code /} is a pointer.</li>
+ * </ul>
+ *
+ * <p>{@link #extract(byte[])} scans a raw payload with the streaming parser and only materializes the matched value.
+ * Everything else is skipped without being allocated. Use {@link #extractAll(byte[], JSONPath...)} to
+ * resolve several paths in a single pass.
+ * Duplicate keys resolve like {@link DuplicateKeyPolicy#LAST_WINS}, the value behind the last occurrence of a key
+ * is extracted. Because a later duplicate may still follow, the payload is always scanned to its end.
+ *
+ * <p>Already parsed documents can be navigated with the path overloads of the getters,
+ * such as {@link JSONObject#getLong(JSONPath)}, which walk the tree without creating intermediate wrappers.
+ *
+ * <p>Extracted values are returned in their raw form, which is a {@link Map}, {@link List}, {@link String},
+ * {@link Number}, {@link Boolean} or null. Missing values are returned as null.
+ *
+ * <p>This class is immutable and Thread-Safe, compiled instances can be shared freely.
+ */
+public final class JSONPath {
+    private static final int CACHE_SIZE = 1024;
+    // Direct-mapped like KeyPool, a path which collides with another one only replaces that single entry
+    private static final AtomicReferenceArray<JSONPath> cache = new AtomicReferenceArray<>(CACHE_SIZE);
+
+    private final String path;
+    // Per segment, either or both of name and index are set. Pointer segments such as "0" can match both.
+    private final String[] names;
+    private final int[] indices;
+
+    private JSONPath(String path, String[] names, int[] indices) {
+        this.path = path;
+        this.names = names;
+        this.indices = indices;
+    }
+
+    /**
+     * Compiles a dotted path or JSON Pointer.
+     *
+     * @param path The path to compile
+     * @return The compiled path
+     * @throws IllegalArgumentException If the path is malformed
+     */
+    @NotNull
+    public static JSONPath compile(@NotNull String path) {
+        List<String> names = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+        if (path.startsWith("/"))
+            parsePointer(path, names, indices);
+        else if (!path.isEmpty())
+            parseDotted(path, names, indices);
+
+        int[] indexArray = new int[indices.size()];
+        for (int i = 0; i < indexArray.length; i++)
+            indexArray[i] = indices.get(i);
+        return new JSONPath(path, names.toArray(new String[0]), indexArray);
+    }
+
+    /**
+     * Compiles a dotted path or JSON Pointer, reusing the compiled instance of an earlier call with the same path.
+     *
+     * <p>Up to 1024 paths are cached. Every path has a single slot and replaces whichever path occupied it,
+     * so the cache never grows unbounded even if paths are built dynamically, and frequently used paths
+     * are not evicted all at once.
+     *
+     * @param path The path to compile
+     * @return The compiled path
+     * @throws IllegalArgumentException If the path is malformed
+     */
+    @NotNull
+    public static JSONPath of(@NotNull String path) {
+        int hash = path.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+        JSONPath compiled = cache.get(slot);
+        if (compiled != null && compiled.path.equals(path))
+            return compiled;
+        compiled = compile(path);
+        cache.lazySet(slot, compiled);
+        return compiled;
+    }
+
+    /**
+     * The number of segments in this path. The empty path has zero segments and refers to the root.
+     *
+     * @return The number of segments
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * The key of the provided segment, or null if the segment can only match an array index.
+     */
+    @Nullable
+    String name(int segment) {
+        return names[segment];
+    }
+
+    /**
+     * The array index of the provided segment, or -1 if the segment can only match a key.
+     */
+    int index(int segment) {
+        return indices[segment];
+    }
+
+    /**
+     * Scans a JSON payload and extracts the value at this path.
+     *
+     * @param json The JSON payload
+     * @return The raw value, or null if it is missing or null
+     * @throws ParsingException If the payload is incorrectly formatted
+     */
+    @Nullable
+    public Object extract(@NotNull byte[] json) {
+        return extractAll(json, this)[0];
+    }
+
+    /**
+     * Scans a JSON payload and extracts the value at this path.
+     *
+     * @param json The JSON payload
+     * @return The raw value, or null if it is missing or null
+     * @throws ParsingException If the payload is incorrectly formatted
+     */
+    @Nullable
+    public Object extract(@NotNull String json) {
+        try {
+            return scan(JSONCodecs.get(FileType.JSON).factory.createParser(json), new JSONPath[]{this})[0];
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Scans a JSON payload and extracts the value at this path.
+     * The stream is closed afterwards.
+     *
+     * @param json The JSON payload
+     * @return The raw value, or null if it is missing or null
+     * @throws ParsingException If the payload is incorrectly formatted or an I/O error occurred
+     */
+    @Nullable
+    public Object extract(@NotNull InputStream json) {
+        return extractAll(json, this)[0];
+    }
+
+    /**
+     * Scans a JSON payload and extracts the value at this path.
+     * The reader is closed afterwards.
+     *
+     * @param json The JSON payload
+     * @return The raw value, or null if it is missing or null
+     * @throws ParsingException If the payload is incorrectly formatted or an I/O error occurred
+     */
+    @Nullable
+    public Object extract(@NotNull Reader json) {
+        try {
+            return scan(JSONCodecs.get(FileType.JSON).factory.createParser(json), new JSONPath[]{this})[0];
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Scans a JSON payload once and extracts the values at all provided paths.
+     *
+     * @param json  The JSON payload
+     * @param paths The paths to extract
+     * @return The raw values, in the same order as the paths. Missing values are null.
+     * @throws ParsingException If the payload is incorrectly formatted
+     */
+    @NotNull
+    public static Object[] extractAll(@NotNull byte[] json, @NotNull JSONPath... paths) {
+        try {
+            return scan(JSONCodecs.get(FileType.JSON).factory.createParser(json), paths);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Scans a JSON payload once and extracts the values at all provided paths.
+     * The stream is closed afterwards.
+     *
+     * @param json  The JSON payload
+     * @param paths The paths to extract
+     * @return The raw values, in the same order as the paths. Missing values are null.
+     * @throws ParsingException If the payload is incorrectly formatted or an I/O error occurred
+     */
+    @NotNull
+    public static Object[] extractAll(@NotNull InputStream json, @NotNull JSONPath... paths) {
+        try {
+            return scan(JSONCodecs.get(FileType.JSON).factory.createParser(json), paths);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Resolves this path against an already materialized tree of {@link Map Maps} and {@link List Lists}.
+     *
+     * @param root The root value
+     * @param from The first segment to resolve
+     * @return The raw value, or null if it is missing or null
+     */
+    @Nullable
+    Object resolve(@Nullable Object root, int from) {
+        Object current = root;
+        for (int i = from; i < names.length && current != null; i++) {
+            if (current instanceof Map) {
+                current = names[i] == null ? null : ((Map<?, ?>) current).get(names[i]);
+            } else if (current instanceof List) {
+                List<?> list = (List<?>) current;
+                int index = indices[i];
+                current = index >= 0 && index < list.size() ? list.get(index) : null;
+            } else {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof JSONPath))
+            return false;
+        JSONPath other = (JSONPath) obj;
+        return Arrays.equals(names, other.names) && Arrays.equals(indices, other.indices);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(names) + Arrays.hashCode(indices);
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    private boolean matchesName(int depth, String name) {
+        return depth < names.length && name.equals(names[depth]);
+    }
+
+    private boolean matchesIndex(int depth, int index) {
+        return depth < indices.length && indices[depth] == index;
+    }
+
+    private static Object[] scan(JsonParser parser, JSONPath[] paths) throws IOException {
+        Scan scan = new Scan(paths);
+        try (JsonParser ignored = parser) {
+            if (parser.nextToken() == null)
+                return scan.results;
+            int[] active = new int[paths.length];
+            for (int i = 0; i < active.length; i++)
+                active[i] = i;
+            scan.value(parser, active, active.length, 0);
+        }
+        return scan.results;
+    }
+
+    private static final class Scan {
+        final JSONPath[] paths;
+        final Object[] results;
+
+        Scan(JSONPath[] paths) {
+            this.paths = paths;
+            this.results = new Object[paths.length];
+        }
+
+        // The parser is positioned at the first token of the value at the given depth.
+        // All active paths match the location of this value.
+        void value(JsonParser parser, int[] active, int count, int depth) throws IOException {
+            Object materialized = null;
+            boolean complete = false;
+            for (int i = 0; i < count; i++) {
+                JSONPath path = paths[active[i]];
+                if (path.size() == depth) {
+                    if (!complete) {
+                        materialized = TreeReader.readValue(parser, ParseOptions.defaults());
+                        complete = true;
+                    }
+                    results[active[i]] = materialized;
+                }
+            }
+            if (complete) {
+                // Paths which go deeper than a match are resolved from the materialized value
+                for (int i = 0; i < count; i++) {
+                    JSONPath path = paths[active[i]];
+                    if (path.size() > depth)
+                        results[active[i]] = path.resolve(materialized, depth);
+                }
+                return;
+            }
+
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                int[] next = new int[count];
+                String name;
+                while ((name = parser.nextFieldName()) != null) {
+                    int matched = 0;
+                    for (int i = 0; i < count; i++) {
+                        if (paths[active[i]].matchesName(depth, name))
+                            next[matched++] = active[i];
+                    }
+                    // A duplicate key replaces the earlier value as a whole, including anything found beneath it
+                    for (int i = 0; i < matched; i++)
+                        results[next[i]] = null;
+                    parser.nextToken();
+                    if (matched == 0)
+                        parser.skipChildren();
+                    else
+                        value(parser, next, matched, depth + 1);
+                }
+            } else if (token == JsonToken.START_ARRAY) {
+                int[] next = new int[count];
+                for (int index = 0; parser.nextToken() != JsonToken.END_ARRAY; index++) {
+                    int matched = 0;
+                    for (int i = 0; i < count; i++) {
+                        if (paths[active[i]].matchesIndex(depth, index))
+                            next[matched++] = active[i];
+                    }
+                    if (matched == 0)
+                        parser.skipChildren();
+                    else
+                        value(parser, next, matched, depth + 1);
+                }
+            }
+        }
+    }
+
+    private static void parsePointer(String path, List<String> names, List<Integer> indices) {
+        int start = 1;
+        while (true) {
+            int end = path.indexOf('/', start);
+            String token = path.substring(start, end < 0 ? path.length() : end)
+                    .replace("~1", "/")
+                    .replace("~0", "~");
+            names.add(token);
+            indices.add(parseIndex(token));
+            if (end < 0)
+                return;
+            start = end + 1;
+        }
+    }
+
+    private static void parseDotted(String path, List<String> names, List<Integer> indices) {
+        int i = 0;
+        int length = path.length();
+        while (i < length) {
+            int start = i;
+            while (i < length && path.charAt(i) != '.' && path.charAt(i) != '[')
+                i++;
+            if (i > start) {
+                names.add(path.substring(start, i));
+                indices.add(-1);
+            } else if (i >= length || path.charAt(i) != '[') {
+                throw invalid(path, start);
+            }
+
+            while (i < length && path.charAt(i) == '[') {
+                int close;
+                char quote = i + 1 < length ? path.charAt(i + 1) : 0;
+                if (quote == '\'' || quote == '"') {
+                    int end = path.indexOf(quote, i + 2);
+                    if (end < 0 || end + 1 >= length || path.charAt(end + 1) != ']')
+                        throw invalid(path, i);
+                    names.add(path.substring(i + 2, end));
+                    indices.add(-1);
+                    close = end + 1;
+                } else {
+                    close = path.indexOf(']', i);
+                    int index = close < 0 ? -1 : parseIndex(path.substring(i + 1, close));
+                    if (index < 0)
+                        throw invalid(path, i);
+                    names.add(null);
+                    indices.add(index);
+                }
+                i = close + 1;
+            }
+
+            if (i < length) {
+                if (path.charAt(i) != '.' || i + 1 == length)
+                    throw invalid(path, i);
+                i++;
+            }
+        }
+    }
+
+    private static int parseIndex(String token) {
+        int length = token.length();
+        if (length == 0 || length > 9 || length > 1 && token.charAt(0) == '0')
+            return -1;
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c < '0' || c > '9')
+                return -1;
+        }
+        return Integer.parseInt(token);
+    }
+
+    private static IllegalArgumentException invalid(String path, int position) {
+        return new IllegalArgumentException("Invalid path " + path + " at position " + position);
+    }
+}
@@ -0,0 +1,895 @@
+package at.xirado.simplejson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Pull based reader for JSON payloads, which never holds more than the current token in memory.
+ *
+ * <p>Fields and values are consumed one at a time. Subtrees which are not needed can be skipped with
+ * {@link #skipValue()} without allocating them, and sub-documents can be materialized with
+ * {@link #nextObject()} or {@link #nextArray()}.
+ *
+ * <pre>{@code
+ * try (JSONReader reader = JSONReader.fromJson(stream)) {
+ *     reader.beginObject();
+ *     while (reader.hasNext()) {
+ *         String name = reader.nextName();
+ *         if (name.equals("meta"))
+ *             meta = reader.nextObject();
+ *         else
+ *             reader.skipValue();
+ *     }
+ *     reader.endObject();
+ * }
+ * }</pre>
+ *
+ * <p>Every method throws {@link ParsingException} if the payload is incorrectly formatted,
+ * the next token is not of the expected type, or an I/O error occurred.
+ * A value which can't be read as the requested type is not consumed, so it can still be read or skipped afterwards.
+ *
+ * <p>Readers created with {@link ParseOptions} store materialized values as decided by the options,
+ * and apply their limits to every materialized value. {@link ParseOptions#getMaxBytes()} limits the whole payload.
+ *
+ * <p>This class is not Thread-Safe.
+ */
+public class JSONReader implements Closeable {
+    protected final JsonParser parser;
+    private final ParseOptions options;
+    private JsonToken peeked;
+
+    protected JSONReader(@NotNull JsonParser parser) {
+        this(parser, ParseOptions.defaults());
+    }
+
+    protected JSONReader(@NotNull JsonParser parser, @NotNull ParseOptions options) {
+        this.parser = parser;
+        this.options = options;
+    }
+
+    /**
+     * Creates a reader for a JSON payload.
+     *
+     * @param json The JSON payload to read
+     * @return A new JSONReader positioned before the first token
+     */
+    @NotNull
+    public static JSONReader fromJson(@NotNull byte[] json) {
+        return fromJson(json, ParseOptions.defaults());
+    }
+
+    /**
+     * Creates a reader for a JSON payload.
+     * Values materialized by the reader, such as by {@link #nextObject()}, are stored as decided by the options.
+     *
+     * @param json    The JSON payload to read
+     * @param options The options which decide how materialized values are stored, and the limits of the payload
+     * @return A new JSONReader positioned before the first token
+     * @throws ParsingException If the payload exceeds {@link ParseOptions#getMaxBytes()}
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONReader fromJson(@NotNull byte[] json, @NotNull ParseOptions options) {
+        TreeReader.checkSize(json.length, options);
+        try {
+            return new JSONReader(JSONCodecs.get(FileType.JSON).factory.createParser(json), options);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Creates a reader for a JSON payload.
+     *
+     * @param json The JSON payload to read
+     * @return A new JSONReader positioned before the first token
+     */
+    @NotNull
+    public static JSONReader fromJson(@NotNull String json) {
+        return fromJson(json, ParseOptions.defaults());
+    }
+
+    /**
+     * Creates a reader for a JSON payload.
+     * Values materialized by the reader, such as by {@link #nextObject()}, are stored as decided by the options.
+     *
+     * @param json    The JSON payload to read
+     * @param options The options which decide how materialized values are stored, and the limits of the payload
+     * @return A new JSONReader positioned before the first token
+     * @throws ParsingException If the payload exceeds {@link ParseOptions#getMaxBytes()}
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONReader fromJson(@NotNull String json, @NotNull ParseOptions options) {
+        TreeReader.checkSize(json.length(), options);
+        try {
+            return new JSONReader(JSONCodecs.get(FileType.JSON).factory.createParser(json), options);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Creates a reader for a JSON payload.
+     * The stream is closed once the reader is closed.
+     *
+     * @param stream The JSON payload to read
+     * @return A new JSONReader positioned before the first token
+     */
+    @NotNull
+    public static JSONReader fromJson(@NotNull InputStream stream) {
+        return fromJson(stream, ParseOptions.defaults());
+    }
+
+    /**
+     * Creates a reader for a JSON payload.
+     * The stream is closed once the reader is closed.
+     * Values materialized by the reader, such as by {@link #nextObject()}, are stored as decided by the options.
+     *
+     * @param stream  The JSON payload to read
+     * @param options The options which decide how materialized values are stored, and the limits of the payload
+     * @return A new JSONReader positioned before the first token
+     * @throws ParsingException Once more than {@link ParseOptions#getMaxBytes()} are read from the payload
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONReader fromJson(@NotNull InputStream stream, @NotNull ParseOptions options) {
+        try {
+            return new JSONReader(JSONCodecs.get(FileType.JSON).factory.createParser(TreeReader.limit(stream, options)), options);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Creates a reader for a JSON payload.
+     * The stream is closed once the reader is closed.
+     *
+     * @param stream The JSON payload to read
+     * @return A new JSONReader positioned before the first token
+     */
+    @NotNull
+    public static JSONReader fromJson(@NotNull Reader stream) {
+        return fromJson(stream, ParseOptions.defaults());
+    }
+
+    /**
+     * Creates a reader for a JSON payload.
+     * The stream is closed once the reader is closed.
+     * Values materialized by the reader, such as by {@link #nextObject()}, are stored as decided by the options.
+     *
+     * @param stream  The JSON payload to read
+     * @param options The options which decide how materialized values are stored, and the limits of the payload
+     * @return A new JSONReader positioned before the first token
+     * @throws ParsingException Once more than {@link ParseOptions#getMaxBytes()} are read from the payload
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONReader fromJson(@NotNull Reader stream, @NotNull ParseOptions options) {
+        try {
+            return new JSONReader(JSONCodecs.get(FileType.JSON).factory.createParser(TreeReader.limit(stream, options)), options);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Creates a reader for a YAML payload.
+     * The documents of a multi-document stream are read as consecutive top-level values.
+     *
+     * @param yml The YAML payload to read
+     * @return A new JSONReader positioned before the first token
+     */
+    @NotNull
+    public static JSONReader fromYaml(@NotNull String yml) {
+        return fromYaml(yml, ParseOptions.defaults());
+    }
+
+    /**
+     * Creates a reader for a YAML payload.
+     * The documents of a multi-document stream are read as consecutive top-level values.
+     * Values materialized by the reader, such as by {@link #nextObject()}, are stored as decided by the options.
+     *
+     * @param yml     The YAML payload to read
+     * @param options The options which decide how materialized values are stored, and the limits of the payload
+     * @return A new JSONReader positioned before the first token
+     * @throws ParsingException If the payload exceeds {@link ParseOptions#getMaxBytes()}
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONReader fromYaml(@NotNull String yml, @NotNull ParseOptions options) {
+        TreeReader.checkSize(yml.length(), options);
+        try {
+            return new JSONReader(JSONCodecs.get(FileType.YAML).factory.createParser(yml), options);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Creates a reader for a YAML payload.
+     * The documents of a multi-document stream are read as consecutive top-level values.
+     * The stream is closed once the reader is closed.
+     *
+     * @param stream The YAML payload to read
+     * @return A new JSONReader positioned before the first token
+     */
+    @NotNull
+    public static JSONReader fromYaml(@NotNull InputStream stream) {
+        return fromYaml(stream, ParseOptions.defaults());
+    }
+
+    /**
+     * Creates a reader for a YAML payload.
+     * The documents of a multi-document stream are read as consecutive top-level values.
+     * The stream is closed once the reader is closed.
+     * Values materialized by the reader, such as by {@link #nextObject()}, are stored as decided by the options.
+     *
+     * @param stream  The YAML payload to read
+     * @param options The options which decide how materialized values are stored, and the limits of the payload
+     * @return A new JSONReader positioned before the first token
+     * @throws ParsingException Once more than {@link ParseOptions#getMaxBytes()} are read from the payload
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONReader fromYaml(@NotNull InputStream stream, @NotNull ParseOptions options) {
+        try {
+            return new JSONReader(JSONCodecs.get(FileType.YAML).factory.createParser(TreeReader.limit(stream, options)), options);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Creates a reader for a YAML payload.
+     * The documents of a multi-document stream are read as consecutive top-level values.
+     * The stream is closed once the reader is closed.
+     *
+     * @param stream The YAML payload to read
+     * @return A new JSONReader positioned before the first token
+     */
+    @NotNull
+    public static JSONReader fromYaml(@NotNull Reader stream) {
+        return fromYaml(stream, ParseOptions.defaults());
+    }
+
+    /**
+     * Creates a reader for a YAML payload.
+     * The documents of a multi-document stream are read as consecutive top-level values.
+     * The stream is closed once the reader is closed.
+     * Values materialized by the reader, such as by {@link #nextObject()}, are stored as decided by the options.
+     *
+     * @param stream  The YAML payload to read
+     * @param options The options which decide how materialized values are stored, and the limits of the payload
+     * @return A new JSONReader positioned before the first token
+     * @throws ParsingException Once more than {@link ParseOptions#getMaxBytes()} are read from the payload
+     * @see ParseOptions
+     */
+    @NotNull
+    public static JSONReader fromYaml(@NotNull Reader stream, @NotNull ParseOptions options) {
+        try {
+            return new JSONReader(JSONCodecs.get(FileType.YAML).factory.createParser(TreeReader.limit(stream, options)), options);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Lazily streams the objects of a top-level JSON array, parsing one element at a time.
+     * Memory usage is bounded by the largest element instead of the whole array.
+     *
+     * <p>The returned stream has to be closed, which also closes the provided input stream.
+     *
+     * @param stream The JSON array of objects
+     * @return A sequential {@link Stream} of the elements
+     * @throws ParsingException If the payload does not start with an array, or an element is not an object
+     */
+    @NotNull
+    public static Stream<JSONObject> streamArray(@NotNull InputStream stream) {
+        return streamArray(stream, ParseOptions.defaults());
+    }
+
+    /**
+     * Lazily streams the objects of a top-level JSON array, parsing one element at a time.
+     * Memory usage is bounded by the largest element instead of the whole array.
+     *
+     * <p>The limits of the options apply to every element, except for {@link ParseOptions#getMaxBytes()} which limits the whole payload.
+     * The returned stream has to be closed, which also closes the provided input stream.
+     *
+     * @param stream  The JSON array of objects
+     * @param options The options which decide how the elements are stored, and the limits of the payload
+     * @return A sequential {@link Stream} of the elements
+     * @throws ParsingException If the payload does not start with an array, or an element is not an object, or exceeds one of the limits of the options
+     * @see ParseOptions
+     */
+    @NotNull
+    public static Stream<JSONObject> streamArray(@NotNull InputStream stream, @NotNull ParseOptions options) {
+        return streamArray(fromJson(stream, options));
+    }
+
+    /**
+     * Lazily streams the objects of a top-level JSON array, parsing one element at a time.
+     * Memory usage is bounded by the largest element instead of the whole array.
+     *
+     * <p>The returned stream has to be closed, which also closes the provided reader.
+     *
+     * @param stream The JSON array of objects
+     * @return A sequential {@link Stream} of the elements
+     * @throws ParsingException If the payload does not start with an array, or an element is not an object
+     */
+    @NotNull
+    public static Stream<JSONObject> streamArray(@NotNull Reader stream) {
+        return streamArray(stream, ParseOptions.defaults());
+    }
+
+    /**
+     * Lazily streams the objects of a top-level JSON array, parsing one element at a time.
+     * Memory usage is bounded by the largest element instead of the whole array.
+     *
+     * <p>The limits of the options apply to every element, except for {@link ParseOptions#getMaxBytes()} which limits the whole payload.
+     * The returned stream has to be closed, which also closes the provided reader.
+     *
+     * @param stream  The JSON array of objects
+     * @param options The options which decide how the elements are stored, and the limits of the payload
+     * @return A sequential {@link Stream} of the elements
+     * @throws ParsingException If the payload does not start with an array, or an element is not an object, or exceeds one of the limits of the options
+     * @see ParseOptions
+     */
+    @NotNull
+    public static Stream<JSONObject> streamArray(@NotNull Reader stream, @NotNull ParseOptions options) {
+        return streamArray(fromJson(stream, options));
+    }
+
+    /**
+     * Lazily streams the objects of a newline-delimited JSON (NDJSON) payload, parsing one line at a time.
+     *
+     * <p>The returned stream has to be closed, which also closes the provided input stream.
+     *
+     * @param stream The newline-delimited JSON objects
+     * @return A sequential {@link Stream} of the objects
+     * @throws ParsingException If a line is not a JSON object
+     */
+    @NotNull
+    public static Stream<JSONObject> streamLines(@NotNull InputStream stream) {
+        return streamLines(stream, ParseOptions.defaults());
+    }
+
+    /**
+     * Lazily streams the objects of a newline-delimited JSON (NDJSON) payload, parsing one line at a time.
+     *
+     * <p>The limits of the options apply to every element, except for {@link ParseOptions#getMaxBytes()} which limits the whole payload.
+     * The returned stream has to be closed, which also closes the provided input stream.
+     *
+     * @param stream  The newline-delimited JSON objects
+     * @param options The options which decide how the elements are stored, and the limits of the payload
+     * @return A sequential {@link Stream} of the objects
+     * @throws ParsingException If a line is not a JSON object, or exceeds one of the limits of the options
+     * @see ParseOptions
+     */
+    @NotNull
+    public static Stream<JSONObject> streamLines(@NotNull InputStream stream, @NotNull ParseOptions options) {
+        return fromJson(stream, options).stream();
+    }
+
+    /**
+     * Lazily streams the objects of a newline-delimited JSON (NDJSON) payload, parsing one line at a time.
+     *
+     * <p>The returned stream has to be closed, which also closes the provided reader.
+     *
+     * @param stream The newline-delimited JSON objects
+     * @return A sequential {@link Stream} of the objects
+     * @throws ParsingException If a line is not a JSON object
+     */
+    @NotNull
+    public static Stream<JSONObject> streamLines(@NotNull Reader stream) {
+        return streamLines(stream, ParseOptions.defaults());
+    }
+
+    /**
+     * Lazily streams the objects of a newline-delimited JSON (NDJSON) payload, parsing one line at a time.
+     *
+     * <p>The limits of the options apply to every element, except for {@link ParseOptions#getMaxBytes()} which limits the whole payload.
+     * The returned stream has to be closed, which also closes the provided reader.
+     *
+     * @param stream  The newline-delimited JSON objects
+     * @param options The options which decide how the elements are stored, and the limits of the payload
+     * @return A sequential {@link Stream} of the objects
+     * @throws ParsingException If a line is not a JSON object, or exceeds one of the limits of the options
+     * @see ParseOptions
+     */
+    @NotNull
+    public static Stream<JSONObject> streamLines(@NotNull Reader stream, @NotNull ParseOptions options) {
+        return fromJson(stream, options).stream();
+    }
+
+    /**
+     * Lazily streams the documents of a {@code ---} separated YAML stream, such as a bundle of Kubernetes manifests.
+     * Each document is parsed once it is consumed, so memory usage is bounded by the largest document.
+     * Empty documents are skipped.
+     *
+     * <p>The returned stream has to be closed, which also closes the provided input stream.
+     *
+     * @param stream The YAML documents
+     * @return A sequential {@link Stream} of the documents
+     * @throws ParsingException If a document is incorrectly formatted or not a mapping
+     */
+    @NotNull
+    public static Stream<JSONObject> streamYaml(@NotNull InputStream stream) {
+        return streamYaml(stream, ParseOptions.defaults());
+    }
+
+    /**
+     * Lazily streams the documents of a {@code ---} separated YAML stream, such as a bundle of Kubernetes manifests.
+     * Each document is parsed once it is consumed, so memory usage is bounded by the largest document.
+     * Empty documents are skipped.
+     *
+     * <p>The limits of the options apply to every element, except for {@link ParseOptions#getMaxBytes()} which limits the whole payload.
+     * The returned stream has to be closed, which also closes the provided input stream.
+     *
+     * @param stream  The YAML documents
+     * @param options The options which decide how the elements are stored, and the limits of the payload
+     * @return A sequential {@link Stream} of the documents
+     * @throws ParsingException If a document is incorrectly formatted or not a mapping, or exceeds one of the limits of the options
+     * @see ParseOptions
+     */
+    @NotNull
+    public static Stream<JSONObject> streamYaml(@NotNull InputStream stream, @NotNull ParseOptions options) {
+        return fromYaml(stream, options).documents();
+    }
+
+    /**
+     * Lazily streams the documents of a {@code ---} separated YAML stream, such as a bundle of Kubernetes manifests.
+     * Each document is parsed once it is consumed, so memory usage is bounded by the largest document.
+     * Empty documents are skipped.
+     *
+     * <p>The returned stream has to be closed, which also closes the provided reader.
+     *
+     * @param stream The YAML documents
+     * @return A sequential {@link Stream} of the documents
+     * @throws ParsingException If a document is incorrectly formatted or not a mapping
+     */
+    @NotNull
+    public static Stream<JSONObject> streamYaml(@NotNull Reader stream) {
+        return streamYaml(stream, ParseOptions.defaults());
+    }
+
+    /**
+     * Lazily streams the documents of a {@code ---} separated YAML stream, such as a bundle of Kubernetes manifests.
+     * Each document is parsed once it is consumed, so memory usage is bounded by the largest document.
+     * Empty documents are skipped.
+     *
+     * <p>The limits of the options apply to every element, except for {@link ParseOptions#getMaxBytes()} which limits the whole payload.
+     * The returned stream has to be closed, which also closes the provided reader.
+     *
+     * @param stream  The YAML documents
+     * @param options The options which decide how the elements are stored, and the limits of the payload
+     * @return A sequential {@link Stream} of the documents
+     * @throws ParsingException If a document is incorrectly formatted or not a mapping, or exceeds one of the limits of the options
+     * @see ParseOptions
+     */
+    @NotNull
+    public static Stream<JSONObject> streamYaml(@NotNull Reader stream, @NotNull ParseOptions options) {
+        return fromYaml(stream, options).documents();
+    }
+
+    private static Stream<JSONObject> streamArray(JSONReader reader) {
+        try {
+            reader.beginArray();
+        } catch (ParsingException ex) {
+            reader.close();
+            throw ex;
+        }
+        return reader.stream();
+    }
+
+    /**
+     * The type of the next token, without consuming it.
+     *
+     * @return The next token, or {@link JSONToken#END_DOCUMENT} if the input is exhausted
+     */
+    @NotNull
+    public JSONToken peek() {
+        JsonToken token = fill();
+        if (token == null)
+            return JSONToken.END_DOCUMENT;
+        switch (token) {
+            case START_OBJECT:
+                return JSONToken.BEGIN_OBJECT;
+            case END_OBJECT:
+                return JSONToken.END_OBJECT;
+            case START_ARRAY:
+                return JSONToken.BEGIN_ARRAY;
+            case END_ARRAY:
+                return JSONToken.END_ARRAY;
+            case FIELD_NAME:
+                return JSONToken.NAME;
+            case VALUE_STRING:
+            case VALUE_EMBEDDED_OBJECT:
+                return JSONToken.STRING;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return JSONToken.NUMBER;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return JSONToken.BOOLEAN;
+            case VALUE_NULL:
+                return JSONToken.NULL;
+            default:
+                throw new ParsingException("Unsupported token " + token + " at " + parser.getCurrentLocation());
+        }
+    }
+
+    /**
+     * Whether the current object or array has more elements.
+     *
+     * @return True, if the next token is neither the end of an object or array, nor the end of the input
+     */
+    public boolean hasNext() {
+        JSONToken token = peek();
+        return token != JSONToken.END_OBJECT && token != JSONToken.END_ARRAY && token != JSONToken.END_DOCUMENT;
+    }
+
+    /**
+     * Consumes the start of an object.
+     */
+    public void beginObject() {
+        expect(JSONToken.BEGIN_OBJECT);
+        consume();
+    }
+
+    /**
+     * Consumes the end of an object.
+     */
+    public void endObject() {
+        expect(JSONToken.END_OBJECT);
+        consume();
+    }
+
+    /**
+     * Consumes the start of an array.
+     */
+    public void beginArray() {
+        expect(JSONToken.BEGIN_ARRAY);
+        consume();
+    }
+
+    /**
+     * Consumes the end of an array.
+     */
+    public void endArray() {
+        expect(JSONToken.END_ARRAY);
+        consume();
+    }
+
+    /**
+     * Consumes the next field name.
+     *
+     * @return The field name
+     */
+    @NotNull
+    public String nextName() {
+        expect(JSONToken.NAME);
+        try {
+            return parser.getCurrentName();
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        } finally {
+            consume();
+        }
+    }
+
+    /**
+     * Consumes the next value as a {@link java.lang.String}.
+     * Numbers and booleans are converted to their textual representation.
+     *
+     * @return The String value
+     */
+    @NotNull
+    public String nextString() {
+        JSONToken token = peek();
+        if (token != JSONToken.STRING && token != JSONToken.NUMBER && token != JSONToken.BOOLEAN)
+            throw typeError("String");
+        try {
+            return parser.getText();
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        } finally {
+            consume();
+        }
+    }
+
+    /**
+     * Consumes the next value as a long.
+     * Strings are parsed like {@link JSONObject#getLong(String)} does.
+     *
+     * @return The long value
+     */
+    public long nextLong() {
+        // A value of the wrong type is left in place, so the caller can still skip it
+        JSONToken token = peek();
+        if (token != JSONToken.NUMBER && token != JSONToken.STRING)
+            throw typeError("long");
+        try {
+            long value = token == JSONToken.NUMBER ? parser.getLongValue() : MiscUtil.parseLong(parser.getText());
+            consume();
+            return value;
+        } catch (IOException | NumberFormatException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Consumes the next value as an int.
+     *
+     * @return The int value
+     */
+    public int nextInt() {
+        JSONToken token = peek();
+        if (token != JSONToken.NUMBER && token != JSONToken.STRING)
+            throw typeError("int");
+        try {
+            int value = token == JSONToken.NUMBER ? parser.getIntValue() : Integer.parseInt(parser.getText());
+            consume();
+            return value;
+        } catch (IOException | NumberFormatException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Consumes the next value as a double.
+     *
+     * @return The double value
+     */
+    public double nextDouble() {
+        JSONToken token = peek();
+        if (token != JSONToken.NUMBER && token != JSONToken.STRING)
+            throw typeError("double");
+        try {
+            double value = token == JSONToken.NUMBER ? parser.getDoubleValue() : Double.parseDouble(parser.getText());
+            consume();
+            return value;
+        } catch (IOException | NumberFormatException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Consumes the next value as a boolean.
+     *
+     * @return The boolean value
+     */
+    public boolean nextBoolean() {
+        JSONToken token = peek();
+        if (token != JSONToken.BOOLEAN && token != JSONToken.STRING)
+            throw typeError("boolean");
+        try {
+            boolean value = token == JSONToken.BOOLEAN ? parser.getBooleanValue() : Boolean.parseBoolean(parser.getText());
+            consume();
+            return value;
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        }
+    }
+
+    /**
+     * Consumes the next value, which has to be null.
+     */
+    public void nextNull() {
+        expect(JSONToken.NULL);
+        consume();
+    }
+
+    /**
+     * Consumes the next value including all of its children.
+     *
+     * @return The value, which is a {@link Map}, {@link List}, {@link String}, {@link Number}, {@link Boolean} or null
+     */
+    @Nullable
+    public Object nextValue() {
+        return nextValue(options.getThreadingMode());
+    }
+
+    /**
+     * Consumes the next value, which has to be an object, and materializes it.
+     *
+     * @return The resolved JSONObject
+     */
+    @NotNull
+    public JSONObject nextObject() {
+        return nextObject(options.getThreadingMode());
+    }
+
+    /**
+     * Consumes the next value, which has to be an object, and materializes it.
+     *
+     * @param threadingMode How concurrent access to the resulting instance is guarded
+     * @return The resolved JSONObject
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public JSONObject nextObject(@NotNull ThreadingMode threadingMode) {
+        expect(JSONToken.BEGIN_OBJECT);
+        Map<String, Object> map = (Map<String, Object>) nextValue(threadingMode);
+        return new JSONObject(map, options.isFrozen() ? ThreadingMode.UNSYNCHRONIZED : threadingMode);
+    }
+
+    /**
+     * Consumes the next value, which has to be an array, and materializes it.
+     *
+     * @return The resolved JSONArray
+     */
+    @NotNull
+    public JSONArray nextArray() {
+        return nextArray(options.getThreadingMode());
+    }
+
+    /**
+     * Consumes the next value, which has to be an array, and materializes it.
+     *
+     * @param threadingMode How concurrent access to the resulting instance is guarded
+     * @return The resolved JSONArray
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public JSONArray nextArray(@NotNull ThreadingMode threadingMode) {
+        expect(JSONToken.BEGIN_ARRAY);
+        List<Object> list = (List<Object>) nextValue(threadingMode);
+        return new JSONArray(list, options.isFrozen() ? ThreadingMode.UNSYNCHRONIZED : threadingMode);
+    }
+
+    /**
+     * Skips the next value including all of its children, without materializing it.
+     * If the next token is a field name, the name and its value are skipped.
+     */
+    public void skipValue() {
+        if (peek() == JSONToken.NAME)
+            consume();
+        JSONToken token = peek();
+        if (token == JSONToken.END_OBJECT || token == JSONToken.END_ARRAY || token == JSONToken.END_DOCUMENT)
+            throw typeError("value");
+        try {
+            parser.skipChildren();
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        } finally {
+            consume();
+        }
+    }
+
+    /**
+     * Iterates over the remaining objects of the current array, or over the remaining
+     * top-level objects if the reader is not inside an array.
+     * Each object is only parsed once {@link Iterator#next()} is called.
+     *
+     * @return An {@link Iterator} over the objects
+     * @see #beginArray()
+     */
+    @NotNull
+    public Iterator<JSONObject> objectIterator() {
+        return objectIterator(options.getThreadingMode());
+    }
+
+    /**
+     * Iterates over the remaining objects of the current array, or over the remaining
+     * top-level objects if the reader is not inside an array.
+     * Each object is only parsed once {@link Iterator#next()} is called.
+     *
+     * @param threadingMode How concurrent access to the resulting instances is guarded
+     * @return An {@link Iterator} over the objects
+     * @see #beginArray()
+     */
+    @NotNull
+    public Iterator<JSONObject> objectIterator(@NotNull ThreadingMode threadingMode) {
+        return new Iterator<JSONObject>() {
+            @Override
+            public boolean hasNext() {
+                return JSONReader.this.hasNext();
+            }
+
+            @Override
+            public JSONObject next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return nextObject(threadingMode);
+            }
+        };
+    }
+
+    /**
+     * Streams the remaining objects like {@link #objectIterator()} does.
+     * Closing the stream closes this reader.
+     *
+     * @return A sequential {@link Stream} of the objects
+     */
+    @NotNull
+    public Stream<JSONObject> stream() {
+        Spliterator<JSONObject> spliterator = Spliterators.spliteratorUnknownSize(objectIterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    // Empty YAML documents, such as the one after a trailing ---, are read as null
+    private Stream<JSONObject> documents() {
+        Iterator<JSONObject> iterator = new Iterator<JSONObject>() {
+            @Override
+            public boolean hasNext() {
+                while (peek() == JSONToken.NULL)
+                    nextNull();
+                return JSONReader.this.hasNext();
+            }
+
+            @Override
+            public JSONObject next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return nextObject();
+            }
+        };
+        Spliterator<JSONObject> spliterator = Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    /**
+     * Closes the reader and the underlying input.
+     */
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Nullable
+    private Object nextValue(ThreadingMode threadingMode) {
+        switch (peek()) {
+            case NAME:
+            case END_OBJECT:
+            case END_ARRAY:
+            case END_DOCUMENT:
+                throw typeError("value");
+        }
+        try {
+            ParseOptions options = threadingMode == this.options.getThreadingMode() ? this.options : this.options.withThreadingMode(threadingMode);
+            return TreeReader.readValue(parser, options);
+        } catch (IOException ex) {
+            throw new ParsingException(ex);
+        } finally {
+            consume();
+        }
+    }
+
+    private JsonToken fill() {
+        if (peeked == null) {
+            try {
+                peeked = parser.nextToken();
+            } catch (IOException ex) {
+                throw new ParsingException(ex);
+            }
+        }
+        return peeked;
+    }
+
+    private void consume() {
+        peeked = null;
+    }
+
+    private void expect(JSONToken expected) {
+        if (peek() != expected)
+            throw typeError(expected.name());
+    }
+
+    private ParsingException typeError(String expected) {
+        return new ParsingException("Expected " + expected + " but was " + peek() + " at " + parser.getCurrentLocation());
+    }
+}
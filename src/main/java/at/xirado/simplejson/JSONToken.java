@@ -0,0 +1,8 @@
+package at.xirado.simplejson;
+
+/**
+ * Enum constants representing the tokens a {@link JSONReader} can encounter.
+ */
+public enum JSONToken {
+    BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+}
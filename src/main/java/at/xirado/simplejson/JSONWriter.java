@@ -0,0 +1,293 @@
+package at.xirado.simplejson;
+
+import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Generator style writer which emits JSON directly to its target, without building an intermediate tree.
+ *
+ * <pre>{@code
+ * try (JSONWriter writer = JSONWriter.toJson(stream)) {
+ *     writer.beginObject()
+ *           .name("id").value(42)
+ *           .name("meta").value(meta)
+ *           .name("items").beginArray();
+ *     for (Item item : items)
+ *         writer.value(item);
+ *     writer.endArray()
+ *           .endObject();
+ * }
+ * }</pre>
+ *
+ * <p>Every method throws {@link java.io.UncheckedIOException} if the target could not be written to,
+ * and {@link ParsingException} if the call would produce malformed JSON, such as a value without a name inside an object.
+ *
+ * <p>This class is not Thread-Safe.
+ */
+public class JSONWriter implements Closeable, Flushable {
+    protected final JsonGenerator generator;
+
+    protected JSONWriter(@NotNull JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * Creates a writer which emits UTF-8 encoded JSON to the provided stream.
+     * The stream is closed once the writer is closed.
+     *
+     * @param stream The target stream
+     * @return A new JSONWriter
+     */
+    @NotNull
+    public static JSONWriter toJson(@NotNull OutputStream stream) {
+        try {
+            return new JSONWriter(JSONCodecs.get(FileType.JSON).factory.createGenerator(stream));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Creates a writer which emits JSON to the provided writer.
+     * The writer is closed once this JSONWriter is closed.
+     *
+     * @param writer The target writer
+     * @return A new JSONWriter
+     */
+    @NotNull
+    public static JSONWriter toJson(@NotNull Writer writer) {
+        try {
+            return new JSONWriter(JSONCodecs.get(FileType.JSON).factory.createGenerator(writer));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Creates a writer which emits UTF-8 encoded JSON to the provided channel.
+     * The channel is closed once the writer is closed.
+     *
+     * @param channel The target channel
+     * @return A new JSONWriter
+     */
+    @NotNull
+    public static JSONWriter toJson(@NotNull WritableByteChannel channel) {
+        return toJson(Channels.newOutputStream(channel));
+    }
+
+    /**
+     * Starts a new object.
+     *
+     * @return This JSONWriter
+     */
+    @NotNull
+    public JSONWriter beginObject() {
+        try {
+            generator.writeStartObject();
+        } catch (IOException ex) {
+            throw error(ex);
+        }
+        return this;
+    }
+
+    /**
+     * Ends the current object.
+     *
+     * @return This JSONWriter
+     */
+    @NotNull
+    public JSONWriter endObject() {
+        try {
+            generator.writeEndObject();
+        } catch (IOException ex) {
+            throw error(ex);
+        }
+        return this;
+    }
+
+    /**
+     * Starts a new array.
+     *
+     * @return This JSONWriter
+     */
+    @NotNull
+    public JSONWriter beginArray() {
+        try {
+            generator.writeStartArray();
+        } catch (IOException ex) {
+            throw error(ex);
+        }
+        return this;
+    }
+
+    /**
+     * Ends the current array.
+     *
+     * @return This JSONWriter
+     */
+    @NotNull
+    public JSONWriter endArray() {
+        try {
+            generator.writeEndArray();
+        } catch (IOException ex) {
+            throw error(ex);
+        }
+        return this;
+    }
+
+    /**
+     * Writes the name of the next field of the current object.
+     *
+     * @param name The field name
+     * @return This JSONWriter
+     */
+    @NotNull
+    public JSONWriter name(@NotNull String name) {
+        try {
+            generator.writeFieldName(name);
+        } catch (IOException ex) {
+            throw error(ex);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a String value, or null.
+     *
+     * @param value The value to write
+     * @return This JSONWriter
+     */
+    @NotNull
+    public JSONWriter value(@Nullable String value) {
+        try {
+            generator.writeString(value);
+        } catch (IOException ex) {
+            throw error(ex);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a long value.
+     *
+     * @param value The value to write
+     * @return This JSONWriter
+     */
+    @NotNull
+    public JSONWriter value(long value) {
+        try {
+            generator.writeNumber(value);
+        } catch (IOException ex) {
+            throw error(ex);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a double value.
+     *
+     * @param value The value to write
+     * @return This JSONWriter
+     */
+    @NotNull
+    public JSONWriter value(double value) {
+        try {
+            generator.writeNumber(value);
+        } catch (IOException ex) {
+            throw error(ex);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a boolean value.
+     *
+     * @param value The value to write
+     * @return This JSONWriter
+     */
+    @NotNull
+    public JSONWriter value(boolean value) {
+        try {
+            generator.writeBoolean(value);
+        } catch (IOException ex) {
+            throw error(ex);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a null value.
+     *
+     * @return This JSONWriter
+     */
+    @NotNull
+    public JSONWriter nullValue() {
+        try {
+            generator.writeNull();
+        } catch (IOException ex) {
+            throw error(ex);
+        }
+        return this;
+    }
+
+    /**
+     * Writes any value supported by {@link JSONObject#put(String, Object)}, including all of its children.
+     * {@link BoundData} is streamed property by property, without building a JSONObject first.
+     *
+     * @param value The value to write
+     * @return This JSONWriter
+     */
+    @NotNull
+    public JSONWriter value(@Nullable Object value) {
+        try {
+            if (value instanceof BoundData)
+                JSONBinding.write(generator, value);
+            else if (value instanceof SerializableData)
+                generator.writeObject(((SerializableData) value).toData().data);
+            else if (value instanceof SerializableArray)
+                generator.writeObject(((SerializableArray) value).toJSONArray().data);
+            else
+                generator.writeObject(value);
+        } catch (IOException ex) {
+            throw error(ex);
+        }
+        return this;
+    }
+
+    /**
+     * Flushes buffered output to the target.
+     */
+    @Override
+    public void flush() {
+        try {
+            generator.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Flushes buffered output and closes the target.
+     * Objects and arrays which are still open are closed as well.
+     */
+    @Override
+    public void close() {
+        try {
+            generator.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private RuntimeException error(IOException ex) {
+        if (ex instanceof JsonGenerationException)
+            return new ParsingException(ex);
+        return new UncheckedIOException(ex);
+    }
+}
@@ -0,0 +1,107 @@
+package at.xirado.simplejson;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded table which canonicalizes object keys, so that equal keys of all documents parsed with the same pool
+ * share a single {@link String} instance, including its cached hash code.
+ *
+ * <pre>{@code
+ * KeyPool keys = new KeyPool(4096);
+ * ParseOptions options = ParseOptions.defaults().withKeyPool(keys);
+ * JSONObject event = JSONObject.fromJson(payload, options);
+ * }</pre>
+ *
+ * <p>The table is direct-mapped: every key has exactly one slot, and a key which collides with another one
+ * replaces it. Memory is therefore bounded by the capacity, no matter how many distinct keys are seen.
+ * Lookups never lock, at worst a key is not shared.
+ *
+ * <p>This class is Thread-Safe, a single pool is meant to be shared by all threads parsing similar payloads.
+ */
+public final class KeyPool {
+    private final AtomicReferenceArray<String> table;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a new empty pool.
+     *
+     * @param capacity The maximum amount of keys held, rounded up to the next power of two
+     * @throws IllegalArgumentException If the capacity is not positive or larger than 2^30
+     */
+    public KeyPool(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30)
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30, provided: " + capacity);
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity)
+            size <<= 1;
+        this.table = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Returns the canonical instance of the provided key, adding it to the pool if no equal key is present.
+     *
+     * @param key The key
+     * @return An instance equal to the key
+     */
+    @NotNull
+    public String intern(@NotNull String key) {
+        int hash = key.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        String existing = table.get(slot);
+        if (existing != null && (existing == key || existing.equals(key))) {
+            hits.increment();
+            return existing;
+        }
+        table.lazySet(slot, key);
+        misses.increment();
+        return key;
+    }
+
+    /**
+     * The maximum amount of keys held by this pool.
+     *
+     * @return The capacity
+     */
+    public int capacity() {
+        return table.length();
+    }
+
+    /**
+     * How often {@link #intern(String)} returned an already pooled instance.
+     *
+     * @return The amount of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * How often {@link #intern(String)} had to add the provided key to the pool.
+     *
+     * @return The amount of misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Removes all keys and resets the counters.
+     */
+    public void clear() {
+        for (int i = 0; i < table.length(); i++)
+            table.lazySet(i, null);
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "KeyPool{capacity=" + capacity() + ", hits=" + getHits() + ", misses=" + getMisses() + "}";
+    }
+}
@@ -0,0 +1,33 @@
+package at.xirado.simplejson;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Enum constants representing which {@link Number} types parsed numbers are stored as.
+ *
+ * @see ParseOptions#withNumberPolicy(NumberPolicy)
+ */
+public enum NumberPolicy {
+    /**
+     * The smallest fitting type: integral numbers become an {@link Integer}, {@link Long} or {@link BigInteger},
+     * floating point numbers a {@link Double}.
+     *
+     * <p>This is how all factory methods without a ParseOptions parameter parse numbers.
+     */
+    NATURAL,
+    /**
+     * Integral numbers become a {@link Long}, floating point numbers a {@link Double}.
+     * Integral numbers outside the range of a long are rejected instead of being parsed into a {@link BigInteger}.
+     */
+    LONG_AND_DOUBLE,
+    /**
+     * Every number becomes a {@link Double}, which may lose precision for large integral numbers.
+     */
+    DOUBLE,
+    /**
+     * Integral numbers are parsed as with {@link #NATURAL}, floating point numbers become a {@link BigDecimal}
+     * which keeps every digit of the payload.
+     */
+    BIG_DECIMAL
+}
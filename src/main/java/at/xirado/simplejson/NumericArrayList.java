@@ -0,0 +1,358 @@
+package at.xirado.simplejson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * List which stores homogeneous integral or floating point elements in a {@code long[]} or {@code double[]}
+ * instead of boxing every element.
+ *
+ * <p>The list behaves like any other {@link java.util.List}, elements are boxed on demand when read through
+ * {@link #get(int)}. Adding an element which does not fit the current storage, such as a String,
+ * switches the list to an {@code Object[]} permanently.
+ *
+ * <p>Integral elements are always exposed as {@link Long}, floating point elements as {@link Double}.
+ *
+ * <p>A {@link #frozenCopy() frozen} list rejects all modifications with an {@link UnsupportedOperationException}.
+ *
+ * @see ParseOptions#withPrimitiveArrays(boolean)
+ */
+final class NumericArrayList extends AbstractList<Object> implements RandomAccess {
+    static final byte EMPTY = 0, LONGS = 1, DOUBLES = 2, OBJECTS = 3;
+
+    private byte kind = EMPTY;
+    private long[] longs;
+    private double[] doubles;
+    private Object[] objects;
+    private int size;
+    private boolean frozen;
+
+    NumericArrayList() {}
+
+    NumericArrayList(@NotNull long[] values) {
+        this.kind = LONGS;
+        this.longs = values.clone();
+        this.size = values.length;
+    }
+
+    NumericArrayList(@NotNull double[] values) {
+        this.kind = DOUBLES;
+        this.doubles = values.clone();
+        this.size = values.length;
+    }
+
+    /**
+     * The current storage of this list.
+     *
+     * @return One of {@link #EMPTY}, {@link #LONGS}, {@link #DOUBLES} or {@link #OBJECTS}
+     */
+    byte kind() {
+        return kind;
+    }
+
+    /**
+     * Reads an element without boxing. Only valid if this list stores {@link #LONGS}.
+     */
+    long getLong(int index) {
+        checkIndex(index);
+        return longs[index];
+    }
+
+    /**
+     * Reads an element without boxing. Only valid if this list stores {@link #LONGS} or {@link #DOUBLES}.
+     */
+    double getDouble(int index) {
+        checkIndex(index);
+        return kind == LONGS ? longs[index] : doubles[index];
+    }
+
+    /**
+     * Copies the elements. Only valid if this list stores {@link #LONGS}.
+     */
+    long[] toLongArray() {
+        return Arrays.copyOf(longs, size);
+    }
+
+    /**
+     * Copies the elements. Only valid if this list stores {@link #LONGS} or {@link #DOUBLES}.
+     */
+    double[] toDoubleArray() {
+        if (kind == DOUBLES)
+            return Arrays.copyOf(doubles, size);
+        double[] copy = new double[size];
+        for (int i = 0; i < size; i++)
+            copy[i] = longs[i];
+        return copy;
+    }
+
+    /**
+     * Whether this list rejects modifications.
+     */
+    boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Creates an unmodifiable copy of this list with exactly sized storage.
+     * Only valid if this list stores {@link #EMPTY}, {@link #LONGS} or {@link #DOUBLES}.
+     */
+    NumericArrayList frozenCopy() {
+        NumericArrayList copy = new NumericArrayList();
+        copy.kind = kind;
+        copy.size = size;
+        if (kind == LONGS)
+            copy.longs = Arrays.copyOf(longs, size);
+        else if (kind == DOUBLES)
+            copy.doubles = Arrays.copyOf(doubles, size);
+        copy.frozen = true;
+        return copy;
+    }
+
+    /**
+     * Appends an integral element without boxing it, unless the list already stores other types.
+     */
+    void addLong(long value) {
+        checkMutable();
+        if (kind == EMPTY) {
+            kind = LONGS;
+            longs = new long[10];
+        }
+        if (kind != LONGS) {
+            add(value);
+            return;
+        }
+        if (size == longs.length)
+            longs = Arrays.copyOf(longs, grow());
+        longs[size++] = value;
+        modCount++;
+    }
+
+    /**
+     * Appends a floating point element without boxing it, unless the list already stores other types.
+     */
+    void addDouble(double value) {
+        checkMutable();
+        if (kind == EMPTY) {
+            kind = DOUBLES;
+            doubles = new double[10];
+        }
+        if (kind != DOUBLES) {
+            add(value);
+            return;
+        }
+        if (size == doubles.length)
+            doubles = Arrays.copyOf(doubles, grow());
+        doubles[size++] = value;
+        modCount++;
+    }
+
+    /**
+     * Shrinks the storage to the current size.
+     */
+    void trimToSize() {
+        switch (kind) {
+            case LONGS:
+                if (longs.length > size)
+                    longs = Arrays.copyOf(longs, size);
+                break;
+            case DOUBLES:
+                if (doubles.length > size)
+                    doubles = Arrays.copyOf(doubles, size);
+                break;
+            case OBJECTS:
+                if (objects.length > size)
+                    objects = Arrays.copyOf(objects, size);
+                break;
+        }
+    }
+
+    @Override
+    public Object get(int index) {
+        checkIndex(index);
+        switch (kind) {
+            case LONGS:
+                return longs[index];
+            case DOUBLES:
+                return doubles[index];
+            default:
+                return objects[index];
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Object set(int index, Object element) {
+        checkMutable();
+        checkIndex(index);
+        Object previous = get(index);
+        if (!fits(element))
+            inflate();
+        switch (kind) {
+            case LONGS:
+                longs[index] = ((Number) element).longValue();
+                break;
+            case DOUBLES:
+                doubles[index] = ((Number) element).doubleValue();
+                break;
+            default:
+                objects[index] = element;
+        }
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Object element) {
+        checkMutable();
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        if (kind == EMPTY) {
+            if (isIntegral(element)) {
+                kind = LONGS;
+                longs = new long[10];
+            } else if (isFloating(element)) {
+                kind = DOUBLES;
+                doubles = new double[10];
+            } else {
+                kind = OBJECTS;
+                objects = new Object[10];
+            }
+        } else if (!fits(element)) {
+            inflate();
+        }
+
+        switch (kind) {
+            case LONGS:
+                if (size == longs.length)
+                    longs = Arrays.copyOf(longs, grow());
+                System.arraycopy(longs, index, longs, index + 1, size - index);
+                longs[index] = ((Number) element).longValue();
+                break;
+            case DOUBLES:
+                if (size == doubles.length)
+                    doubles = Arrays.copyOf(doubles, grow());
+                System.arraycopy(doubles, index, doubles, index + 1, size - index);
+                doubles[index] = ((Number) element).doubleValue();
+                break;
+            default:
+                if (size == objects.length)
+                    objects = Arrays.copyOf(objects, grow());
+                System.arraycopy(objects, index, objects, index + 1, size - index);
+                objects[index] = element;
+        }
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Object remove(int index) {
+        checkMutable();
+        Object previous = get(index);
+        int moved = size - index - 1;
+        switch (kind) {
+            case LONGS:
+                System.arraycopy(longs, index + 1, longs, index, moved);
+                break;
+            case DOUBLES:
+                System.arraycopy(doubles, index + 1, doubles, index, moved);
+                break;
+            default:
+                System.arraycopy(objects, index + 1, objects, index, moved);
+                objects[size - 1] = null;
+        }
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        checkMutable();
+        kind = EMPTY;
+        longs = null;
+        doubles = null;
+        objects = null;
+        size = 0;
+        modCount++;
+    }
+
+    private boolean fits(Object element) {
+        switch (kind) {
+            case LONGS:
+                return isIntegral(element);
+            case DOUBLES:
+                return isFloating(element);
+            default:
+                return true;
+        }
+    }
+
+    // Switches to boxed storage, which can hold anything
+    private void inflate() {
+        Object[] boxed = new Object[Math.max(10, size + (size >> 1))];
+        for (int i = 0; i < size; i++)
+            boxed[i] = get(i);
+        kind = OBJECTS;
+        objects = boxed;
+        longs = null;
+        doubles = null;
+    }
+
+    private void checkMutable() {
+        if (frozen)
+            throw new UnsupportedOperationException("This array is frozen");
+    }
+
+    private int grow() {
+        return size + (size >> 1) + 1;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private static boolean isFloating(Object value) {
+        return value instanceof Double || value instanceof Float;
+    }
+
+    /**
+     * Writes primitive storage straight to the generator, without boxing the elements.
+     */
+    static final class Serializer extends StdSerializer<NumericArrayList> {
+        Serializer() {
+            super(NumericArrayList.class);
+        }
+
+        @Override
+        public void serialize(NumericArrayList list, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            switch (list.kind) {
+                case LONGS:
+                    generator.writeArray(list.longs, 0, list.size);
+                    break;
+                case DOUBLES:
+                    generator.writeArray(list.doubles, 0, list.size);
+                    break;
+                default:
+                    generator.writeStartArray(list, list.size);
+                    for (int i = 0; i < list.size; i++)
+                        provider.defaultSerializeValue(list.objects == null ? null : list.objects[i], generator);
+                    generator.writeEndArray();
+            }
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package at.xirado.simplejson;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Immutable set of options which control how a payload is parsed into a {@link JSONObject} or {@link JSONArray}.
+ *
+ * <pre>{@code
+ * ParseOptions options = ParseOptions.defaults()
+ *         .withThreadingMode(ThreadingMode.UNSYNCHRONIZED)
+ *         .withPrimitiveArrays(true);
+ * JSONObject telemetry = JSONObject.fromJson(payload, options);
+ * }</pre>
+ *
+ * <p>Payloads from untrusted sources should be parsed with limits, which reject a hostile payload
+ * as soon as it exceeds one of them, before it is read completely:
+ *
+ * <pre>{@code
+ * ParseOptions untrusted = ParseOptions.defaults()
+ *         .withMaxBytes(1 << 20)
+ *         .withMaxDepth(32)
+ *         .withMaxStringLength(8192)
+ *         .withNumberPolicy(NumberPolicy.LONG_AND_DOUBLE)
+ *         .withDuplicateKeyPolicy(DuplicateKeyPolicy.REJECT);
+ * }</pre>
+ *
+ * <p>Instances are Thread-Safe and can be shared freely.
+ */
+public final class ParseOptions {
+    private static final ParseOptions DEFAULTS = new ParseOptions(ThreadingMode.SYNCHRONIZED, false, null, false,
+            NumberPolicy.NATURAL, DuplicateKeyPolicy.LAST_WINS, Integer.MAX_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE);
+
+    private final ThreadingMode threadingMode;
+    private final boolean primitiveArrays;
+    private final KeyPool keyPool;
+    private final boolean frozen;
+    private final NumberPolicy numberPolicy;
+    private final DuplicateKeyPolicy duplicateKeyPolicy;
+    private final int maxDepth;
+    private final long maxTokens;
+    private final int maxStringLength;
+    private final long maxBytes;
+
+    private ParseOptions(ThreadingMode threadingMode, boolean primitiveArrays, KeyPool keyPool, boolean frozen,
+                         NumberPolicy numberPolicy, DuplicateKeyPolicy duplicateKeyPolicy,
+                         int maxDepth, long maxTokens, int maxStringLength, long maxBytes) {
+        this.threadingMode = threadingMode;
+        this.primitiveArrays = primitiveArrays;
+        this.keyPool = keyPool;
+        this.frozen = frozen;
+        this.numberPolicy = numberPolicy;
+        this.duplicateKeyPolicy = duplicateKeyPolicy;
+        this.maxDepth = maxDepth;
+        this.maxTokens = maxTokens;
+        this.maxStringLength = maxStringLength;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * The default options, which parse the same way as the factory methods without a ParseOptions parameter.
+     *
+     * @return The default options
+     */
+    @NotNull
+    public static ParseOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * How concurrent access to the parsed instance is guarded.
+     * Frozen instances are always {@link ThreadingMode#UNSYNCHRONIZED}, since they can't be modified.
+     *
+     * @return The {@link ThreadingMode}
+     */
+    @NotNull
+    public ThreadingMode getThreadingMode() {
+        return threadingMode;
+    }
+
+    /**
+     * Whether arrays which only contain integral numbers, or only floating point numbers,
+     * are stored in a {@code long[]} or {@code double[]} instead of boxing every element.
+     *
+     * @return True, if primitive arrays are enabled
+     */
+    public boolean isPrimitiveArrays() {
+        return primitiveArrays;
+    }
+
+    /**
+     * The pool which canonicalizes object keys, if any.
+     *
+     * @return The {@link KeyPool}, or null if keys are not pooled
+     */
+    @Nullable
+    public KeyPool getKeyPool() {
+        return keyPool;
+    }
+
+    /**
+     * Whether the parsed instance is deeply immutable.
+     *
+     * @return True, if the parsed instance is frozen
+     * @see JSONObject#freeze()
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Which {@link Number} types parsed numbers are stored as.
+     *
+     * @return The {@link NumberPolicy}
+     */
+    @NotNull
+    public NumberPolicy getNumberPolicy() {
+        return numberPolicy;
+    }
+
+    /**
+     * How objects which contain the same key more than once are parsed.
+     *
+     * @return The {@link DuplicateKeyPolicy}
+     */
+    @NotNull
+    public DuplicateKeyPolicy getDuplicateKeyPolicy() {
+        return duplicateKeyPolicy;
+    }
+
+    /**
+     * The maximum number of objects and arrays nested into each other, including the root.
+     *
+     * @return The maximum depth, or {@link Integer#MAX_VALUE} if the depth is not limited
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * The maximum number of values and keys in the payload, where an object or array counts as one value.
+     *
+     * @return The maximum number of tokens, or {@link Long#MAX_VALUE} if the number is not limited
+     */
+    public long getMaxTokens() {
+        return maxTokens;
+    }
+
+    /**
+     * The maximum length of a single string, key or number, in characters.
+     *
+     * @return The maximum length, or {@link Integer#MAX_VALUE} if the length is not limited
+     */
+    public int getMaxStringLength() {
+        return maxStringLength;
+    }
+
+    /**
+     * The maximum size of the payload, in bytes, or in characters if the payload is a String or {@link java.io.Reader}.
+     *
+     * @return The maximum size, or {@link Long#MAX_VALUE} if the size is not limited
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Copy of these options with the provided {@link ThreadingMode}.
+     *
+     * @param threadingMode How concurrent access to the parsed instance is guarded
+     * @return The new options
+     */
+    @NotNull
+    public ParseOptions withThreadingMode(@NotNull ThreadingMode threadingMode) {
+        return new ParseOptions(Objects.requireNonNull(threadingMode), primitiveArrays, keyPool, frozen,
+                numberPolicy, duplicateKeyPolicy, maxDepth, maxTokens, maxStringLength, maxBytes);
+    }
+
+    /**
+     * Copy of these options with primitive arrays enabled or disabled.
+     *
+     * <p>With primitive arrays, a numeric array costs 8 bytes per element instead of a reference and a boxed number.
+     * The arrays behave like any other array, elements are boxed on demand when read as {@link Object}.
+     * {@link JSONArray#getLong(int)}, {@link JSONArray#getDouble(int)}, {@link JSONArray#toLongArray()}
+     * and {@link JSONArray#longStream()} read the primitive storage directly.
+     *
+     * <p>Integral elements are read as {@link Long}, even if they fit into an {@link Integer}.
+     * An array which mixes integral and floating point numbers, or contains any other value, is stored as usual.
+     *
+     * @param primitiveArrays True, to enable primitive arrays
+     * @return The new options
+     */
+    @NotNull
+    public ParseOptions withPrimitiveArrays(boolean primitiveArrays) {
+        return new ParseOptions(threadingMode, primitiveArrays, keyPool, frozen,
+                numberPolicy, duplicateKeyPolicy, maxDepth, maxTokens, maxStringLength, maxBytes);
+    }
+
+    /**
+     * Copy of these options which canonicalizes object keys through the provided pool.
+     *
+     * <p>Sharing one pool across all documents of a long-lived cache stores every distinct key only once,
+     * and lets lookups reuse the hash code cached by the pooled String.
+     *
+     * @param keyPool The pool to use, or null to disable pooling
+     * @return The new options
+     */
+    @NotNull
+    public ParseOptions withKeyPool(@Nullable KeyPool keyPool) {
+        return new ParseOptions(threadingMode, primitiveArrays, keyPool, frozen,
+                numberPolicy, duplicateKeyPolicy, maxDepth, maxTokens, maxStringLength, maxBytes);
+    }
+
+    /**
+     * Copy of these options which parse into deeply immutable instances, as if {@link JSONObject#freeze()}
+     * was called on the result, but without building the mutable representation first.
+     *
+     * @param frozen True, to parse into frozen instances
+     * @return The new options
+     */
+    @NotNull
+    public ParseOptions withFrozen(boolean frozen) {
+        return new ParseOptions(threadingMode, primitiveArrays, keyPool, frozen,
+                numberPolicy, duplicateKeyPolicy, maxDepth, maxTokens, maxStringLength, maxBytes);
+    }
+
+    /**
+     * Copy of these options which store parsed numbers as the types chosen by the provided policy.
+     *
+     * <p>With primitive arrays, numbers which the policy stores as {@link java.math.BigDecimal} keep boxed storage,
+     * and with {@link NumberPolicy#DOUBLE} all numeric arrays are stored as a {@code double[]}.
+     *
+     * @param numberPolicy Which types numbers are stored as
+     * @return The new options
+     */
+    @NotNull
+    public ParseOptions withNumberPolicy(@NotNull NumberPolicy numberPolicy) {
+        return new ParseOptions(threadingMode, primitiveArrays, keyPool, frozen,
+                Objects.requireNonNull(numberPolicy), duplicateKeyPolicy, maxDepth, maxTokens, maxStringLength, maxBytes);
+    }
+
+    /**
+     * Copy of these options which handle duplicate keys as decided by the provided policy.
+     *
+     * @param duplicateKeyPolicy How objects which contain the same key more than once are parsed
+     * @return The new options
+     */
+    @NotNull
+    public ParseOptions withDuplicateKeyPolicy(@NotNull DuplicateKeyPolicy duplicateKeyPolicy) {
+        return new ParseOptions(threadingMode, primitiveArrays, keyPool, frozen,
+                numberPolicy, Objects.requireNonNull(duplicateKeyPolicy), maxDepth, maxTokens, maxStringLength, maxBytes);
+    }
+
+    /**
+     * Copy of these options which reject payloads with objects and arrays nested deeper than the provided depth.
+     * The root object or array has a depth of 1.
+     *
+     * <p>This keeps deeply nested payloads from exhausting the stack of the parsing thread.
+     *
+     * @param maxDepth The maximum depth, or {@link Integer#MAX_VALUE} to remove the limit
+     * @return The new options
+     * @throws IllegalArgumentException If the depth is less than 1
+     */
+    @NotNull
+    public ParseOptions withMaxDepth(int maxDepth) {
+        if (maxDepth < 1)
+            throw new IllegalArgumentException("Maximum depth must be at least 1: " + maxDepth);
+        return new ParseOptions(threadingMode, primitiveArrays, keyPool, frozen,
+                numberPolicy, duplicateKeyPolicy, maxDepth, maxTokens, maxStringLength, maxBytes);
+    }
+
+    /**
+     * Copy of these options which reject payloads with more than the provided number of values and keys.
+     *
+     * <p>Unlike {@link #withMaxBytes(long)}, this bounds the number of objects created for the parsed tree,
+     * which for payloads such as {@code [0,0,0,...]} is far larger than the payload itself.
+     *
+     * @param maxTokens The maximum number of tokens, or {@link Long#MAX_VALUE} to remove the limit
+     * @return The new options
+     * @throws IllegalArgumentException If the number is less than 1
+     */
+    @NotNull
+    public ParseOptions withMaxTokens(long maxTokens) {
+        if (maxTokens < 1)
+            throw new IllegalArgumentException("Maximum number of tokens must be at least 1: " + maxTokens);
+        return new ParseOptions(threadingMode, primitiveArrays, keyPool, frozen,
+                numberPolicy, duplicateKeyPolicy, maxDepth, maxTokens, maxStringLength, maxBytes);
+    }
+
+    /**
+     * Copy of these options which reject payloads with a string, key or number longer than the provided length.
+     *
+     * <p>Limiting the length of numbers keeps payloads such as a number with a million digits
+     * from spending CPU time on a {@link java.math.BigInteger} or {@link java.math.BigDecimal} conversion.
+     *
+     * @param maxStringLength The maximum length in characters, or {@link Integer#MAX_VALUE} to remove the limit
+     * @return The new options
+     * @throws IllegalArgumentException If the length is less than 1
+     */
+    @NotNull
+    public ParseOptions withMaxStringLength(int maxStringLength) {
+        if (maxStringLength < 1)
+            throw new IllegalArgumentException("Maximum string length must be at least 1: " + maxStringLength);
+        return new ParseOptions(threadingMode, primitiveArrays, keyPool, frozen,
+                numberPolicy, duplicateKeyPolicy, maxDepth, maxTokens, maxStringLength, maxBytes);
+    }
+
+    /**
+     * Copy of these options which reject payloads larger than the provided size.
+     *
+     * <p>Byte arrays and Strings are checked before parsing starts,
+     * streams fail as soon as more than the provided size has been read from them.
+     * The size of String and {@link java.io.Reader} payloads is measured in characters.
+     *
+     * @param maxBytes The maximum size, or {@link Long#MAX_VALUE} to remove the limit
+     * @return The new options
+     * @throws IllegalArgumentException If the size is less than 1
+     */
+    @NotNull
+    public ParseOptions withMaxBytes(long maxBytes) {
+        if (maxBytes < 1)
+            throw new IllegalArgumentException("Maximum size must be at least 1: " + maxBytes);
+        return new ParseOptions(threadingMode, primitiveArrays, keyPool, frozen,
+                numberPolicy, duplicateKeyPolicy, maxDepth, maxTokens, maxStringLength, maxBytes);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof ParseOptions))
+            return false;
+        ParseOptions other = (ParseOptions) obj;
+        return threadingMode == other.threadingMode && primitiveArrays == other.primitiveArrays && keyPool == other.keyPool && frozen == other.frozen
+                && numberPolicy == other.numberPolicy && duplicateKeyPolicy == other.duplicateKeyPolicy && maxDepth == other.maxDepth
+                && maxTokens == other.maxTokens && maxStringLength == other.maxStringLength && maxBytes == other.maxBytes;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(threadingMode, primitiveArrays, keyPool, frozen,
+                numberPolicy, duplicateKeyPolicy, maxDepth, maxTokens, maxStringLength, maxBytes);
+    }
+
+    @Override
+    public String toString() {
+        return "ParseOptions{threadingMode=" + threadingMode + ", primitiveArrays=" + primitiveArrays + ", keyPool=" + keyPool + ", frozen=" + frozen
+                + ", numberPolicy=" + numberPolicy + ", duplicateKeyPolicy=" + duplicateKeyPolicy + ", maxDepth=" + maxDepth
+                + ", maxTokens=" + maxTokens + ", maxStringLength=" + maxStringLength + ", maxBytes=" + maxBytes + "}";
+    }
+}
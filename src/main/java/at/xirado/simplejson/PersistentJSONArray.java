@@ -0,0 +1,119 @@
+package at.xirado.simplejson;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
+
+/**
+ * Immutable JSONArray, whose modifications create new versions instead of changing this instance.
+ *
+ * <p>Versions are backed by a 32-way trie. {@link #plus(Object)} and {@link #with(int, Object)}
+ * run in O(log n) and share all unchanged structure with the previous version.
+ * Nested objects and arrays are persistent as well,
+ * they are resolved as {@link PersistentJSONObject} and {@link PersistentJSONArray}, also when wrapped in an {@link Optional}.
+ *
+ * <p>The mutators inherited from {@link JSONArray}, such as {@link #add(Object)},
+ * throw {@link UnsupportedOperationException}.
+ *
+ * <p>This class is Thread-Safe, reads never lock.
+ *
+ * @see PersistentJSONObject
+ */
+public final class PersistentJSONArray extends JSONArray {
+    private static final PersistentJSONArray EMPTY = new PersistentJSONArray(PersistentVector.EMPTY);
+
+    PersistentJSONArray(@NotNull PersistentVector data) {
+        super(data, ThreadingMode.UNSYNCHRONIZED);
+    }
+
+    /**
+     * The empty PersistentJSONArray.
+     *
+     * @return An empty instance
+     */
+    @NotNull
+    public static PersistentJSONArray create() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a persistent copy of the provided array, including all of its children.
+     *
+     * @param array The array to copy
+     * @return A persistent copy, or the provided array if it is persistent already
+     */
+    @NotNull
+    public static PersistentJSONArray copyOf(@NotNull JSONArray array) {
+        if (array instanceof PersistentJSONArray)
+            return (PersistentJSONArray) array;
+        return new PersistentJSONArray((PersistentVector) PersistentJSONObject.persist(array));
+    }
+
+    /**
+     * Creates a version with the provided value appended.
+     * Objects and arrays are copied into persistent structures, unless they are persistent already.
+     *
+     * @param value The value to append
+     * @return The new version
+     */
+    @NotNull
+    public PersistentJSONArray plus(@Nullable Object value) {
+        return new PersistentJSONArray(vector().plus(PersistentJSONObject.persist(value)));
+    }
+
+    /**
+     * Creates a version with the value at the provided index replaced.
+     * Objects and arrays are copied into persistent structures, unless they are persistent already.
+     *
+     * @param index The index to replace, or the length of the array to append
+     * @param value The new value
+     * @return The new version, or this instance if the index already holds the same value
+     * @throws IndexOutOfBoundsException If the index is negative or larger than the length
+     */
+    @NotNull
+    public PersistentJSONArray with(int index, @Nullable Object value) {
+        PersistentVector next = vector().with(index, PersistentJSONObject.persist(value));
+        return next == data ? this : new PersistentJSONArray(next);
+    }
+
+    @NotNull
+    @Override
+    public PersistentJSONObject getObject(int index) {
+        return new PersistentJSONObject((PersistentMap) super.getObject(index).data);
+    }
+
+    @NotNull
+    @Override
+    public PersistentJSONArray getArray(int index) {
+        return new PersistentJSONArray((PersistentVector) super.getArray(index).data);
+    }
+
+    @NotNull
+    @Override
+    public PersistentJSONObject getObject(@NotNull JSONPath path) {
+        return new PersistentJSONObject((PersistentMap) super.getObject(path).data);
+    }
+
+    @NotNull
+    @Override
+    public PersistentJSONArray getArray(@NotNull JSONPath path) {
+        return new PersistentJSONArray((PersistentVector) super.getArray(path).data);
+    }
+
+    @NotNull
+    @Override
+    public Optional<JSONObject> optObject(@NotNull JSONPath path) {
+        return super.optObject(path).map(object -> new PersistentJSONObject((PersistentMap) object.data));
+    }
+
+    @NotNull
+    @Override
+    public Optional<JSONArray> optArray(@NotNull JSONPath path) {
+        return super.optArray(path).map(array -> new PersistentJSONArray((PersistentVector) array.data));
+    }
+
+    private PersistentVector vector() {
+        return (PersistentVector) data;
+    }
+}
@@ -0,0 +1,172 @@
+package at.xirado.simplejson;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable JSONObject, whose modifications create new versions instead of changing this instance.
+ *
+ * <pre>{@code
+ * PersistentJSONObject v1 = PersistentJSONObject.copyOf(state);
+ * PersistentJSONObject v2 = v1.with("version", 2).without("draft");
+ * // v1 is unchanged and can still be read by other threads
+ * }</pre>
+ *
+ * <p>Versions are backed by a hash array mapped trie. {@link #with(String, Object)} and {@link #without(String)}
+ * run in O(log n) and share all unchanged structure with the previous version, so holding many versions
+ * costs little more than holding one. Nested objects and arrays are persistent as well,
+ * they are resolved as {@link PersistentJSONObject} and {@link PersistentJSONArray}, also when wrapped in an {@link Optional}.
+ *
+ * <p>The mutators inherited from {@link JSONObject}, such as {@link #put(String, Object)},
+ * throw {@link UnsupportedOperationException}.
+ *
+ * <p>This class is Thread-Safe, reads never lock.
+ */
+public final class PersistentJSONObject extends JSONObject {
+    private static final PersistentJSONObject EMPTY = new PersistentJSONObject(PersistentMap.EMPTY);
+
+    PersistentJSONObject(@NotNull PersistentMap data) {
+        super(data, ThreadingMode.UNSYNCHRONIZED);
+    }
+
+    /**
+     * The empty PersistentJSONObject.
+     *
+     * @return An empty instance
+     */
+    @NotNull
+    public static PersistentJSONObject create() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a persistent copy of the provided object, including all of its children.
+     *
+     * @param object The object to copy
+     * @return A persistent copy, or the provided object if it is persistent already
+     */
+    @NotNull
+    public static PersistentJSONObject copyOf(@NotNull JSONObject object) {
+        if (object instanceof PersistentJSONObject)
+            return (PersistentJSONObject) object;
+        return new PersistentJSONObject((PersistentMap) persist(object));
+    }
+
+    /**
+     * Creates a version with the provided value associated with the key.
+     * Objects and arrays are copied into persistent structures, unless they are persistent already.
+     *
+     * @param key   The key
+     * @param value The new value
+     * @return The new version, or this instance if the key is already associated with the same value
+     */
+    @NotNull
+    public PersistentJSONObject with(@NotNull String key, @Nullable Object value) {
+        PersistentMap next = map().with(key, persist(value));
+        return next == data ? this : new PersistentJSONObject(next);
+    }
+
+    /**
+     * Creates a version without the provided key.
+     *
+     * @param key The key to remove
+     * @return The new version, or this instance if the key is not present
+     */
+    @NotNull
+    public PersistentJSONObject without(@NotNull String key) {
+        PersistentMap next = map().without(key);
+        return next == data ? this : new PersistentJSONObject(next);
+    }
+
+    @NotNull
+    @Override
+    public PersistentJSONObject getObject(@NotNull String key) {
+        return new PersistentJSONObject((PersistentMap) super.getObject(key).data);
+    }
+
+    @NotNull
+    @Override
+    public PersistentJSONArray getArray(@NotNull String key) {
+        return new PersistentJSONArray((PersistentVector) super.getArray(key).data);
+    }
+
+    @NotNull
+    @Override
+    public PersistentJSONObject getObject(@NotNull JSONPath path) {
+        return new PersistentJSONObject((PersistentMap) super.getObject(path).data);
+    }
+
+    @NotNull
+    @Override
+    public PersistentJSONArray getArray(@NotNull JSONPath path) {
+        return new PersistentJSONArray((PersistentVector) super.getArray(path).data);
+    }
+
+    @NotNull
+    @Override
+    public Optional<JSONObject> optObject(@NotNull String key) {
+        return super.optObject(key).map(object -> new PersistentJSONObject((PersistentMap) object.data));
+    }
+
+    @NotNull
+    @Override
+    public Optional<JSONArray> optArray(@NotNull String key) {
+        return super.optArray(key).map(array -> new PersistentJSONArray((PersistentVector) array.data));
+    }
+
+    @NotNull
+    @Override
+    public Optional<JSONObject> optObject(@NotNull JSONPath path) {
+        return super.optObject(path).map(object -> new PersistentJSONObject((PersistentMap) object.data));
+    }
+
+    @NotNull
+    @Override
+    public Optional<JSONArray> optArray(@NotNull JSONPath path) {
+        return super.optArray(path).map(array -> new PersistentJSONArray((PersistentVector) array.data));
+    }
+
+    private PersistentMap map() {
+        return (PersistentMap) data;
+    }
+
+    /**
+     * Copies objects and arrays into persistent structures, including all of their children.
+     * Persistent structures are shared, any other value is kept as it is.
+     */
+    @Nullable
+    static Object persist(@Nullable Object value) {
+        if (value instanceof PersistentMap || value instanceof PersistentVector)
+            return value;
+        if (value instanceof SerializableData) {
+            Map<String, Object> map = ((SerializableData) value).toData().data;
+            // the map may be a synchronized wrapper, which has to be locked while iterating
+            synchronized (map) {
+                return persist(map);
+            }
+        }
+        if (value instanceof SerializableArray) {
+            List<Object> list = ((SerializableArray) value).toJSONArray().data;
+            synchronized (list) {
+                return persist(list);
+            }
+        }
+        if (value instanceof Map) {
+            PersistentMap map = PersistentMap.EMPTY;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+                map = map.with(String.valueOf(entry.getKey()), persist(entry.getValue()));
+            return map;
+        }
+        if (value instanceof List) {
+            PersistentVector vector = PersistentVector.EMPTY;
+            for (Object element : (List<?>) value)
+                vector = vector.plus(persist(element));
+            return vector;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,362 @@
+package at.xirado.simplejson;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Immutable hash array mapped trie, which backs {@link PersistentJSONObject}.
+ *
+ * <p>{@link #with(String, Object)} and {@link #without(String)} return new versions which copy only the
+ * path from the root to the modified entry, at most seven nodes of up to 32 entries each.
+ * Everything else is shared between the versions.
+ *
+ * <p>Keys are never null, values may be. The mutators of {@link Map} throw {@link UnsupportedOperationException}.
+ */
+final class PersistentMap extends AbstractMap<String, Object> implements Frozen.Immutable {
+    static final PersistentMap EMPTY = new PersistentMap(null, 0);
+
+    private static final Object NOT_FOUND = new Object();
+
+    private final Node root;
+    private final int size;
+    private Set<Entry<String, Object>> entrySet;
+
+    private PersistentMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Creates a version with the provided entry added or replaced.
+     *
+     * @return The new version, or this map if the key is already mapped to the same value
+     */
+    @NotNull
+    PersistentMap with(@NotNull String key, @Nullable Object value) {
+        Box added = new Box();
+        Node base = root == null ? BitmapNode.EMPTY : root;
+        Node newRoot = base.assoc(0, hash(key), key, value, added);
+        if (newRoot == root)
+            return this;
+        return new PersistentMap(newRoot, added.value ? size + 1 : size);
+    }
+
+    /**
+     * Creates a version without the provided key.
+     *
+     * @return The new version, or this map if the key is not present
+     */
+    @NotNull
+    PersistentMap without(@NotNull String key) {
+        if (root == null)
+            return this;
+        Node newRoot = root.without(0, hash(key), key);
+        if (newRoot == root)
+            return this;
+        return newRoot == null ? EMPTY : new PersistentMap(newRoot, size - 1);
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (root == null || !(key instanceof String))
+            return null;
+        Object value = root.find(0, hash(key), key);
+        return value == NOT_FOUND ? null : value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return root != null && key instanceof String && root.find(0, hash(key), key) != NOT_FOUND;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        throw immutable();
+    }
+
+    @Override
+    public Object remove(Object key) {
+        throw immutable();
+    }
+
+    @Override
+    public void putAll(@NotNull Map<? extends String, ?> map) {
+        throw immutable();
+    }
+
+    @Override
+    public void clear() {
+        throw immutable();
+    }
+
+    @NotNull
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Set<Entry<String, Object>> entrySet = this.entrySet;
+        if (entrySet == null) {
+            this.entrySet = entrySet = new AbstractSet<Entry<String, Object>>() {
+                @NotNull
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new EntryIterator(root);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private static int hash(Object key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & 31);
+    }
+
+    private static UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException("This object is persistent, use with() and without() to create modified versions");
+    }
+
+    // Whether an insertion added a new key, rather than replacing the value of an existing one
+    private static final class Box {
+        boolean value;
+    }
+
+    /**
+     * Entries are stored as pairs in {@link #array}.
+     * A pair with a null key refers to a child node in place of its value.
+     */
+    private abstract static class Node {
+        final Object[] array;
+
+        Node(Object[] array) {
+            this.array = array;
+        }
+
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node assoc(int shift, int hash, String key, Object value, Box added);
+
+        // Returns null if the node has no entries left
+        abstract Node without(int shift, int hash, Object key);
+    }
+
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+
+        BitmapNode(int bitmap, Object[] array) {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1)) << 1;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0)
+                return NOT_FOUND;
+            int index = index(bit);
+            Object existing = array[index];
+            if (existing == null)
+                return ((Node) array[index + 1]).find(shift + 5, hash, key);
+            return key.equals(existing) ? array[index + 1] : NOT_FOUND;
+        }
+
+        @Override
+        Node assoc(int shift, int hash, String key, Object value, Box added) {
+            int bit = bit(hash, shift);
+            int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] copy = new Object[array.length + 2];
+                System.arraycopy(array, 0, copy, 0, index);
+                copy[index] = key;
+                copy[index + 1] = value;
+                System.arraycopy(array, index, copy, index + 2, array.length - index);
+                added.value = true;
+                return new BitmapNode(bitmap | bit, copy);
+            }
+
+            Object existingKey = array[index];
+            Object existingValue = array[index + 1];
+            if (existingKey == null) {
+                Node child = ((Node) existingValue).assoc(shift + 5, hash, key, value, added);
+                return child == existingValue ? this : new BitmapNode(bitmap, set(array, index + 1, child));
+            }
+            if (key.equals(existingKey)) {
+                return existingValue == value ? this : new BitmapNode(bitmap, set(array, index + 1, value));
+            }
+            added.value = true;
+            Node child = split(shift + 5, (String) existingKey, existingValue, hash, key, value);
+            Object[] copy = set(array, index + 1, child);
+            copy[index] = null;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        @Override
+        Node without(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0)
+                return this;
+            int index = index(bit);
+            Object existingKey = array[index];
+            Object existingValue = array[index + 1];
+            if (existingKey == null) {
+                Node child = ((Node) existingValue).without(shift + 5, hash, key);
+                if (child == existingValue)
+                    return this;
+                if (child != null)
+                    return new BitmapNode(bitmap, set(array, index + 1, child));
+            } else if (!key.equals(existingKey)) {
+                return this;
+            }
+            if (bitmap == bit)
+                return null;
+            Object[] copy = new Object[array.length - 2];
+            System.arraycopy(array, 0, copy, 0, index);
+            System.arraycopy(array, index + 2, copy, index, array.length - index - 2);
+            return new BitmapNode(bitmap ^ bit, copy);
+        }
+
+        // Creates the node holding two entries which share the same slot at the previous level
+        private static Node split(int shift, String key1, Object value1, int hash2, String key2, Object value2) {
+            int hash1 = hash(key1);
+            if (hash1 == hash2)
+                return new CollisionNode(hash1, new Object[]{key1, value1, key2, value2});
+            Box ignored = new Box();
+            return EMPTY.assoc(shift, hash1, key1, value1, ignored).assoc(shift, hash2, key2, value2, ignored);
+        }
+    }
+
+    // Holds keys with identical hashes, which can't be told apart by any level of the trie
+    private static final class CollisionNode extends Node {
+        private final int hash;
+
+        CollisionNode(int hash, Object[] array) {
+            super(array);
+            this.hash = hash;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i]))
+                    return i;
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            if (hash != this.hash)
+                return NOT_FOUND;
+            int index = indexOf(key);
+            return index < 0 ? NOT_FOUND : array[index + 1];
+        }
+
+        @Override
+        Node assoc(int shift, int hash, String key, Object value, Box added) {
+            if (hash != this.hash) {
+                // Nest this node one level deeper, next to the new key
+                BitmapNode parent = new BitmapNode(bit(this.hash, shift), new Object[]{null, this});
+                return parent.assoc(shift, hash, key, value, added);
+            }
+            int index = indexOf(key);
+            if (index >= 0)
+                return array[index + 1] == value ? this : new CollisionNode(hash, set(array, index + 1, value));
+            Object[] copy = Arrays.copyOf(array, array.length + 2);
+            copy[array.length] = key;
+            copy[array.length + 1] = value;
+            added.value = true;
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        Node without(int shift, int hash, Object key) {
+            int index = hash == this.hash ? indexOf(key) : -1;
+            if (index < 0)
+                return this;
+            if (array.length == 2)
+                return null;
+            Object[] copy = new Object[array.length - 2];
+            System.arraycopy(array, 0, copy, 0, index);
+            System.arraycopy(array, index + 2, copy, index, array.length - index - 2);
+            return new CollisionNode(hash, copy);
+        }
+    }
+
+    private static Object[] set(Object[] array, int index, Object value) {
+        Object[] copy = array.clone();
+        copy[index] = value;
+        return copy;
+    }
+
+    // Depth-first walk, the trie is at most 7 bitmap levels deep plus one level of collision nodes
+    private static final class EntryIterator implements Iterator<Entry<String, Object>> {
+        private final Object[][] arrays = new Object[8][];
+        private final int[] positions = new int[8];
+        private int depth = -1;
+        private Entry<String, Object> next;
+
+        EntryIterator(Node root) {
+            if (root != null)
+                push(root);
+            advance();
+        }
+
+        private void push(Node node) {
+            depth++;
+            arrays[depth] = node.array;
+            positions[depth] = 0;
+        }
+
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                Object[] array = arrays[depth];
+                int position = positions[depth];
+                if (position >= array.length) {
+                    arrays[depth--] = null;
+                    continue;
+                }
+                positions[depth] = position + 2;
+                if (array[position] == null) {
+                    push((Node) array[position + 1]);
+                    continue;
+                }
+                next = new SimpleImmutableEntry<>((String) array[position], array[position + 1]);
+                return;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (next == null)
+                throw new NoSuchElementException();
+            Entry<String, Object> entry = next;
+            advance();
+            return entry;
+        }
+    }
+}
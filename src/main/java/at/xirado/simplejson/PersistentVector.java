@@ -0,0 +1,157 @@
+package at.xirado.simplejson;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Immutable 32-way trie of elements, which backs {@link PersistentJSONArray}.
+ *
+ * <p>The last up to 32 elements are kept in a separate tail, so {@link #plus(Object)} usually copies only the tail.
+ * {@link #with(int, Object)} copies the path from the root to the element, at most seven arrays of 32 slots.
+ * Everything else is shared between the versions.
+ *
+ * <p>The mutators of {@link java.util.List} throw {@link UnsupportedOperationException}.
+ */
+final class PersistentVector extends AbstractList<Object> implements RandomAccess, Frozen.Immutable {
+    private static final Object[] EMPTY_NODE = new Object[32];
+    static final PersistentVector EMPTY = new PersistentVector(0, 5, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    // Index of the first element stored in the tail
+    private int tailOffset() {
+        return size < 32 ? 0 : ((size - 1) >>> 5) << 5;
+    }
+
+    private Object[] leaf(int index) {
+        if (index >= tailOffset())
+            return tail;
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= 5)
+            node = (Object[]) node[(index >>> level) & 31];
+        return node;
+    }
+
+    @Override
+    public Object get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return leaf(index)[index & 31];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Creates a version with the provided element appended.
+     */
+    @NotNull
+    PersistentVector plus(@Nullable Object value) {
+        if (size - tailOffset() < 32) {
+            Object[] newTail = new Object[tail.length + 1];
+            System.arraycopy(tail, 0, newTail, 0, tail.length);
+            newTail[tail.length] = value;
+            return new PersistentVector(size + 1, shift, root, newTail);
+        }
+
+        // The tail is full, move it into the trie
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> 5) > (1 << shift)) {
+            newRoot = new Object[32];
+            newRoot[0] = root;
+            newRoot[1] = path(shift, tail);
+            newShift += 5;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector(size + 1, newShift, newRoot, new Object[]{value});
+    }
+
+    /**
+     * Creates a version with the element at the provided index replaced.
+     * An index equal to the size appends the element.
+     */
+    @NotNull
+    PersistentVector with(int index, @Nullable Object value) {
+        if (index == size)
+            return plus(value);
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        if (get(index) == value)
+            return this;
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & 31] = value;
+            return new PersistentVector(size, shift, root, newTail);
+        }
+        return new PersistentVector(size, shift, replace(shift, root, index, value), tail);
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int child = ((size - 1) >>> level) & 31;
+        Object[] copy = parent.clone();
+        Object[] inserted;
+        if (level == 5) {
+            inserted = tailNode;
+        } else {
+            Object[] existing = (Object[]) parent[child];
+            inserted = existing != null ? pushTail(level - 5, existing, tailNode) : path(level - 5, tailNode);
+        }
+        copy[child] = inserted;
+        return copy;
+    }
+
+    private static Object[] path(int level, Object[] node) {
+        if (level == 0)
+            return node;
+        Object[] parent = new Object[32];
+        parent[0] = path(level - 5, node);
+        return parent;
+    }
+
+    private static Object[] replace(int level, Object[] node, int index, Object value) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & 31] = value;
+        } else {
+            int child = (index >>> level) & 31;
+            copy[child] = replace(level - 5, (Object[]) node[child], index, value);
+        }
+        return copy;
+    }
+
+    @Override
+    public Object set(int index, Object element) {
+        throw immutable();
+    }
+
+    @Override
+    public void add(int index, Object element) {
+        throw immutable();
+    }
+
+    @Override
+    public Object remove(int index) {
+        throw immutable();
+    }
+
+    private static UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException("This array is persistent, use with() and plus() to create modified versions");
+    }
+}
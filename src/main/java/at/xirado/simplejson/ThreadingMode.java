@@ -0,0 +1,90 @@
+package at.xirado.simplejson;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enum constants representing how a {@link JSONObject} or {@link JSONArray} guards its data against concurrent access.
+ * {@link JSONObject#freeze() Frozen} data is never guarded, regardless of the mode.
+ *
+ * <p>Objects and arrays resolved through getters, such as {@link JSONObject#getObject(String)},
+ * inherit the mode of their parent.
+ */
+public enum ThreadingMode {
+    /**
+     * Every access locks the monitor of a {@link Collections#synchronizedMap(Map) synchronized} wrapper.
+     *
+     * <p>This is the default for all constructors and factory methods without a ThreadingMode parameter.
+     */
+    SYNCHRONIZED,
+    /**
+     * Objects are backed by a null-tolerant concurrent hash map.
+     * Reads never lock and writes only contend when they hit the same bin.
+     *
+     * <p>Parsing in this mode creates concurrent maps for every nested object as well.
+     * Maps of other types (for example a {@link HashMap} passed to {@link JSONObject#put(String, Object)})
+     * are guarded by a synchronized wrapper instead.
+     * Arrays are always guarded by a synchronized wrapper in this mode.
+     *
+     * <p>Only single key operations are atomic. The concurrent maps have no lock, so operations which walk or replace
+     * a whole object, such as {@link JSONObject#deepCopy()}, {@link JSONObject#freeze()}, {@link JSONObject#equals(Object)},
+     * {@link JSONObject#diff(JSONObject)}, {@link JSONObject#merge(JSONObject)}, {@link JSONObject#apply(JSONPatch)}
+     * and serialization, see a weakly consistent view while other threads write, and their own writes become visible one key at a time.
+     * Use {@link #SYNCHRONIZED} if these operations need a consistent view.
+     */
+    CONCURRENT,
+    /**
+     * No guard at all, reads and writes go straight to the underlying {@link HashMap} or {@link ArrayList}.
+     *
+     * <p>Only use this for instances which are confined to a single thread,
+     * such as a payload which is parsed, read and discarded while handling one request.
+     */
+    UNSYNCHRONIZED;
+
+    /**
+     * Creates a new empty map suited for this mode.
+     *
+     * @return A new empty, unwrapped map
+     */
+    @NotNull
+    Map<String, Object> newMap() {
+        switch (this) {
+            case CONCURRENT:
+                return new ConcurrentDataMap();
+            default:
+                return new HashMap<>();
+        }
+    }
+
+    /**
+     * Guards the provided map according to this mode.
+     *
+     * @param map The map to guard
+     * @return The guarded map, backed by the provided one
+     */
+    @NotNull
+    Map<String, Object> wrap(@NotNull Map<String, Object> map) {
+        // frozen maps can't be modified, so they are never guarded
+        if (this == UNSYNCHRONIZED || this == CONCURRENT && map instanceof ConcurrentDataMap || Frozen.isFrozen(map))
+            return map;
+        return Collections.synchronizedMap(map);
+    }
+
+    /**
+     * Guards the provided list according to this mode.
+     *
+     * @param list The list to guard
+     * @return The guarded list, backed by the provided one
+     */
+    @NotNull
+    List<Object> wrap(@NotNull List<Object> list) {
+        if (this == UNSYNCHRONIZED || Frozen.isFrozen(list))
+            return list;
+        return Collections.synchronizedList(list);
+    }
+}
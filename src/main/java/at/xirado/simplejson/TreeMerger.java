@@ -0,0 +1,142 @@
+package at.xirado.simplejson;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Deep merge and JSON Merge Patch (RFC 7386) over the {@link Map}/{@link List} trees
+ * that {@link JSONObject} and {@link JSONArray} are backed by.
+ *
+ * <p>The target is modified in place, only the paths named by the source are visited.
+ * Frozen or persistent subtrees of the target are copied one level at a time as they are modified,
+ * everything the source doesn't touch stays shared. Values taken from the source are deep copied,
+ * unless they are frozen, in which case they are shared as well.
+ */
+final class TreeMerger {
+    private TreeMerger() {}
+
+    /**
+     * Deep merges the source into the target.
+     * Objects are merged recursively, arrays according to the strategy, all other values replace the existing value.
+     */
+    static void merge(@NotNull Map<String, Object> target, @NotNull Map<?, ?> source,
+                      @NotNull ArrayMergeStrategy arrays, @NotNull ThreadingMode threadingMode) {
+        for (Map.Entry<?, ?> entry : source.entrySet()) {
+            String key = (String) entry.getKey();
+            Object value = entry.getValue();
+            Object existing = target.get(key);
+            if (value instanceof Map && existing instanceof Map) {
+                Map<String, Object> child = mutableMap(existing, threadingMode);
+                merge(child, (Map<?, ?>) value, arrays, threadingMode);
+                if (child != existing)
+                    target.put(key, child);
+            } else if (value instanceof List && existing instanceof List && arrays.isAppend()) {
+                List<Object> child = mutableList(existing);
+                mergeLists(child, (List<?>) value, arrays, threadingMode);
+                if (child != existing)
+                    target.put(key, child);
+            } else {
+                target.put(key, share(value, threadingMode));
+            }
+        }
+    }
+
+    /**
+     * Applies the patch to the target as specified by RFC 7386.
+     * Null removes a key, objects are merged recursively and all other values, including arrays, replace the existing value.
+     */
+    static void mergePatch(@NotNull Map<String, Object> target, @NotNull Map<?, ?> patch, @NotNull ThreadingMode threadingMode) {
+        for (Map.Entry<?, ?> entry : patch.entrySet()) {
+            String key = (String) entry.getKey();
+            Object value = entry.getValue();
+            if (value == null) {
+                target.remove(key);
+            } else if (value instanceof Map) {
+                // A nested patch is applied to an empty object if there's nothing to merge it into, which drops its nulls
+                Object existing = target.get(key);
+                Map<String, Object> child = existing instanceof Map ? mutableMap(existing, threadingMode) : threadingMode.newMap();
+                mergePatch(child, (Map<?, ?>) value, threadingMode);
+                if (child != existing)
+                    target.put(key, child);
+            } else {
+                target.put(key, share(value, threadingMode));
+            }
+        }
+    }
+
+    private static void mergeLists(List<Object> target, List<?> source, ArrayMergeStrategy arrays, ThreadingMode threadingMode) {
+        String key = arrays.getKey();
+        Map<Object, Integer> positions = null;
+        if (key != null) {
+            positions = new HashMap<>();
+            for (int i = 0; i < target.size(); i++) {
+                Object element = target.get(i);
+                if (element instanceof Map && ((Map<?, ?>) element).containsKey(key))
+                    positions.putIfAbsent(identity(((Map<?, ?>) element).get(key)), i);
+            }
+        }
+
+        for (Object value : source) {
+            if (positions != null && value instanceof Map && ((Map<?, ?>) value).containsKey(key)) {
+                Object id = identity(((Map<?, ?>) value).get(key));
+                Integer position = positions.get(id);
+                if (position != null) {
+                    Object existing = target.get(position);
+                    Map<String, Object> child = mutableMap(existing, threadingMode);
+                    merge(child, (Map<?, ?>) value, arrays, threadingMode);
+                    if (child != existing)
+                        target.set(position, child);
+                    continue;
+                }
+                positions.put(id, target.size());
+            }
+            target.add(share(value, threadingMode));
+        }
+    }
+
+    // Normalizes a key value, so values which are equal by TreeUtil.valueEquals are equal map keys
+    private static Object identity(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte)
+            return ((Number) value).longValue();
+        if (value instanceof BigInteger && ((BigInteger) value).bitLength() < 64)
+            return ((BigInteger) value).longValue();
+        if (value instanceof Float)
+            return ((Float) value).doubleValue();
+        if (value instanceof BigDecimal)
+            return ((BigDecimal) value).stripTrailingZeros();
+        return value;
+    }
+
+    // Copy-on-write: frozen maps are replaced by a mutable copy of their top level
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> mutableMap(Object map, ThreadingMode threadingMode) {
+        if (!Frozen.isFrozen(map))
+            return (Map<String, Object>) map;
+        Map<String, Object> copy = threadingMode.newMap();
+        copy.putAll((Map<String, Object>) map);
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> mutableList(Object list) {
+        if (!Frozen.isFrozen(list))
+            return (List<Object>) list;
+        if (list instanceof NumericArrayList) {
+            NumericArrayList numbers = (NumericArrayList) list;
+            if (numbers.kind() == NumericArrayList.LONGS)
+                return new NumericArrayList(numbers.toLongArray());
+            if (numbers.kind() == NumericArrayList.DOUBLES)
+                return new NumericArrayList(numbers.toDoubleArray());
+        }
+        return new ArrayList<>((List<Object>) list);
+    }
+
+    private static Object share(Object value, ThreadingMode threadingMode) {
+        if (!(value instanceof Map || value instanceof List) || Frozen.isFrozen(value))
+            return value;
+        return TreeUtil.deepCopy(value, threadingMode);
+    }
+}
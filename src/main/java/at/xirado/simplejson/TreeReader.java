@@ -0,0 +1,356 @@
+package at.xirado.simplejson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.FilterInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Materializes values from a {@link JsonParser} into the same {@link Map}/{@link List} trees
+ * that {@link JSONObject} and {@link JSONArray} are backed by.
+ *
+ * <p>The limits of the {@link ParseOptions} are checked token by token,
+ * a payload is rejected as soon as it exceeds one of them.
+ */
+final class TreeReader {
+    private final JsonParser parser;
+    private final ParseOptions options;
+    private final NumberPolicy numberPolicy;
+    private final int maxDepth;
+    private final long maxTokens;
+    private final int maxStringLength;
+    private int depth;
+    private long tokens;
+
+    private TreeReader(JsonParser parser, ParseOptions options) {
+        this.parser = parser;
+        this.options = options;
+        this.numberPolicy = options.getNumberPolicy();
+        this.maxDepth = options.getMaxDepth();
+        this.maxTokens = options.getMaxTokens();
+        this.maxStringLength = options.getMaxStringLength();
+    }
+
+    /**
+     * Reads the value the parser is currently positioned at, including all of its children.
+     * Afterwards the parser is positioned at the last token of the value.
+     *
+     * @param parser  The parser, positioned at the first token of a value
+     * @param options The options which decide how nested objects and arrays are stored
+     * @return The value, which is a {@link Map}, {@link List}, {@link String}, {@link Number}, {@link Boolean} or null
+     * @throws IOException      If the underlying input could not be read
+     * @throws ParsingException If the value exceeds one of the limits of the options
+     */
+    @Nullable
+    static Object readValue(@NotNull JsonParser parser, @NotNull ParseOptions options) throws IOException {
+        return new TreeReader(parser, options).value();
+    }
+
+    /**
+     * Reads the root value of a document, which has to be of the expected type.
+     *
+     * @param parser   The parser, positioned before the first token
+     * @param options  The options which decide how the value and its children are stored
+     * @param expected Either {@link JsonToken#START_OBJECT} or {@link JsonToken#START_ARRAY}
+     * @return The unwrapped map or list
+     * @throws IOException      If the underlying input could not be read
+     * @throws ParsingException If the document exceeds one of the limits of the options
+     */
+    @NotNull
+    static Object readRoot(@NotNull JsonParser parser, @NotNull ParseOptions options, @NotNull JsonToken expected) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token != expected)
+            throw new ParsingException("Expected " + expected + " but found " + token + " at " + parser.getCurrentLocation());
+        return new TreeReader(parser, options).value();
+    }
+
+    /**
+     * Checks the size of a payload which is available in full, before parsing starts.
+     *
+     * @param length  The size of the payload, in bytes or characters
+     * @param options The options which decide the maximum size
+     * @throws ParsingException If the payload is larger than {@link ParseOptions#getMaxBytes()}
+     */
+    static void checkSize(long length, @NotNull ParseOptions options) {
+        if (length > options.getMaxBytes())
+            throw sizeExceeded(options.getMaxBytes());
+    }
+
+    /**
+     * Wraps a stream, so it fails as soon as more than {@link ParseOptions#getMaxBytes()} are read from it.
+     *
+     * @param stream  The payload
+     * @param options The options which decide the maximum size
+     * @return The provided stream if the size is not limited, a limiting stream otherwise
+     */
+    @NotNull
+    static InputStream limit(@NotNull InputStream stream, @NotNull ParseOptions options) {
+        return options.getMaxBytes() == Long.MAX_VALUE ? stream : new LimitedInputStream(stream, options.getMaxBytes());
+    }
+
+    /**
+     * Wraps a reader, so it fails as soon as more than {@link ParseOptions#getMaxBytes()} characters are read from it.
+     *
+     * @param reader  The payload
+     * @param options The options which decide the maximum size
+     * @return The provided reader if the size is not limited, a limiting reader otherwise
+     */
+    @NotNull
+    static Reader limit(@NotNull Reader reader, @NotNull ParseOptions options) {
+        return options.getMaxBytes() == Long.MAX_VALUE ? reader : new LimitedReader(reader, options.getMaxBytes());
+    }
+
+    private Object value() throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null)
+            throw new ParsingException("Unexpected end of input");
+        countToken();
+        switch (token) {
+            case START_OBJECT:
+                return options.isFrozen() ? frozenObject() : object();
+            case START_ARRAY:
+                return array();
+            case VALUE_STRING:
+                checkLength(parser.getTextLength());
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return number(token);
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            case VALUE_EMBEDDED_OBJECT:
+                return parser.getEmbeddedObject();
+            default:
+                throw new ParsingException("Unexpected token " + token + " at " + parser.getCurrentLocation());
+        }
+    }
+
+    private Map<String, Object> object() throws IOException {
+        enter();
+        Map<String, Object> map = options.getThreadingMode().newMap();
+        boolean rejectDuplicates = options.getDuplicateKeyPolicy() == DuplicateKeyPolicy.REJECT;
+        String key;
+        while ((key = parser.nextFieldName()) != null) {
+            key = key(key);
+            parser.nextToken();
+            if (rejectDuplicates && map.containsKey(key))
+                throw new ParsingException("Duplicate key '" + key + "' at " + parser.getTokenLocation());
+            map.put(key, value());
+        }
+        depth--;
+        return map;
+    }
+
+    // Collects the entries without a temporary map, the frozen map is built from them directly
+    private Map<String, Object> frozenObject() throws IOException {
+        enter();
+        Object[] pairs = new Object[16];
+        int count = 0;
+        String key;
+        while ((key = parser.nextFieldName()) != null) {
+            key = key(key);
+            parser.nextToken();
+            if (count * 2 == pairs.length)
+                pairs = Arrays.copyOf(pairs, pairs.length * 2);
+            pairs[count * 2] = key;
+            pairs[count * 2 + 1] = value();
+            count++;
+        }
+        depth--;
+        Frozen.FrozenMap map = new Frozen.FrozenMap(pairs, count);
+        // Duplicates collapse into one entry, which is only noticeable once the map is built
+        if (map.size() != count && options.getDuplicateKeyPolicy() == DuplicateKeyPolicy.REJECT)
+            throw new ParsingException("Duplicate key in object ending at " + parser.getTokenLocation());
+        return map;
+    }
+
+    private List<Object> array() throws IOException {
+        enter();
+        List<Object> list;
+        if (options.isPrimitiveArrays()) {
+            list = numericArray();
+        } else {
+            list = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY)
+                list.add(value());
+        }
+        depth--;
+        // The elements are frozen already, this only copies the list itself
+        return options.isFrozen() ? Frozen.freezeList(list) : list;
+    }
+
+    // Numbers are appended without boxing, the list falls back to boxed storage on the first other value
+    private List<Object> numericArray() throws IOException {
+        NumericArrayList list = new NumericArrayList();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                // The length is checked first, the number type of an integer with too many digits is expensive to determine
+                if (maxStringLength != Integer.MAX_VALUE)
+                    checkLength(parser.getTextLength());
+                JsonParser.NumberType type = parser.getNumberType();
+                if (token == JsonToken.VALUE_NUMBER_INT && numberPolicy != NumberPolicy.DOUBLE
+                        && (type == JsonParser.NumberType.INT || type == JsonParser.NumberType.LONG)) {
+                    countToken();
+                    list.addLong(parser.getLongValue());
+                    continue;
+                }
+                if (numberPolicy == NumberPolicy.DOUBLE || token == JsonToken.VALUE_NUMBER_FLOAT && numberPolicy != NumberPolicy.BIG_DECIMAL
+                        && (type == JsonParser.NumberType.DOUBLE || type == JsonParser.NumberType.FLOAT)) {
+                    countToken();
+                    list.addDouble(parser.getDoubleValue());
+                    continue;
+                }
+            }
+            list.add(value());
+        }
+        list.trimToSize();
+        return list;
+    }
+
+    private Object number(JsonToken token) throws IOException {
+        if (maxStringLength != Integer.MAX_VALUE)
+            checkLength(parser.getTextLength());
+        switch (numberPolicy) {
+            case LONG_AND_DOUBLE:
+                if (token == JsonToken.VALUE_NUMBER_FLOAT)
+                    return parser.getDoubleValue();
+                if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER)
+                    throw new ParsingException("Integer out of range of long at " + parser.getTokenLocation());
+                return parser.getLongValue();
+            case DOUBLE:
+                return parser.getDoubleValue();
+            case BIG_DECIMAL:
+                if (token == JsonToken.VALUE_NUMBER_FLOAT)
+                    return parser.getDecimalValue();
+                return parser.getNumberValue();
+            default:
+                return parser.getNumberValue();
+        }
+    }
+
+    private String key(String key) {
+        countToken();
+        checkLength(key.length());
+        KeyPool keyPool = options.getKeyPool();
+        return keyPool != null ? keyPool.intern(key) : key;
+    }
+
+    private void countToken() {
+        if (++tokens > maxTokens)
+            throw limitExceeded("number of tokens", maxTokens);
+    }
+
+    private void enter() {
+        if (++depth > maxDepth)
+            throw limitExceeded("depth", maxDepth);
+    }
+
+    private void checkLength(int length) {
+        if (length > maxStringLength)
+            throw limitExceeded("string length", maxStringLength);
+    }
+
+    private ParsingException limitExceeded(String limit, long max) {
+        return new ParsingException("Payload exceeds the maximum " + limit + " of " + max + " at " + parser.getTokenLocation());
+    }
+
+    private static ParsingException sizeExceeded(long maxBytes) {
+        return new ParsingException("Payload exceeds the maximum size of " + maxBytes + " bytes");
+    }
+
+    private static final class LimitedInputStream extends FilterInputStream {
+        private long remaining;
+        private final long maxBytes;
+
+        LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.remaining = maxBytes;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1 && --remaining < 0)
+                throw sizeExceeded(maxBytes);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            // Reading one byte past the limit tells a payload of exactly the maximum size apart from a larger one
+            int read = super.read(b, off, (int) Math.min(len, remaining + 1));
+            if (read > 0 && (remaining -= read) < 0)
+                throw sizeExceeded(maxBytes);
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining + 1));
+            if ((remaining -= skipped) < 0)
+                throw sizeExceeded(maxBytes);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+    private static final class LimitedReader extends FilterReader {
+        private long remaining;
+        private final long maxChars;
+
+        LimitedReader(Reader in, long maxChars) {
+            super(in);
+            this.remaining = maxChars;
+            this.maxChars = maxChars;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c = super.read();
+            if (c != -1 && --remaining < 0)
+                throw sizeExceeded(maxChars);
+            return c;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            int read = super.read(cbuf, off, (int) Math.min(len, remaining + 1));
+            if (read > 0 && (remaining -= read) < 0)
+                throw sizeExceeded(maxChars);
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining + 1));
+            if ((remaining -= skipped) < 0)
+                throw sizeExceeded(maxChars);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,436 @@
+package at.xirado.simplejson;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Structural operations on the {@link Map}/{@link List} trees that {@link JSONObject} and {@link JSONArray} are backed by.
+ *
+ * <p>All operations walk the tree with an explicit stack instead of recursion,
+ * so they work for arbitrarily deep trees.
+ *
+ * <p>Numbers are compared by value within two categories: integral numbers ({@link Integer}, {@link Long}, ...)
+ * and floating point numbers ({@link Double}, {@link BigDecimal}, ...).
+ * An {@link Integer} 1 equals a {@link Long} 1, but not a {@link Double} 1.0, just like {@code 1} and {@code 1.0} differ in JSON.
+ */
+final class TreeUtil {
+    private static final Object tieLock = new Object();
+
+    private TreeUtil() {}
+
+    /**
+     * Copies the provided tree into new mutable maps and lists.
+     * Leaf values such as Strings and Numbers are immutable and therefore shared.
+     * Primitive numeric arrays keep their primitive storage.
+     *
+     * @param root          The map or list to copy
+     * @param threadingMode The mode whose map implementation is used for the copies
+     * @return The copy
+     */
+    @NotNull
+    static Object deepCopy(@NotNull Object root, @NotNull ThreadingMode threadingMode) {
+        Deque<Object> stack = new ArrayDeque<>();
+        Object copy = copyChild(root, threadingMode, stack);
+        while (!stack.isEmpty()) {
+            Object target = stack.pop();
+            Object source = stack.pop();
+            if (source instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> targetMap = (Map<String, Object>) target;
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) source).entrySet())
+                    targetMap.put((String) entry.getKey(), copyChild(entry.getValue(), threadingMode, stack));
+            } else {
+                @SuppressWarnings("unchecked")
+                List<Object> targetList = (List<Object>) target;
+                for (Object element : (List<?>) source)
+                    targetList.add(copyChild(element, threadingMode, stack));
+            }
+        }
+        return copy;
+    }
+
+    // Creates the copy of a child, containers are populated later from the stack
+    private static Object copyChild(Object value, ThreadingMode threadingMode, Deque<Object> stack) {
+        if (!(value instanceof Map || value instanceof List))
+            return value;
+        Object copy = emptyCopy(value, threadingMode);
+        if (copy instanceof NumericArrayList && ((NumericArrayList) copy).kind() != NumericArrayList.EMPTY)
+            return copy;
+        stack.push(value);
+        stack.push(copy);
+        return copy;
+    }
+
+    private static Object emptyCopy(Object value, ThreadingMode threadingMode) {
+        if (value instanceof Map)
+            return threadingMode.newMap();
+        if (value instanceof NumericArrayList) {
+            NumericArrayList numbers = (NumericArrayList) value;
+            switch (numbers.kind()) {
+                case NumericArrayList.LONGS:
+                    return new NumericArrayList(numbers.toLongArray());
+                case NumericArrayList.DOUBLES:
+                    return new NumericArrayList(numbers.toDoubleArray());
+                default:
+                    return new NumericArrayList();
+            }
+        }
+        return new ArrayList<>(((List<?>) value).size());
+    }
+
+    /**
+     * Runs the action while holding the locks of both containers.
+     * The locks are always acquired in the same order, so two threads which lock the same pair in opposite roles,
+     * such as {@code a.equals(b)} and {@code b.equals(a)}, can't deadlock.
+     * The maps of {@link ThreadingMode#CONCURRENT} are never locked by their writers, so holding their monitor doesn't
+     * exclude writes, the action sees them weakly consistent.
+     *
+     * @param a      The lock of the first container
+     * @param b      The lock of the second container
+     * @param action The action to run
+     * @return The result of the action
+     */
+    static <T> T lockBoth(@NotNull Object a, @NotNull Object b, @NotNull Supplier<T> action) {
+        if (a == b) {
+            synchronized (a) {
+                return action.get();
+            }
+        }
+        int hashA = System.identityHashCode(a);
+        int hashB = System.identityHashCode(b);
+        if (hashA == hashB) {
+            // Identity hash codes can collide, pairs which can't be ordered are serialized on a shared lock
+            synchronized (tieLock) {
+                synchronized (a) {
+                    synchronized (b) {
+                        return action.get();
+                    }
+                }
+            }
+        }
+        Object first = hashA < hashB ? a : b;
+        Object second = hashA < hashB ? b : a;
+        synchronized (first) {
+            synchronized (second) {
+                return action.get();
+            }
+        }
+    }
+
+    /**
+     * Compares two trees structurally.
+     * Subtrees which are the same instance, such as shared frozen or persistent children, are not walked.
+     *
+     * @return True, if both trees have equal shape and values
+     */
+    static boolean deepEquals(@Nullable Object a, @Nullable Object b) {
+        return deepEquals(a, b, false);
+    }
+
+    /**
+     * Compares two trees structurally like {@link #deepEquals(Object, Object)}, but compares all numbers by their
+     * mathematical value, so {@code 1} equals {@code 1.0} as required by the test operation of RFC 6902.
+     *
+     * @return True, if both trees have equal shape and numerically equal values
+     */
+    static boolean numericEquals(@Nullable Object a, @Nullable Object b) {
+        return deepEquals(a, b, true);
+    }
+
+    private static boolean deepEquals(Object a, Object b, boolean numeric) {
+        if (a == null || b == null)
+            return a == b;
+        Deque<Object> stack = new ArrayDeque<>();
+        stack.push(a);
+        stack.push(b);
+        while (!stack.isEmpty()) {
+            Object right = stack.pop();
+            Object left = stack.pop();
+            if (left == right)
+                continue;
+            if (left instanceof Map) {
+                if (!(right instanceof Map))
+                    return false;
+                Map<?, ?> leftMap = (Map<?, ?>) left;
+                Map<?, ?> rightMap = (Map<?, ?>) right;
+                if (leftMap.size() != rightMap.size())
+                    return false;
+                for (Map.Entry<?, ?> entry : leftMap.entrySet()) {
+                    Object value = entry.getValue();
+                    Object other = rightMap.get(entry.getKey());
+                    if (other == null && (value != null || !rightMap.containsKey(entry.getKey())))
+                        return false;
+                    if (!shallowEquals(value, other, numeric, stack))
+                        return false;
+                }
+            } else if (left instanceof List) {
+                if (!(right instanceof List))
+                    return false;
+                List<?> leftList = (List<?>) left;
+                List<?> rightList = (List<?>) right;
+                if (leftList.size() != rightList.size())
+                    return false;
+                Iterator<?> rightIterator = rightList.iterator();
+                for (Object element : leftList) {
+                    if (!shallowEquals(element, rightIterator.next(), numeric, stack))
+                        return false;
+                }
+            } else if (!valueEquals(left, right, numeric)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Compares leaves immediately, containers of the same kind are deferred to the stack
+    private static boolean shallowEquals(Object left, Object right, boolean numeric, Deque<Object> stack) {
+        if (left == right)
+            return true;
+        if (left instanceof Map || left instanceof List) {
+            if (left instanceof Map ? !(right instanceof Map) : !(right instanceof List))
+                return false;
+            stack.push(left);
+            stack.push(right);
+            return true;
+        }
+        return valueEquals(left, right, numeric);
+    }
+
+    /**
+     * Compares two leaf values, with the same number semantics as {@link #deepEquals(Object, Object)}.
+     */
+    static boolean valueEquals(@Nullable Object left, @Nullable Object right) {
+        return valueEquals(left, right, false);
+    }
+
+    private static boolean valueEquals(Object left, Object right, boolean numeric) {
+        if (left instanceof Number && right instanceof Number) {
+            Number a = (Number) left;
+            Number b = (Number) right;
+            boolean integral = isIntegral(a);
+            if (integral != isIntegral(b)) {
+                if (!numeric)
+                    return false;
+                BigDecimal decimalA = toBigDecimal(a);
+                BigDecimal decimalB = toBigDecimal(b);
+                return decimalA != null && decimalB != null && decimalA.compareTo(decimalB) == 0;
+            }
+            if (integral) {
+                if (fitsLong(a) && fitsLong(b))
+                    return a.longValue() == b.longValue();
+                return toBigInteger(a).equals(toBigInteger(b));
+            }
+            if (a instanceof BigDecimal && b instanceof BigDecimal)
+                return ((BigDecimal) a).compareTo((BigDecimal) b) == 0;
+            return Double.doubleToLongBits(a.doubleValue()) == Double.doubleToLongBits(b.doubleValue());
+        }
+        return Objects.equals(left, right);
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Integer || number instanceof Long || number instanceof Short
+                || number instanceof Byte || number instanceof BigInteger;
+    }
+
+    private static boolean fitsLong(Number number) {
+        return !(number instanceof BigInteger) || ((BigInteger) number).bitLength() < 64;
+    }
+
+    // Exact decimal value of a number, or null for NaN and infinity. Doubles use their shortest representation,
+    // so a parsed 0.1 equals a BigDecimal 0.1
+    private static BigDecimal toBigDecimal(Number number) {
+        if (number instanceof BigDecimal)
+            return (BigDecimal) number;
+        if (number instanceof BigInteger)
+            return new BigDecimal((BigInteger) number);
+        if (isIntegral(number))
+            return BigDecimal.valueOf(number.longValue());
+        double value = number.doubleValue();
+        if (Double.isNaN(value) || Double.isInfinite(value))
+            return null;
+        return number instanceof Float ? new BigDecimal(number.toString()) : BigDecimal.valueOf(value);
+    }
+
+    private static BigInteger toBigInteger(Number number) {
+        return number instanceof BigInteger ? (BigInteger) number : BigInteger.valueOf(number.longValue());
+    }
+
+    /**
+     * Computes a 128 bit fingerprint of the provided tree, without serializing it.
+     *
+     * <p>The fingerprint is consistent with {@link #deepEquals(Object, Object)}: equal trees always have equal fingerprints,
+     * regardless of the iteration order of their maps. It only depends on the content, so it is stable across
+     * processes and versions of the JVM. It is not a cryptographic hash.
+     *
+     * @return The fingerprint as two 64 bit halves
+     */
+    @NotNull
+    static UUID fingerprint(@Nullable Object root) {
+        Fingerprinter fingerprinter = new Fingerprinter(true);
+        fingerprinter.run(root);
+        return new UUID(fingerprinter.r1, fingerprinter.r2);
+    }
+
+    /**
+     * Computes only the first half of {@link #fingerprint(Object)}, which takes half the work.
+     *
+     * @return The most significant 64 bits of the fingerprint
+     */
+    static long fingerprint64(@Nullable Object root) {
+        Fingerprinter fingerprinter = new Fingerprinter(false);
+        fingerprinter.run(root);
+        return fingerprinter.r1;
+    }
+
+    private static final class Fingerprinter {
+        private static final long SEED1 = 0x9E3779B97F4A7C15L, SEED2 = 0xC2B2AE3D27D4EB4FL;
+        private static final int NULL = 1, FALSE = 2, TRUE = 3, INTEGRAL = 4, BIG_INTEGRAL = 5, FLOATING = 6,
+                STRING = 7, OTHER = 8, MAP = 9, LIST = 10;
+
+        // Whether the second lane is computed as well
+        private final boolean wide;
+        // Result of the last fingerprinted value
+        private long r1, r2;
+
+        Fingerprinter(boolean wide) {
+            this.wide = wide;
+        }
+
+        private static final class Frame {
+            final boolean map;
+            final Iterator<?> iterator;
+            final int size;
+            // Running state for lists, commutative sum of the entries for maps
+            long h1, h2;
+            // Fingerprint of the key whose value is currently being processed
+            long k1, k2;
+
+            Frame(Object container) {
+                this.map = container instanceof Map;
+                Collection<?> elements = map ? ((Map<?, ?>) container).entrySet() : (List<?>) container;
+                this.iterator = elements.iterator();
+                this.size = elements.size();
+                if (!map) {
+                    h1 = SEED1;
+                    h2 = SEED2;
+                }
+            }
+        }
+
+        void run(Object root) {
+            if (!(root instanceof Map || root instanceof List)) {
+                leaf(root);
+                return;
+            }
+            Deque<Frame> stack = new ArrayDeque<>();
+            stack.push(new Frame(root));
+            while (true) {
+                Frame frame = stack.peek();
+                if (frame.iterator.hasNext()) {
+                    Object value = frame.iterator.next();
+                    if (frame.map) {
+                        Map.Entry<?, ?> entry = (Map.Entry<?, ?>) value;
+                        leaf(String.valueOf(entry.getKey()));
+                        frame.k1 = r1;
+                        if (wide)
+                            frame.k2 = r2;
+                        value = entry.getValue();
+                    }
+                    if (value instanceof Map || value instanceof List) {
+                        stack.push(new Frame(value));
+                        continue;
+                    }
+                    leaf(value);
+                    combine(frame);
+                } else {
+                    stack.pop();
+                    finish(frame);
+                    Frame parent = stack.peek();
+                    if (parent == null)
+                        return;
+                    combine(parent);
+                }
+            }
+        }
+
+        // Adds the last result to the frame
+        private void combine(Frame frame) {
+            if (frame.map) {
+                // Entries are summed, so the order in which they are visited doesn't matter
+                frame.h1 += mix(frame.k1 ^ mix(r1 + SEED1));
+                if (wide)
+                    frame.h2 += mix(frame.k2 ^ mix(r2 + SEED2));
+            } else {
+                frame.h1 = step(frame.h1, r1);
+                if (wide)
+                    frame.h2 = step(frame.h2, r2);
+            }
+        }
+
+        private void finish(Frame frame) {
+            int tag = frame.map ? MAP : LIST;
+            r1 = mix(step(step(SEED1, tag), frame.size) ^ frame.h1);
+            if (wide)
+                r2 = mix(step(step(SEED2, tag), frame.size) ^ frame.h2);
+        }
+
+        private void leaf(Object value) {
+            r1 = mix(lane(value, SEED1));
+            if (wide)
+                r2 = mix(lane(value, SEED2) ^ SEED1);
+        }
+
+        // Hashes a leaf value, both lanes run the same steps from a different seed
+        private static long lane(Object value, long h) {
+            if (value == null) {
+                h = step(h, NULL);
+            } else if (value instanceof Boolean) {
+                h = step(h, (Boolean) value ? TRUE : FALSE);
+            } else if (value instanceof String) {
+                String string = (String) value;
+                h = step(h, STRING);
+                int length = string.length();
+                int i = 0;
+                for (; i + 4 <= length; i += 4) {
+                    h = step(h, (long) string.charAt(i) | (long) string.charAt(i + 1) << 16
+                            | (long) string.charAt(i + 2) << 32 | (long) string.charAt(i + 3) << 48);
+                }
+                long rest = 0;
+                for (int shift = 0; i < length; i++, shift += 16)
+                    rest |= (long) string.charAt(i) << shift;
+                h = step(step(h, rest), length);
+            } else if (value instanceof Number && isIntegral((Number) value)) {
+                Number number = (Number) value;
+                if (fitsLong(number)) {
+                    h = step(step(h, INTEGRAL), number.longValue());
+                } else {
+                    h = step(h, BIG_INTEGRAL);
+                    for (byte b : ((BigInteger) number).toByteArray())
+                        h = step(h, b);
+                }
+            } else if (value instanceof Number) {
+                h = step(step(h, FLOATING), Double.doubleToLongBits(((Number) value).doubleValue()));
+            } else {
+                // Values of other types can only be fingerprinted by their own hash code
+                h = step(step(h, OTHER), value.hashCode());
+            }
+            return h;
+        }
+
+        private static long step(long state, long value) {
+            return Long.rotateLeft(state ^ mix(value + 0x632BE59BD9B4E019L), 29) * 0x9FB21C651E98DF25L;
+        }
+
+        // Finalizer of MurmurHash3
+        private static long mix(long z) {
+            z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+            z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+            return z ^ (z >>> 33);
+        }
+    }
+}
@@ -1,18 +1,23 @@
 package at.xirado.simplejson
 
-inline fun <reified T> JSONArray.collect() = (0 until length()).map { getValue<T>(it) }
+/**
+ * Reads every element as [T], under a single acquisition of the array's lock.
+ */
+inline fun <reified T> JSONArray.collect(): List<T> = synchronized(toList()) { List(length()) { getValue<T>(it) } }
 
 inline fun <reified T> JSONArray.asSequence() = (0 until length()).asSequence().map { getValue<T>(it) }
 
-inline fun <reified T> JSONArray.getValue(index: Int) = when (T::class) {
-    String::class -> getString(index) as T
-    Int::class -> getInt(index) as T
-    Long::class -> getLong(index) as T
-    Double::class -> getDouble(index) as T
-    Float::class -> getDouble(index).toFloat() as T
-    Boolean::class -> getBoolean(index) as T
-    JSONObject::class -> getObject(index) as T
-    JSONArray::class -> getArray(index) as T
+// Dispatches at runtime by comparing T::class.java against class literals, which is cheaper than comparing KClass
+// instances. The result is still boxed to T.
+inline fun <reified T> JSONArray.getValue(index: Int) = when (T::class.java) {
+    String::class.java -> getString(index) as T
+    Int::class.javaObjectType -> getInt(index) as T
+    Long::class.javaObjectType -> getLong(index) as T
+    Double::class.javaObjectType -> getDouble(index) as T
+    Float::class.javaObjectType -> getDouble(index).toFloat() as T
+    Boolean::class.javaObjectType -> getBoolean(index) as T
+    JSONObject::class.java -> getObject(index) as T
+    JSONArray::class.java -> getArray(index) as T
     else -> throw IllegalArgumentException("Cannot get object of type ${T::class.simpleName}")
 }
 
@@ -21,4 +26,29 @@ inline fun <reified T> JSONArray.get(index: Int): T? {
         null
     else
         getValue(index)
-}
\ No newline at end of file
+}
+
+/**
+ * Copies every element into a [LongArray] without boxing, see [JSONArray.toLongArray].
+ */
+fun JSONArray.collectLongs(): LongArray = toLongArray()
+
+/**
+ * Copies every element into a [DoubleArray] without boxing, see [JSONArray.toDoubleArray].
+ */
+fun JSONArray.collectDoubles(): DoubleArray = toDoubleArray()
+
+/**
+ * Copies every element into an [IntArray] without boxing, under a single acquisition of the array's lock.
+ */
+fun JSONArray.collectInts(): IntArray = synchronized(toList()) { IntArray(length()) { getInt(it) } }
+
+/**
+ * Copies every element into a [BooleanArray] without boxing, under a single acquisition of the array's lock.
+ */
+fun JSONArray.collectBooleans(): BooleanArray = synchronized(toList()) { BooleanArray(length()) { getBoolean(it) } }
+
+/**
+ * Reads every element as a String, under a single acquisition of the array's lock.
+ */
+fun JSONArray.collectStrings(): List<String> = synchronized(toList()) { List(length()) { getString(it) } }
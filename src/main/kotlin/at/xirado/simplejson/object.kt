@@ -1,14 +1,16 @@
 package at.xirado.simplejson
 
-inline fun <reified T> JSONObject.getValue(key: String) = when (T::class) {
-    String::class -> getString(key) as T
-    Int::class -> getInt(key) as T
-    Long::class -> getLong(key) as T
-    Double::class -> getDouble(key) as T
-    Float::class -> getDouble(key).toFloat() as T
-    Boolean::class -> getBoolean(key) as T
-    JSONObject::class -> getObject(key) as T
-    JSONArray::class -> getArray(key) as T
+// Dispatches at runtime by comparing T::class.java against class literals, which is cheaper than comparing KClass
+// instances. The result is still boxed to T.
+inline fun <reified T> JSONObject.getValue(key: String) = when (T::class.java) {
+    String::class.java -> getString(key) as T
+    Int::class.javaObjectType -> getInt(key) as T
+    Long::class.javaObjectType -> getLong(key) as T
+    Double::class.javaObjectType -> getDouble(key) as T
+    Float::class.javaObjectType -> getDouble(key).toFloat() as T
+    Boolean::class.javaObjectType -> getBoolean(key) as T
+    JSONObject::class.java -> getObject(key) as T
+    JSONArray::class.java -> getArray(key) as T
     else -> throw IllegalArgumentException("Cannot get object of type ${T::class.simpleName}")
 }
 
@@ -20,6 +22,3 @@ inline fun <reified T> JSONObject.get(key: String): T? {
 }
 
 inline fun json(block: InlineJsonObject.() -> Unit) = InlineJsonObject(JSONObject.empty()).apply(block).toData()
-
-
-
@@ -0,0 +1,169 @@
+package at.xirado.simplejson
+
+import com.fasterxml.jackson.core.JsonGenerator
+import java.io.ByteArrayOutputStream
+import java.io.OutputStream
+import java.io.StringWriter
+import java.io.Writer
+
+/**
+ * Object scope of the streaming DSL. Every call is written to the underlying [JSONWriter] as it happens,
+ * nested blocks are inlined and no intermediate [JSONObject] is built.
+ *
+ * @see jsonTo
+ */
+class StreamingJsonObject @PublishedApi internal constructor(@PublishedApi internal val writer: JSONWriter) {
+    infix fun String.by(value: String?) {
+        writer.name(this).value(value)
+    }
+
+    infix fun String.by(value: Int) {
+        writer.name(this).value(value.toLong())
+    }
+
+    infix fun String.by(value: Long) {
+        writer.name(this).value(value)
+    }
+
+    infix fun String.by(value: Double) {
+        writer.name(this).value(value)
+    }
+
+    infix fun String.by(value: Boolean) {
+        writer.name(this).value(value)
+    }
+
+    /**
+     * Writes any value supported by [JSONWriter.value], such as a [JSONObject] or [SerializableData].
+     */
+    infix fun String.by(value: Any?) {
+        writer.name(this).value(value)
+    }
+
+    inline infix fun String.by(builder: StreamingJsonObject.() -> Unit) {
+        writer.name(this).beginObject()
+        this@StreamingJsonObject.builder()
+        writer.endObject()
+    }
+
+    inline infix fun String.array(builder: StreamingJsonArray.() -> Unit) {
+        writer.name(this).beginArray()
+        StreamingJsonArray(writer).builder()
+        writer.endArray()
+    }
+}
+
+/**
+ * Array scope of the streaming DSL, every element is written to the underlying [JSONWriter] as it is added.
+ *
+ * @see jsonTo
+ */
+class StreamingJsonArray @PublishedApi internal constructor(@PublishedApi internal val writer: JSONWriter) {
+    fun value(value: String?) {
+        writer.value(value)
+    }
+
+    fun value(value: Int) {
+        writer.value(value.toLong())
+    }
+
+    fun value(value: Long) {
+        writer.value(value)
+    }
+
+    fun value(value: Double) {
+        writer.value(value)
+    }
+
+    fun value(value: Boolean) {
+        writer.value(value)
+    }
+
+    /**
+     * Writes any value supported by [JSONWriter.value], such as a [JSONObject] or [SerializableData].
+     */
+    fun value(value: Any?) {
+        writer.value(value)
+    }
+
+    inline fun obj(builder: StreamingJsonObject.() -> Unit) {
+        writer.beginObject()
+        StreamingJsonObject(writer).builder()
+        writer.endObject()
+    }
+
+    inline fun array(builder: StreamingJsonArray.() -> Unit) {
+        writer.beginArray()
+        this@StreamingJsonArray.builder()
+        writer.endArray()
+    }
+}
+
+/**
+ * Writes the object built by [block] as UTF-8 encoded JSON to [stream], while the block runs.
+ * The stream is flushed, but not closed.
+ *
+ * ```
+ * jsonTo(response.outputStream) {
+ *     "id" by 42
+ *     "user" by {
+ *         "name" by user.name
+ *     }
+ *     "items" array {
+ *         for (item in items) obj { "sku" by item.sku }
+ *     }
+ * }
+ * ```
+ */
+inline fun jsonTo(stream: OutputStream, block: StreamingJsonObject.() -> Unit) {
+    writeJson(streamingWriter(stream), block)
+}
+
+/**
+ * Writes the object built by [block] as JSON to [writer], while the block runs.
+ * The writer is flushed, but not closed.
+ */
+inline fun jsonTo(writer: Writer, block: StreamingJsonObject.() -> Unit) {
+    writeJson(streamingWriter(writer), block)
+}
+
+/**
+ * Builds an object by streaming it into a byte array, without building a [JSONObject] first.
+ */
+inline fun jsonBytes(block: StreamingJsonObject.() -> Unit): ByteArray {
+    val stream = ByteArrayOutputStream()
+    jsonTo(stream, block)
+    return stream.toByteArray()
+}
+
+/**
+ * Builds an object by streaming it into a String, without building a [JSONObject] first.
+ */
+inline fun jsonString(block: StreamingJsonObject.() -> Unit): String {
+    val writer = StringWriter()
+    jsonTo(writer, block)
+    return writer.toString()
+}
+
+@PublishedApi
+internal inline fun writeJson(writer: JSONWriter, block: StreamingJsonObject.() -> Unit) {
+    // The target belongs to the caller, closing the writer only flushes and releases the generator.
+    // Open objects are not closed automatically, output which was cut short by an exception stays invalid
+    writer.use {
+        it.beginObject()
+        StreamingJsonObject(it).block()
+        it.endObject()
+    }
+}
+
+@PublishedApi
+internal fun streamingWriter(stream: OutputStream) =
+    JSONWriter(JSONCodecs.get(FileType.JSON).factory.createGenerator(stream)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT))
+
+@PublishedApi
+internal fun streamingWriter(writer: Writer) =
+    JSONWriter(JSONCodecs.get(FileType.JSON).factory.createGenerator(writer)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT))
@@ -0,0 +1,68 @@
+package at.xirado.simplejson
+
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+internal class ConcurrentDataMapTest {
+    @Test
+    fun testNullValues() {
+        val json = JSONObject.fromJson("""{"a":null,"b":1}""", ThreadingMode.CONCURRENT)
+        val map = json.toMap()
+        assertTrue(map is ConcurrentDataMap)
+        assertTrue(map.containsKey("a"))
+        assertNull(map["a"])
+        assertTrue(json.isNull("a"))
+        assertTrue(map.containsValue(null))
+        assertEquals(null, map.getOrDefault("a", 5))
+        assertEquals(5, map.getOrDefault("missing", 5))
+        assertEquals(mapOf("a" to null, "b" to 1), HashMap(map))
+        assertEquals("""{"a":null,"b":1}""", json.toString())
+
+        // A key mapped to null counts as absent for the atomic defaults of Map
+        assertNull(map.putIfAbsent("a", 2))
+        assertEquals(2, map["a"])
+        assertEquals(2, map.putIfAbsent("a", 3))
+        map["c"] = null
+        assertEquals(4, map.computeIfAbsent("c") { 4 })
+        map["d"] = null
+        assertNull(map.computeIfPresent("d") { _, _ -> 5 })
+        assertTrue(map.containsKey("d"))
+        assertEquals(1, map.merge("d", 1) { _, _ -> 9 })
+        assertEquals(3, map.merge("d", 2) { old, value -> old as Int + value as Int })
+        assertNull(map.compute("d") { _, _ -> null })
+        assertFalse(map.containsKey("d"))
+        assertTrue(map.replace("b", 1, null))
+        assertTrue(map.containsKey("b"))
+        assertTrue(map.remove("b", null))
+        assertFalse(map.containsKey("b"))
+    }
+
+    @Test
+    fun testConcurrentWrites() {
+        val json = JSONObject.empty(ThreadingMode.CONCURRENT)
+        val map = json.toMap()
+        val created = AtomicInteger()
+        val pool = Executors.newFixedThreadPool(4)
+        val tasks = (0 until 4).map { thread ->
+            pool.submit {
+                repeat(10_000) { i ->
+                    map.merge("counter", 1) { old, value -> old as Int + value as Int }
+                    map.computeIfAbsent("key${i % 100}") { created.incrementAndGet(); i }
+                    json.put("thread$thread", i)
+                    assertEquals(i, json.getInt("thread$thread"))
+                }
+            }
+        }
+        pool.shutdown()
+        tasks.forEach { it.get(30, TimeUnit.SECONDS) }
+        assertEquals(40_000, json.getInt("counter"))
+        assertEquals(100, created.get())
+        assertEquals(105, json.keys().size)
+    }
+}
@@ -17,4 +17,36 @@ internal class DSLTest {
         assert(json.getObject("someObject")["someKey"] == 14)
         assert(json.getObject("someObject")["someOtherKey"] == "someOtherValue")
     }
-}
\ No newline at end of file
+
+    @Test
+    fun testStreamingDSL() {
+        val json = jsonString {
+            "someKey" by "someValue"
+            "someObject" by {
+                "someKey" by 14
+                "someOtherKey" by "someOtherValue"
+            }
+            "someArray" array {
+                value(1)
+                obj { "someKey" by true }
+            }
+        }
+        val parsed = JSONObject.fromJson(json)
+        assert(parsed["someKey"] == "someValue")
+        assert(parsed.getObject("someObject")["someKey"] == 14)
+        assert(parsed.getArray("someArray").getObject(1).getBoolean("someKey"))
+    }
+
+    @Test
+    fun testGetValue() {
+        val json = JSONObject.fromJson("""{"s":"text","i":1,"l":10000000000,"d":1.5,"b":true,"a":[1,2]}""")
+        assert(json.getValue<String>("s") == "text")
+        assert(json.getValue<Int>("i") == 1)
+        assert(json.getValue<Long>("l") == 10000000000L)
+        assert(json.getValue<Double>("d") == 1.5)
+        assert(json.getValue<Float>("d") == 1.5f)
+        assert(json.getValue<Boolean>("b"))
+        assert(json.getValue<JSONArray>("a").collect<Long>() == listOf(1L, 2L))
+        assert(json.getArray("a").collectInts().contentEquals(intArrayOf(1, 2)))
+    }
+}
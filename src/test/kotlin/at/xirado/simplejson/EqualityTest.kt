@@ -0,0 +1,34 @@
+package at.xirado.simplejson
+
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertNotEquals
+
+internal class EqualityTest {
+    @Test
+    fun testStructuralEquality() {
+        val left = JSONObject.fromJson("""{"a":1,"b":[1,2,{"c":null}]}""")
+        val right = JSONObject.empty().put("b", JSONArray.fromJson("""[1,2,{"c":null}]""")).put("a", 1L)
+        assertEquals(left, right)
+        assertEquals(left.hashCode(), right.hashCode())
+        assertEquals(left.fingerprint(), left.fingerprint128().mostSignificantBits)
+        assertNotEquals(left, JSONObject.fromJson("""{"a":1.0,"b":[1,2,{"c":null}]}"""))
+    }
+
+    @Test
+    fun testConcurrentEqualsInOppositeOrder() {
+        val left = JSONObject.fromJson("""{"a":[1,2,3]}""")
+        val right = JSONObject.fromJson("""{"a":[1,2,3]}""")
+        val pool = Executors.newFixedThreadPool(3)
+        val tasks = listOf(
+            pool.submit { repeat(100_000) { left.equals(right) } },
+            pool.submit { repeat(100_000) { right.equals(left) } },
+            pool.submit { repeat(100_000) { i -> right.put("k${i % 16}", i) } }
+        )
+        pool.shutdown()
+        // Deadlocks hang here, concurrent modification errors are rethrown
+        tasks.forEach { it.get(30, TimeUnit.SECONDS) }
+    }
+}
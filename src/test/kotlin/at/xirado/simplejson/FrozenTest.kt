@@ -0,0 +1,149 @@
+package at.xirado.simplejson
+
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+internal class FrozenTest {
+    private fun frozenMap(): Map<String, Any?> {
+        val source = LinkedHashMap<String, Any?>()
+        for (i in 0 until 20)
+            source["key$i"] = i
+        source["Aa"] = "first"
+        source["BB"] = "second"
+        source["empty"] = null
+        return Frozen.freezeMap(source)
+    }
+
+    @Test
+    fun testMapLookups() {
+        val map = frozenMap()
+        assertEquals("Aa".hashCode(), "BB".hashCode())
+        assertEquals("first", map["Aa"])
+        assertEquals("second", map["BB"])
+        for (i in 0 until 20)
+            assertEquals(i, map["key$i"])
+        assertNull(map["missing"])
+        assertNull(map["C#"])
+        assertFalse(map.containsKey("C#"))
+        assertFalse((map as Map<*, *>).containsKey(null))
+        assertNull((map as Map<*, *>)[null])
+
+        assertNull(map["empty"])
+        assertTrue(map.containsKey("empty"))
+        assertTrue(map.containsValue(null))
+        assertEquals(23, map.size)
+    }
+
+    @Test
+    fun testMapIteration() {
+        val map = frozenMap()
+        val keys = map.keys.toList()
+        assertEquals(23, keys.size)
+        assertEquals(23, map.entries.size)
+        assertEquals(23, map.values.size)
+        assertEquals(keys.toSet().size, keys.size)
+        // All views walk the table in the same order
+        assertEquals(keys, map.entries.map { it.key })
+        assertEquals(keys.map { map[it] }, map.values.toList())
+        assertEquals(keys, map.keys.toList())
+        assertFailsWith<NoSuchElementException> {
+            val iterator = map.entries.iterator()
+            repeat(24) { iterator.next() }
+        }
+
+        val duplicates = Frozen.FrozenMap(arrayOf("a", 1, "b", 2, "a", 3), 3)
+        assertEquals(2, duplicates.size)
+        assertEquals(3, duplicates["a"])
+        assertEquals(mapOf("a" to 3, "b" to 2), duplicates)
+    }
+
+    @Test
+    @Suppress("UNCHECKED_CAST")
+    fun testMapMutators() {
+        val map = frozenMap() as MutableMap<String, Any?>
+        assertFailsWith<UnsupportedOperationException> { map["Aa"] = 1 }
+        assertFailsWith<UnsupportedOperationException> { map["new"] = 1 }
+        assertFailsWith<UnsupportedOperationException> { map.remove("Aa") }
+        assertFailsWith<UnsupportedOperationException> { map.remove("Aa", "first") }
+        assertFailsWith<UnsupportedOperationException> { map.putAll(mapOf("x" to 1)) }
+        assertFailsWith<UnsupportedOperationException> { map.clear() }
+        assertFailsWith<UnsupportedOperationException> { map.putIfAbsent("new", 1) }
+        assertFailsWith<UnsupportedOperationException> { map.replace("Aa", 1) }
+        assertFailsWith<UnsupportedOperationException> { map.replace("Aa", "first", 1) }
+        assertFailsWith<UnsupportedOperationException> { map.computeIfAbsent("new") { 1 } }
+        assertFailsWith<UnsupportedOperationException> { map.computeIfPresent("Aa") { _, _ -> 1 } }
+        assertFailsWith<UnsupportedOperationException> { map.compute("Aa") { _, _ -> 1 } }
+        assertFailsWith<UnsupportedOperationException> { map.merge("Aa", 1) { _, _ -> 1 } }
+        assertFailsWith<UnsupportedOperationException> { map.replaceAll { _, _ -> 1 } }
+        assertFailsWith<UnsupportedOperationException> { map.entries.first().setValue(1) }
+        assertFailsWith<UnsupportedOperationException> { map.keys.remove("Aa") }
+        assertFailsWith<UnsupportedOperationException> { map.values.clear() }
+        assertFailsWith<UnsupportedOperationException> {
+            val iterator = map.entries.iterator()
+            iterator.next()
+            iterator.remove()
+        }
+        // Calls which would not change anything are rejected as well
+        assertFailsWith<UnsupportedOperationException> { map.putIfAbsent("Aa", 1) }
+        assertFailsWith<UnsupportedOperationException> { map.remove("Aa", "other") }
+        assertFailsWith<UnsupportedOperationException> { map.computeIfPresent("missing") { _, _ -> 1 } }
+        assertEquals(frozenMap(), map)
+    }
+
+    @Test
+    fun testList() {
+        val list = Frozen.freezeList(mutableListOf(1, null, "x", mutableMapOf<String, Any?>("a" to 1))) as MutableList<Any?>
+        assertEquals(4, list.size)
+        assertEquals(listOf(1, null, "x", mapOf("a" to 1)), list)
+        assertNull(list[1])
+        assertTrue(list.contains(null))
+        assertTrue(list[3] is Frozen.FrozenMap)
+
+        assertFailsWith<UnsupportedOperationException> { list[0] = 2 }
+        assertFailsWith<UnsupportedOperationException> { list.add(2) }
+        assertFailsWith<UnsupportedOperationException> { list.add(0, 2) }
+        assertFailsWith<UnsupportedOperationException> { list.removeAt(0) }
+        assertFailsWith<UnsupportedOperationException> { list.remove("x") }
+        assertFailsWith<UnsupportedOperationException> { list.addAll(listOf(2)) }
+        assertFailsWith<UnsupportedOperationException> { list.clear() }
+        assertFailsWith<UnsupportedOperationException> { list.removeIf { true } }
+        assertFailsWith<UnsupportedOperationException> { list.replaceAll { it } }
+        assertFailsWith<UnsupportedOperationException> { list.sortWith(compareBy { it.hashCode() }) }
+        assertFailsWith<UnsupportedOperationException> { list.subList(0, 2).clear() }
+        // Calls which would not change anything are rejected as well
+        assertFailsWith<UnsupportedOperationException> { list.addAll(emptyList()) }
+        assertFailsWith<UnsupportedOperationException> { list.removeIf { false } }
+        assertFailsWith<UnsupportedOperationException> {
+            val iterator = list.iterator()
+            iterator.next()
+            iterator.remove()
+        }
+        assertEquals(4, list.size)
+    }
+
+    @Test
+    fun testFrozenParse() {
+        val json = """{"a":{"b":[1,2.5,"x",null,{"c":true}]},"Aa":1,"BB":2,"n":null,"longs":[1,2,3],"empty":{},"list":[]}"""
+        val mutable = JSONObject.fromJson(json)
+        val frozen = JSONObject.fromJson(json, ParseOptions.defaults().withFrozen(true))
+        val primitive = JSONObject.fromJson(json, ParseOptions.defaults().withFrozen(true).withPrimitiveArrays(true))
+        assertTrue(frozen.isFrozen)
+        assertEquals(mutable, frozen)
+        assertEquals(frozen, mutable)
+        assertEquals(mutable, primitive)
+        assertEquals(mutable.keys(), frozen.keys())
+        assertEquals(mutable.hashCode(), frozen.hashCode())
+        assertEquals(mutable, JSONObject.fromJson(frozen.toString()))
+        assertTrue(frozen.getObject("a").getArray("b").getObject(4).getBoolean("c"))
+        assertFailsWith<UnsupportedOperationException> { frozen.getObject("a").getArray("b").add(1) }
+        assertFailsWith<UnsupportedOperationException> { frozen.put("x", 1) }
+
+        val array = JSONArray.fromJson("""[{"a":1},[1,2],null]""", ParseOptions.defaults().withFrozen(true))
+        assertEquals(JSONArray.fromJson("""[{"a":1},[1,2],null]"""), array)
+        assertTrue(array.isFrozen)
+    }
+}
@@ -0,0 +1,57 @@
+package at.xirado.simplejson
+
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.stream.Collectors
+import java.util.stream.StreamSupport
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertTrue
+
+internal class JSONArrayTest {
+    @Test
+    fun testBatchOperations() {
+        val array = JSONArray.empty().addAll(listOf(1, 2, 3))
+        array.addAll(array)
+        array.insertAll(1, listOf("x", JSONObject.empty().put("k", 1)))
+        assertEquals(JSONArray.fromJson("""[1,"x",{"k":1},2,3,1,2,3]"""), array)
+        assertTrue(array.removeIf { it !is Int })
+        assertEquals(JSONArray.fromJson("[1,2,3,1,2,3]"), array)
+    }
+
+    @Test
+    fun testSnapshot() {
+        val array = JSONArray.fromJson("[1,2,3]")
+        val snapshot = array.snapshot()
+        array.add(4)
+        assertEquals(listOf<Any>(1, 2, 3), snapshot)
+        assertFailsWith<UnsupportedOperationException> { snapshot.add(5) }
+        assertEquals(4, array.stream().count())
+        assertEquals(4, StreamSupport.stream(array.spliterator(), false).count())
+        assertEquals(listOf(1L, 2L, 3L, 4L), array.stream(JSONArray::getLong).collect(Collectors.toList()))
+    }
+
+    @Test
+    fun testStreamWhileShrinking() {
+        val array = JSONArray.empty()
+        val pool = Executors.newFixedThreadPool(2)
+        val writer = pool.submit {
+            repeat(50_000) {
+                array.addAll(listOf(1, 2, 3, 4))
+                for (index in 3 downTo 0)
+                    array.remove(index)
+            }
+        }
+        val reader = pool.submit {
+            repeat(50_000) {
+                // Elements are removed from the end one at a time, so every snapshot is a prefix
+                val values = array.stream { a, i -> a.getInt(i) }.collect(Collectors.toList())
+                assertEquals(listOf(1, 2, 3, 4).take(values.size), values)
+            }
+        }
+        pool.shutdown()
+        writer.get(30, TimeUnit.SECONDS)
+        reader.get(30, TimeUnit.SECONDS)
+    }
+}
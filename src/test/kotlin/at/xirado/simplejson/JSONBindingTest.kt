@@ -0,0 +1,157 @@
+package at.xirado.simplejson
+
+import java.io.File
+import java.net.URLClassLoader
+import java.nio.file.Files
+import javax.tools.ToolProvider
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+internal class JSONBindingTest {
+    enum class Role { ADMIN, USER }
+
+    class Address {
+        var city: String? = null
+        var zip: Int = 0
+    }
+
+    class User : BoundData {
+        var id: Long = 0
+        var name: String? = null
+        var isActive: Boolean = false
+        var role: Role? = null
+        var tags: List<String>? = null
+        var scores: Map<String, Double>? = null
+        var ids: IntArray? = null
+        var addresses: List<Address>? = null
+        var roles: Set<Role>? = null
+    }
+
+    class Precedence {
+        @JvmField
+        var value: Int = 1
+
+        @JvmField
+        var plain: String = "field"
+
+        fun getValue(): Int = value * 10
+    }
+
+    class Trees {
+        var tree: JSONObject? = null
+        var list: JSONArray? = null
+        var any: Any? = null
+    }
+
+    private fun user() = User().apply {
+        id = 42
+        name = "Ada"
+        isActive = true
+        role = Role.ADMIN
+        tags = listOf("a", "b")
+        scores = mapOf("math" to 1.5)
+        ids = intArrayOf(1, 2)
+        addresses = listOf(Address().apply { city = "Vienna"; zip = 1010 })
+        roles = setOf(Role.USER)
+    }
+
+    @Test
+    fun testRoundTrip() {
+        val json = JSONBinding.toJson(user())
+        assertEquals(
+            """{"active":true,"addresses":[{"city":"Vienna","zip":1010}],"id":42,"ids":[1,2],"name":"Ada",""" +
+                """"role":"ADMIN","roles":["USER"],"scores":{"math":1.5},"tags":["a","b"]}""",
+            json
+        )
+        val copy = JSONBinding.fromJson(json, User::class.java)!!
+        assertEquals(42, copy.id)
+        assertEquals("Ada", copy.name)
+        assertTrue(copy.isActive)
+        assertEquals(Role.ADMIN, copy.role)
+        assertEquals(listOf("a", "b"), copy.tags)
+        assertEquals(mapOf("math" to 1.5), copy.scores)
+        assertEquals(listOf(1, 2), copy.ids!!.toList())
+        assertEquals("Vienna", copy.addresses!![0].city)
+        assertEquals(1010, copy.addresses!![0].zip)
+        assertEquals(setOf(Role.USER), copy.roles)
+        assertEquals(JSONObject.fromJson(json), JSONBinding.toData(copy))
+    }
+
+    @Test
+    fun testBoundDataIsStored() {
+        val data = JSONObject.empty().put("user", user())
+        assertEquals("Ada", data.getObject("user").getString("name"))
+        assertEquals("ADMIN", data.getObject("user").getString("role"))
+        assertEquals(42L, JSONBinding.fromData(data.getObject("user"), User::class.java)!!.id)
+    }
+
+    @Test
+    fun testUnknownAndMissingProperties() {
+        val user = JSONBinding.fromJson("""{"id":1,"unknown":{"nested":[1,2]},"name":null}""", User::class.java)!!
+        assertEquals(1, user.id)
+        assertNull(user.name)
+        assertNull(user.role)
+        assertFailsWith<ParsingException> { JSONBinding.fromJson("""{"role":"OWNER"}""", User::class.java) }
+        assertFailsWith<ParsingException> { JSONBinding.fromJson("""{"id":"text"}""", User::class.java) }
+    }
+
+    @Test
+    fun testGetterTakesPrecedenceOverField() {
+        assertEquals("""{"plain":"field","value":10}""", JSONBinding.toJson(Precedence()))
+        // Without a setter, the field of the same name is written
+        val read = JSONBinding.fromJson("""{"plain":"json","value":5}""", Precedence::class.java)!!
+        assertEquals(5, read.value)
+        assertEquals("json", read.plain)
+    }
+
+    @Test
+    fun testParseOptions() {
+        val json = """{"tree":{"a":{"b":1}},"list":[1,2],"any":{"c":"long value"}}"""
+        val frozen = JSONBinding.fromJson(json, Trees::class.java, ParseOptions.defaults().withFrozen(true))!!
+        assertTrue(frozen.tree!!.isFrozen)
+        assertTrue(frozen.list!!.isFrozen)
+        assertEquals(1, frozen.tree!!.getObject("a").getInt("b"))
+        assertFailsWith<UnsupportedOperationException> { (frozen.any as MutableMap<String, Any?>)["d"] = 1 }
+
+        val concurrent = JSONBinding.fromJson(json.toByteArray(), Trees::class.java, ParseOptions.defaults().withThreadingMode(ThreadingMode.CONCURRENT))!!
+        assertTrue(concurrent.tree!!.data is ConcurrentDataMap)
+
+        // Limits apply to the values read into trees and to the whole payload
+        assertFailsWith<ParsingException> { JSONBinding.fromJson(json, Trees::class.java, ParseOptions.defaults().withMaxDepth(1)) }
+        assertFailsWith<ParsingException> { JSONBinding.fromJson(json, Trees::class.java, ParseOptions.defaults().withMaxStringLength(5)) }
+        assertFailsWith<ParsingException> { JSONBinding.fromJson(json, Trees::class.java, ParseOptions.defaults().withMaxBytes(10)) }
+        assertFailsWith<ParsingException> {
+            JSONBinding.fromJson(json.byteInputStream(), Trees::class.java, ParseOptions.defaults().withMaxBytes(10))
+        }
+        assertEquals(listOf(1, 2), JSONBinding.fromJson(json.byteInputStream(), Trees::class.java, ParseOptions.defaults())!!.list!!.toList())
+    }
+
+    @Test
+    fun testRecords() {
+        // Records can't be declared while targeting Java 8, so the record is compiled when the tests run on Java 16+
+        val compiler = ToolProvider.getSystemJavaCompiler() ?: return
+        if (System.getProperty("java.specification.version").substringAfter("1.").toInt() < 16)
+            return
+        val directory = Files.createTempDirectory("records").toFile()
+        try {
+            val source = File(directory, "Point.java")
+            source.writeText("public record Point(int x, String label, java.util.List<Integer> path) {}")
+            val result = compiler.run(null, null, null, "-d", directory.path, source.path)
+            assertEquals(0, result)
+            URLClassLoader(arrayOf(directory.toURI().toURL()), javaClass.classLoader).use { loader ->
+                val type = loader.loadClass("Point")
+                val point = type.constructors[0].newInstance(1, "a", listOf(2, 3))
+                // Components are written in declaration order
+                val json = JSONBinding.toJson(point)
+                assertEquals("""{"x":1,"label":"a","path":[2,3]}""", json)
+                assertEquals(point, JSONBinding.fromJson(json, type))
+                assertEquals(point, JSONBinding.fromJson("""{"path":[2,3],"label":"a","x":1}""", type))
+            }
+        } finally {
+            directory.deleteRecursively()
+        }
+    }
+}
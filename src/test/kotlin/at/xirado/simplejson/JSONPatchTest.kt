@@ -0,0 +1,90 @@
+package at.xirado.simplejson
+
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertTrue
+
+internal class JSONPatchTest {
+    private fun assertRoundTrip(source: String, target: String) {
+        val a = JSONObject.fromJson(source)
+        val b = JSONObject.fromJson(target)
+        val patch = a.diff(b)
+        assertEquals(b, a.applyCopy(patch))
+        // The patch survives serialization
+        assertEquals(b, a.applyCopy(JSONPatch.fromJson(patch.toString())))
+        assertEquals(JSONObject.fromJson(source), a)
+    }
+
+    @Test
+    fun testRoundTrip() {
+        assertRoundTrip("""{"a":1,"b":{"c":[1,2]}}""", """{"a":2,"b":{"c":[1,2],"d":null},"e":"x"}""")
+        assertRoundTrip("""{"a":1,"b":2}""", """{}""")
+        assertTrue(JSONObject.fromJson("""{"a":[1,{"b":2}]}""").diff(JSONObject.fromJson("""{"a":[1,{"b":2}]}""")).isEmpty)
+    }
+
+    @Test
+    fun testArrayInsertAndRemove() {
+        assertRoundTrip("""{"items":[1,2,3,4]}""", """{"items":[1,2,9,3,4]}""")
+        assertRoundTrip("""{"items":[1,2,3,4]}""", """{"items":[1,3,4]}""")
+        assertRoundTrip("""{"items":[1,2,3,4]}""", """{"items":[0,1,2,3,4,5]}""")
+        assertRoundTrip("""{"items":[1,2,3]}""", """{"items":[]}""")
+        assertRoundTrip("""{"items":[{"id":1},{"id":2}]}""", """{"items":[{"id":1,"x":true},{"id":3}]}""")
+
+        val patch = JSONObject.fromJson("""{"items":[1,2,3,4]}""").diff(JSONObject.fromJson("""{"items":[1,2,9,3,4]}"""))
+        assertEquals(1, patch.size())
+    }
+
+    @Test
+    fun testEscapedKeys() {
+        assertRoundTrip("""{"a/b":1,"c~d":{"~1":2}}""", """{"a/b":3,"c~d":{"~1":4,"/":5}}""")
+        val doc = JSONObject.fromJson("""{"a/b":{"c~d":1}}""")
+        val patch = doc.diff(JSONObject.fromJson("""{"a/b":{"c~d":2}}"""))
+        assertEquals("/a~1b/c~0d", patch.operations[0].path)
+        assertEquals(2, doc.apply(JSONPatch.of(JSONPatch.Operation.replace("/a~1b/c~0d", 2))).getObject("a/b").getInt("c~d"))
+    }
+
+    @Test
+    fun testAppend() {
+        val doc = JSONObject.fromJson("""{"items":[1,2]}""")
+        doc.apply(JSONPatch.fromJson("""[{"op":"add","path":"/items/-","value":3}]"""))
+        assertEquals(JSONArray.fromJson("[1,2,3]"), doc.getArray("items"))
+        val appended = JSONObject.fromJson("""{"items":[1]}""").diff(doc)
+        assertEquals("/items/-", appended.operations.last().path)
+    }
+
+    @Test
+    fun testMove() {
+        val doc = JSONObject.fromJson("""{"a":{"b":1},"c":[]}""")
+        doc.apply(JSONPatch.of(JSONPatch.Operation.move("/a/b", "/c/0")))
+        assertEquals(JSONObject.fromJson("""{"a":{},"c":[1]}"""), doc)
+        assertFailsWith<ParsingException> { doc.apply(JSONPatch.of(JSONPatch.Operation.move("/a", "/a/child"))) }
+        assertEquals(JSONObject.fromJson("""{"a":{},"c":[1]}"""), doc)
+    }
+
+    @Test
+    fun testFailedTest() {
+        val doc = JSONObject.fromJson("""{"a":1,"b":[1,2]}""")
+        val patch = JSONPatch.fromJson("""[{"op":"replace","path":"/a","value":2},{"op":"test","path":"/b/0","value":"1"}]""")
+        assertFailsWith<ParsingException> { doc.applyCopy(patch) }
+        assertEquals(1, doc.getInt("a"))
+        // Numbers are compared by value, as RFC 6902 requires
+        doc.apply(JSONPatch.fromJson("""[{"op":"test","path":"/a","value":1.0},{"op":"test","path":"/b","value":[1.0,2]}]"""))
+    }
+
+    @Test
+    fun testPathsMustBePointers() {
+        val doc = JSONObject.fromJson("""{"a":{"b":1}}""")
+        assertFailsWith<ParsingException> { JSONPatch.fromJson("""[{"op":"remove","path":"a.b"}]""") }
+        assertFailsWith<ParsingException> { JSONPatch.fromJson("""[{"op":"move","from":"a","path":"/c"}]""") }
+        assertFailsWith<ParsingException> { doc.apply(JSONPatch.of(JSONPatch.Operation.remove("a.b"))) }
+        assertEquals(1, doc.getObject("a").getInt("b"))
+    }
+
+    @Test
+    fun testArrayDiff() {
+        val a = JSONArray.fromJson("""[1,2,3,4,5]""")
+        val b = JSONArray.fromJson("""[1,3,4,5,6]""")
+        assertEquals(b, a.applyCopy(a.diff(b)))
+    }
+}
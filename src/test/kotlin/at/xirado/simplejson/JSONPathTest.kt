@@ -0,0 +1,70 @@
+package at.xirado.simplejson
+
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertNull
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+internal class JSONPathTest {
+    @Test
+    fun testExtractAllWithDuplicateKeys() {
+        val json = """{"a":1,"a":2,"b":3}""".toByteArray()
+        val values = JSONPath.extractAll(json, JSONPath.compile("a"), JSONPath.compile("b"))
+        assertEquals(2, values[0])
+        assertEquals(3, values[1])
+    }
+
+    @Test
+    fun testExtractWithDuplicateKeys() {
+        val a = JSONPath.compile("a")
+        for (json in listOf("""{"b":3,"a":1,"a":2}""", """{"a":1,"b":3,"a":2}""", """{"a":1,"a":2,"b":3}""")) {
+            assertEquals(2, a.extract(json), json)
+            assertEquals(JSONObject.fromJson(json).getInt("a"), a.extract(json.toByteArray()), json)
+        }
+
+        val x = JSONPath.compile("a.x")
+        val y = JSONPath.compile("/a/y")
+        val later = """{"a":{"x":1},"a":{"y":2}}"""
+        assertNull(x.extract(later))
+        assertEquals(listOf(null, 2), JSONPath.extractAll(later.toByteArray(), x, y).toList())
+        val earlier = """{"a":{"y":2},"a":{"x":1}}"""
+        assertEquals(1, x.extract(earlier))
+        assertEquals(listOf(1, null), JSONPath.extractAll(earlier.toByteArray(), x, y).toList())
+        assertEquals(listOf(null, 3), JSONPath.extractAll("""{"a":{"x":1},"a":[3],"a":{"y":3}}""".toByteArray(), x, y).toList())
+    }
+
+    @Test
+    fun testResolveTree() {
+        val json = JSONObject.fromJson("""{"payload":{"items":[{"ts":1},{"ts":"2"}],"meta":{"content.type":"a"}},"list":[[5]]}""")
+        assertEquals(1L, json.getLong(JSONPath.of("payload.items[0].ts")))
+        assertEquals(2L, json.getLong(JSONPath.of("/payload/items/1/ts")))
+        assertEquals("a", json.getString(JSONPath.of("payload.meta['content.type']")))
+        assertEquals(7L, json.getLong(JSONPath.of("payload.items[2].ts"), 7L))
+        assertFailsWith<ParsingException> { json.getLong(JSONPath.of("payload.items[2].ts")) }
+        assertEquals(5, json.opt(JSONPath.of("list[0][0]")).get())
+        assertFalse(json.opt(JSONPath.of("payload.items.ts")).isPresent)
+        assertFalse(json.opt(JSONPath.of("payload.meta.content.type")).isPresent)
+        assertTrue(json.isNull(JSONPath.of("missing")))
+
+        val array = JSONArray.fromJson("""[{"a":[1,{"b":2}]}]""")
+        assertEquals(2L, array.getLong(JSONPath.of("[0].a[1].b")))
+        assertEquals(2L, array.getLong(JSONPath.of("/0/a/1/b")))
+        assertEquals(1, array.opt(JSONPath.of("/0/a/0")).get())
+        assertFalse(array.opt(JSONPath.of("a")).isPresent)
+    }
+
+    @Test
+    fun testCache() {
+        val path = JSONPath.of("payload.items[0].ts")
+        assertSame(path, JSONPath.of("payload.items[0].ts"))
+        assertEquals(JSONPath.compile("payload.items[0].ts"), path)
+
+        // More distinct paths than the cache holds only evict single entries, lookups stay correct
+        for (i in 0 until 5000)
+            assertEquals("k$i", JSONPath.of("k$i.v").name(0))
+        assertEquals(path, JSONPath.of("payload.items[0].ts"))
+    }
+}
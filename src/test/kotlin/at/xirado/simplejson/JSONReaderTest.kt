@@ -0,0 +1,160 @@
+package at.xirado.simplejson
+
+import java.io.ByteArrayInputStream
+import kotlin.streams.toList
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+internal class JSONReaderTest {
+    @Test
+    fun testSkipAfterTypeError() {
+        JSONReader.fromJson("""{"a":{"nested":[1,2]},"b":true,"c":"x","d":[1],"e":5}""").use { reader ->
+            reader.beginObject()
+            assertEquals("a", reader.nextName())
+            assertFailsWith<ParsingException> { reader.nextLong() }
+            assertEquals(JSONToken.BEGIN_OBJECT, reader.peek())
+            reader.skipValue()
+
+            assertEquals("b", reader.nextName())
+            assertFailsWith<ParsingException> { reader.nextDouble() }
+            assertEquals(true, reader.nextBoolean())
+
+            assertEquals("c", reader.nextName())
+            // The value has the right type but can't be parsed, it isn't consumed either
+            assertFailsWith<ParsingException> { reader.nextInt() }
+            assertEquals("x", reader.nextString())
+
+            assertEquals("d", reader.nextName())
+            assertFailsWith<ParsingException> { reader.nextBoolean() }
+            reader.skipValue()
+
+            assertEquals("e", reader.nextName())
+            assertEquals(5L, reader.nextLong())
+            assertFalse(reader.hasNext())
+            assertFailsWith<ParsingException> { reader.skipValue() }
+            reader.endObject()
+            assertEquals(JSONToken.END_DOCUMENT, reader.peek())
+        }
+    }
+
+    @Test
+    fun testStreamArray() {
+        val input = TrackingStream("""[{"a":1},{"a":2}]""")
+        JSONReader.streamArray(input).use { stream ->
+            assertEquals(listOf(1, 2), stream.map { it.getInt("a") }.toList())
+        }
+        assertTrue(input.closed)
+
+        JSONReader.streamArray(TrackingStream("[]")).use { assertEquals(0, it.count()) }
+        JSONReader.streamArray(TrackingStream("""[{"a":1},2]""")).use { stream ->
+            val iterator = stream.iterator()
+            assertEquals(1, iterator.next().getInt("a"))
+            assertFailsWith<ParsingException> { iterator.next() }
+        }
+
+        val notAnArray = TrackingStream("""{"a":1}""")
+        assertFailsWith<ParsingException> { JSONReader.streamArray(notAnArray) }
+        assertTrue(notAnArray.closed)
+    }
+
+    @Test
+    fun testStreamLines() {
+        val input = TrackingStream("{\"a\":1}\n\n{\"a\":2}\n  \n{\"a\":3}\n")
+        JSONReader.streamLines(input).use { stream ->
+            assertEquals(listOf(1, 2, 3), stream.map { it.getInt("a") }.toList())
+        }
+        assertTrue(input.closed)
+
+        // Closing the stream early closes the input as well
+        val partial = TrackingStream("{\"a\":1}\n{\"a\":2}\n")
+        val stream = JSONReader.streamLines(partial)
+        assertEquals(1, stream.iterator().next().getInt("a"))
+        assertFalse(partial.closed)
+        stream.close()
+        assertTrue(partial.closed)
+
+        JSONReader.streamLines(TrackingStream("")).use { assertEquals(0, it.count()) }
+        JSONReader.streamLines(TrackingStream("{\"a\":1}\n[1]\n")).use { stream ->
+            assertFailsWith<ParsingException> { stream.toList() }
+        }
+    }
+
+    @Test
+    fun testParseOptions() {
+        val frozen = ParseOptions.defaults().withFrozen(true)
+        JSONReader.fromJson("""{"a":{"b":[1,2]},"c":[3]}""", frozen).use { reader ->
+            reader.beginObject()
+            assertEquals("a", reader.nextName())
+            val a = reader.nextObject()
+            assertTrue(a.isFrozen)
+            assertEquals(2, a.getArray("b").getInt(1))
+            assertEquals("c", reader.nextName())
+            assertTrue(reader.nextArray().isFrozen)
+        }
+
+        val concurrent = ParseOptions.defaults().withThreadingMode(ThreadingMode.CONCURRENT)
+        JSONReader.fromJson("[{\"a\":1}]".toByteArray(), concurrent).use { reader ->
+            reader.beginArray()
+            assertTrue(reader.nextObject().data is ConcurrentDataMap)
+        }
+
+        // Limits apply to every materialized value, the byte limit to the whole payload
+        JSONReader.fromJson("[[1],[[2]]]", ParseOptions.defaults().withMaxDepth(1)).use { reader ->
+            reader.beginArray()
+            assertEquals(1, reader.nextArray().getInt(0))
+            assertFailsWith<ParsingException> { reader.nextArray() }
+        }
+        assertFailsWith<ParsingException> { JSONReader.fromJson("[1,2,3]", ParseOptions.defaults().withMaxBytes(4)) }
+        assertFailsWith<ParsingException> {
+            JSONReader.fromJson(TrackingStream("[1,2,3,4,5]"), ParseOptions.defaults().withMaxBytes(4)).use { reader ->
+                reader.beginArray()
+                while (reader.hasNext())
+                    reader.skipValue()
+            }
+        }
+
+        JSONReader.streamArray(TrackingStream("""[{"a":1},{"a":2}]"""), frozen).use { stream ->
+            assertTrue(stream.allMatch { it.isFrozen })
+        }
+        JSONReader.streamLines(TrackingStream("{\"a\":\"long value\"}\n"), ParseOptions.defaults().withMaxStringLength(4)).use { stream ->
+            assertFailsWith<ParsingException> { stream.toList() }
+        }
+    }
+
+    @Test
+    fun testStreamYaml() {
+        val input = TrackingStream("---\na: 1\n---\n---\nnull\n---\nb: 2\n---\n")
+        JSONReader.streamYaml(input).use { stream ->
+            val documents = stream.toList()
+            assertEquals(2, documents.size)
+            assertEquals(1, documents[0].getInt("a"))
+            assertEquals(2, documents[1].getInt("b"))
+        }
+        assertTrue(input.closed)
+
+        JSONReader.streamYaml(TrackingStream("")).use { assertEquals(0, it.count()) }
+        JSONReader.streamYaml(TrackingStream("a: 1\n---\n- 1\n")).use { stream ->
+            val iterator = stream.iterator()
+            assertEquals(1, iterator.next().getInt("a"))
+            assertFailsWith<ParsingException> { iterator.next() }
+        }
+
+        val partial = TrackingStream("a: 1\n---\nb: 2\n")
+        val stream = JSONReader.streamYaml(partial)
+        assertEquals(1, stream.iterator().next().getInt("a"))
+        stream.close()
+        assertTrue(partial.closed)
+    }
+
+    private class TrackingStream(content: String) : ByteArrayInputStream(content.toByteArray()) {
+        var closed = false
+
+        override fun close() {
+            closed = true
+            super.close()
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package at.xirado.simplejson
+
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+internal class LazyValueTest {
+    class Counter : SerializableData {
+        val data: JSONObject = JSONObject.empty().put("n", 1)
+
+        override fun toData() = data
+    }
+
+    class Numbers : SerializableArray {
+        val data: JSONArray = JSONArray.empty().add(1).add(2)
+
+        override fun toJSONArray() = data
+    }
+
+    class Point : BoundData {
+        var x: Int = 1
+        var y: Int = 2
+    }
+
+    @Test
+    fun testSerialization() {
+        val counter = Counter()
+        val numbers = Numbers()
+        val point = Point()
+        val json = JSONObject.empty().putLazy("counter", counter).putLazy("numbers", numbers).putLazy("point", point)
+        assertSame(counter, json.get("counter"))
+        assertEquals(JSONObject.fromJson("""{"counter":{"n":1},"numbers":[1,2],"point":{"x":1,"y":2}}"""), JSONObject.fromJson(json.toString()))
+
+        // The values are serialized every time, in their current state
+        counter.data.put("n", 2)
+        numbers.data.add(3)
+        point.x = 5
+        assertEquals(JSONObject.fromJson("""{"counter":{"n":2},"numbers":[1,2,3],"point":{"x":5,"y":2}}"""), JSONObject.fromJson(String(json.toJson())))
+
+        val array = JSONArray.empty().addLazy(counter).addLazy(numbers).addLazy(point)
+        assertEquals(JSONArray.fromJson("""[{"n":2},[1,2,3],{"x":5,"y":2}]"""), JSONArray.fromJson(array.toString()))
+    }
+
+    @Test
+    fun testDetachedCopies() {
+        val counter = Counter()
+        val numbers = Numbers()
+        val json = JSONObject.empty().putLazy("counter", counter).putLazy("numbers", numbers).putLazy("point", Point())
+
+        val copy = json.getObject("counter")
+        copy.put("n", 5)
+        counter.data.put("m", 1)
+        assertEquals(1, counter.data.getInt("n"))
+        assertEquals(setOf("n"), copy.keys())
+
+        val list = json.getArray("numbers")
+        list.add(3)
+        assertEquals(2, numbers.data.length())
+        assertEquals(2, json.getObject("point").getInt("y"))
+
+        val array = JSONArray.empty().addLazy(counter).addLazy(numbers)
+        array.getObject(0).put("n", 7)
+        array.getArray(1).add(7)
+        assertEquals(1, counter.data.getInt("n"))
+        assertEquals(2, numbers.data.length())
+    }
+
+    @Test
+    fun testThreadingMode() {
+        // The materialized data is unguarded, the container guards it once when wrapping it
+        assertEquals(HashMap::class.java, JSONBinding.tree(Counter(), ThreadingMode.SYNCHRONIZED)!!.javaClass)
+        assertEquals(ArrayList::class.java, JSONBinding.tree(Numbers(), ThreadingMode.SYNCHRONIZED)!!.javaClass)
+        assertTrue(JSONBinding.tree(Counter(), ThreadingMode.CONCURRENT) is ConcurrentDataMap)
+
+        val json = JSONObject.empty(ThreadingMode.CONCURRENT).putLazy("counter", Counter())
+        val copy = json.getObject("counter").putNull("empty")
+        assertTrue(copy.isNull("empty"))
+        assertEquals(setOf("n", "empty"), copy.keys())
+    }
+
+    @Test
+    fun testFreeze() {
+        val counter = Counter()
+        val numbers = Numbers()
+        val json = JSONObject.empty().putLazy("counter", counter).putLazy("numbers", numbers).freeze()
+        counter.data.put("n", 2)
+        numbers.data.add(3)
+
+        assertTrue(json.isFrozen)
+        assertEquals(JSONObject.fromJson("""{"counter":{"n":1},"numbers":[1,2]}"""), JSONObject.fromJson(json.toString()))
+        assertEquals(1, json.getObject("counter").getInt("n"))
+        assertFailsWith<UnsupportedOperationException> { json.getObject("counter").put("n", 3) }
+
+        val array = JSONArray.empty().addLazy(counter).freeze()
+        counter.data.put("n", 3)
+        assertEquals(2, array.getObject(0).getInt("n"))
+    }
+}
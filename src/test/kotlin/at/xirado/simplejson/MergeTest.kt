@@ -0,0 +1,79 @@
+package at.xirado.simplejson
+
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertNotSame
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+internal class MergeTest {
+    @Test
+    fun testMergePatchNullRemoves() {
+        val doc = JSONObject.fromJson("""{"a":1,"b":{"c":2,"d":3},"e":[1,2]}""")
+        doc.mergePatch(JSONObject.fromJson("""{"a":null,"b":{"c":null,"x":4},"e":[3],"missing":null}"""))
+        assertEquals(JSONObject.fromJson("""{"b":{"d":3,"x":4},"e":[3]}"""), doc)
+    }
+
+    @Test
+    fun testMergePatchOntoNonObject() {
+        // A nested patch replaces a non-object value with an object, and its nulls are dropped
+        val doc = JSONObject.fromJson("""{"a":"text","b":[1]}""")
+        doc.mergePatch(JSONObject.fromJson("""{"a":{"x":1,"y":null},"b":{"z":null}}"""))
+        assertEquals(JSONObject.fromJson("""{"a":{"x":1},"b":{}}"""), doc)
+    }
+
+    @Test
+    fun testMergeKeepsNullsAndStrategies() {
+        val base = JSONObject.fromJson("""{"a":1,"list":[1,2],"nested":{"x":1,"y":2}}""")
+        base.merge(JSONObject.fromJson("""{"a":null,"list":[3],"nested":{"y":3}}"""))
+        assertEquals(JSONObject.fromJson("""{"a":null,"list":[3],"nested":{"x":1,"y":3}}"""), base)
+        base.merge(JSONObject.fromJson("""{"list":[4]}"""), ArrayMergeStrategy.APPEND)
+        assertEquals(JSONArray.fromJson("[3,4]"), base.getArray("list"))
+    }
+
+    @Test
+    fun testByKeyMatchesNumbersByValue() {
+        val base = JSONObject.fromJson("""{"hosts":[{"id":1,"port":80},{"id":2,"port":81}]}""")
+        val override = JSONObject.empty()
+            .put("hosts", JSONArray.empty().add(JSONObject.empty().put("id", 1L).put("port", 8080)).add(JSONObject.empty().put("id", 3L)))
+        base.merge(override, ArrayMergeStrategy.byKey("id"))
+        assertEquals(JSONObject.fromJson("""{"hosts":[{"id":1,"port":8080},{"id":2,"port":81},{"id":3}]}"""), base)
+    }
+
+    @Test
+    fun testCopyOnWriteOfFrozenSubtrees() {
+        val frozen = JSONObject.fromJson("""{"a":1,"untouched":{"deep":[1,2]},"list":[{"id":1,"v":1}]}""").freeze()
+        val target = JSONObject.empty().put("config", frozen)
+        target.merge(JSONObject.fromJson("""{"config":{"a":2,"list":[{"id":1,"v":2}]}}"""), ArrayMergeStrategy.byKey("id"))
+
+        assertEquals(JSONObject.fromJson("""{"a":1,"untouched":{"deep":[1,2]},"list":[{"id":1,"v":1}]}"""), frozen)
+        assertTrue(frozen.isFrozen)
+        assertFailsWith<UnsupportedOperationException> { frozen.put("a", 3) }
+
+        val merged = target.getObject("config")
+        assertEquals(2, merged.getInt("a"))
+        assertEquals(2, merged.getArray("list").getObject(0).getInt("v"))
+        assertFalse(merged.isFrozen)
+        assertNotSame(frozen.toMap(), merged.toMap())
+        // Subtrees the merge doesn't touch stay shared
+        assertSame(frozen.toMap()["untouched"], merged.toMap()["untouched"])
+    }
+
+    @Test
+    fun testConcurrentMergeInOppositeOrder() {
+        val left = JSONObject.fromJson("""{"a":{"x":1}}""")
+        val right = JSONObject.fromJson("""{"a":{"y":2}}""")
+        val pool = Executors.newFixedThreadPool(2)
+        val tasks = listOf(
+            pool.submit { repeat(50_000) { left.merge(right) } },
+            pool.submit { repeat(50_000) { right.mergePatch(left) } }
+        )
+        pool.shutdown()
+        tasks.forEach { it.get(30, TimeUnit.SECONDS) }
+        assertEquals(JSONObject.fromJson("""{"a":{"x":1,"y":2}}"""), left)
+    }
+}
@@ -0,0 +1,87 @@
+package at.xirado.simplejson
+
+import java.io.StringWriter
+import kotlin.test.Test
+import kotlin.test.assertContentEquals
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertTrue
+
+internal class NumericArrayListTest {
+    private val primitive = ParseOptions.defaults().withPrimitiveArrays(true)
+
+    @Test
+    fun testInflation() {
+        val longs = NumericArrayList(longArrayOf(1, 2))
+        longs.add(3)
+        assertEquals(NumericArrayList.LONGS, longs.kind())
+        longs.add(1.5)
+        assertEquals(NumericArrayList.OBJECTS, longs.kind())
+        assertEquals(listOf<Any>(1L, 2L, 3L, 1.5), longs)
+
+        val doubles = NumericArrayList(doubleArrayOf(1.5, 2.5))
+        doubles[0] = 0.5f
+        assertEquals(NumericArrayList.DOUBLES, doubles.kind())
+        doubles[1] = 2L
+        assertEquals(NumericArrayList.OBJECTS, doubles.kind())
+        assertEquals(listOf<Any>(0.5, 2L), doubles)
+
+        val inserted = NumericArrayList()
+        inserted.addLong(1)
+        inserted.add(0, "x")
+        assertEquals(NumericArrayList.OBJECTS, inserted.kind())
+        assertEquals(listOf<Any>("x", 1L), inserted)
+    }
+
+    @Test
+    fun testReadsAfterInflation() {
+        val array = JSONArray.fromJson("[1,2,3]", primitive)
+        assertContentEquals(longArrayOf(1, 2, 3), array.toLongArray())
+        array.add(4.5)
+        assertEquals(2L, array.getLong(1))
+        assertEquals(4.5, array.getDouble(3))
+        assertContentEquals(doubleArrayOf(1.0, 2.0, 3.0, 4.5), array.toDoubleArray())
+
+        // The storage stays boxed after the value which did not fit is removed again
+        val inflated = JSONArray.fromJson("[1,2,3]", primitive).add("x").remove(3)
+        assertEquals(2L, inflated.getLong(1))
+        assertContentEquals(longArrayOf(1, 2, 3), inflated.toLongArray())
+
+        val doubles = JSONArray.fromJson("[1.5,2.5]", primitive)
+        doubles.insert(0, "3")
+        assertEquals(3L, doubles.getLong(0))
+        assertEquals(2.5, doubles.getDouble(2))
+        assertContentEquals(doubleArrayOf(3.0, 1.5, 2.5), doubles.toDoubleArray())
+    }
+
+    @Test
+    fun testSerialization() {
+        val array = JSONArray.fromJson("[1,2,3]", primitive)
+        assertEquals("[1,2,3]", array.toString())
+        assertEquals("[1,2,3]", String(array.toJson()))
+        assertEquals("[1.5,2.5]", JSONArray.fromJson("[1.5,2.5]", primitive).toString())
+        array.add("x")
+        val writer = StringWriter()
+        array.writeTo(writer)
+        assertEquals("""[1,2,3,"x"]""", writer.toString())
+    }
+
+    @Test
+    fun testFrozenCopy() {
+        val frozen = NumericArrayList(longArrayOf(1, 2, 3)).frozenCopy()
+        assertTrue(frozen.isFrozen())
+        assertEquals(listOf<Any>(1L, 2L, 3L), frozen)
+        assertFailsWith<UnsupportedOperationException> { frozen.add(4L) }
+        assertFailsWith<UnsupportedOperationException> { frozen.addLong(4) }
+        assertFailsWith<UnsupportedOperationException> { frozen[0] = 5L }
+        assertFailsWith<UnsupportedOperationException> { frozen.add(0, 5L) }
+        assertFailsWith<UnsupportedOperationException> { frozen.removeAt(0) }
+        assertFailsWith<UnsupportedOperationException> { frozen.clear() }
+        assertEquals(listOf<Any>(1L, 2L, 3L), frozen)
+
+        val array = JSONArray.fromJson("[1.5,2.5]", primitive).freeze()
+        assertTrue(array.isFrozen)
+        assertContentEquals(doubleArrayOf(1.5, 2.5), array.toDoubleArray())
+        assertFailsWith<UnsupportedOperationException> { array.add(1.0) }
+    }
+}
@@ -0,0 +1,101 @@
+package at.xirado.simplejson
+
+import java.io.ByteArrayInputStream
+import java.io.StringReader
+import java.math.BigDecimal
+import java.math.BigInteger
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+
+internal class ParseOptionsTest {
+    private val defaults = ParseOptions.defaults()
+
+    @Test
+    fun testMaxDepth() {
+        val json = """{"a":[[1]]}"""
+        assertEquals(1, JSONObject.fromJson(json, defaults.withMaxDepth(3)).getArray("a").getArray(0).getInt(0))
+        assertFailsWith<ParsingException> { JSONObject.fromJson(json, defaults.withMaxDepth(2)) }
+        assertFailsWith<ParsingException> { JSONObject.fromJson(json, defaults.withMaxDepth(2).withFrozen(true)) }
+        assertFailsWith<ParsingException> { JSONArray.fromJson("[[[]]]", defaults.withMaxDepth(2).withPrimitiveArrays(true)) }
+    }
+
+    @Test
+    fun testMaxTokens() {
+        // The object, its key and its value
+        val json = """{"a":1}"""
+        JSONObject.fromJson(json, defaults.withMaxTokens(3))
+        assertFailsWith<ParsingException> { JSONObject.fromJson(json, defaults.withMaxTokens(2)) }
+        JSONArray.fromJson("[1,2,3]", defaults.withMaxTokens(4).withPrimitiveArrays(true))
+        assertFailsWith<ParsingException> { JSONArray.fromJson("[1,2,3]", defaults.withMaxTokens(3).withPrimitiveArrays(true)) }
+    }
+
+    @Test
+    fun testMaxStringLength() {
+        JSONObject.fromJson("""{"abcd":"efgh"}""", defaults.withMaxStringLength(4))
+        assertFailsWith<ParsingException> { JSONObject.fromJson("""{"a":"efghi"}""", defaults.withMaxStringLength(4)) }
+        assertFailsWith<ParsingException> { JSONObject.fromJson("""{"abcde":"e"}""", defaults.withMaxStringLength(4)) }
+    }
+
+    @Test
+    fun testMaxNumberLength() {
+        JSONArray.fromJson("[1234,1.25]", defaults.withMaxStringLength(4))
+        assertFailsWith<ParsingException> { JSONArray.fromJson("[12345]", defaults.withMaxStringLength(4)) }
+        assertFailsWith<ParsingException> { JSONArray.fromJson("[1.2345]", defaults.withMaxStringLength(4)) }
+        assertFailsWith<ParsingException> { JSONArray.fromJson("[12345]", defaults.withMaxStringLength(4).withPrimitiveArrays(true)) }
+        assertFailsWith<ParsingException> { JSONObject.fromJson("""{"a":${"9".repeat(100)}}""", defaults.withMaxStringLength(50)) }
+    }
+
+    @Test
+    fun testMaxBytes() {
+        val json = """{"a":"bcd"}"""
+        val size = json.length.toLong()
+        val exact = defaults.withMaxBytes(size)
+        val smaller = defaults.withMaxBytes(size - 1)
+
+        assertEquals("bcd", JSONObject.fromJson(json, exact).getString("a"))
+        assertEquals("bcd", JSONObject.fromJson(json.toByteArray(), exact).getString("a"))
+        assertEquals("bcd", JSONObject.fromJson(ByteArrayInputStream(json.toByteArray()), exact).getString("a"))
+        assertEquals("bcd", JSONObject.fromJson(StringReader(json), exact).getString("a"))
+
+        assertFailsWith<ParsingException> { JSONObject.fromJson(json, smaller) }
+        assertFailsWith<ParsingException> { JSONObject.fromJson(json.toByteArray(), smaller) }
+        assertFailsWith<ParsingException> { JSONObject.fromJson(ByteArrayInputStream(json.toByteArray()), smaller) }
+        assertFailsWith<ParsingException> { JSONObject.fromJson(StringReader(json), smaller) }
+        assertFailsWith<ParsingException> { JSONArray.fromJson(ByteArrayInputStream("[1,2,3]".toByteArray()), defaults.withMaxBytes(6)) }
+    }
+
+    @Test
+    fun testDuplicateKeys() {
+        val json = """{"a":1,"b":{"c":2,"c":3}}"""
+        assertEquals(3, JSONObject.fromJson(json, defaults).getObject("b").getInt("c"))
+        assertEquals(3, JSONObject.fromJson(json, defaults.withFrozen(true)).getObject("b").getInt("c"))
+
+        val reject = defaults.withDuplicateKeyPolicy(DuplicateKeyPolicy.REJECT)
+        assertFailsWith<ParsingException> { JSONObject.fromJson(json, reject) }
+        assertFailsWith<ParsingException> { JSONObject.fromJson(json, reject.withFrozen(true)) }
+        assertFailsWith<ParsingException> { JSONObject.fromJson(json, reject.withThreadingMode(ThreadingMode.CONCURRENT)) }
+        JSONObject.fromJson("""{"a":1,"b":{"a":2}}""", reject.withFrozen(true))
+    }
+
+    private fun parseNumbers(policy: NumberPolicy): List<Any?> =
+        JSONArray.fromJson("[1,10000000000,123456789012345678901234567890,1.10]", defaults.withNumberPolicy(policy)).toList()
+
+    @Test
+    fun testNumberPolicies() {
+        assertEquals(
+            listOf(1, 10000000000L, BigInteger("123456789012345678901234567890"), 1.1),
+            parseNumbers(NumberPolicy.NATURAL)
+        )
+        assertEquals(listOf(1.0, 1.0E10, 1.2345678901234568E29, 1.1), parseNumbers(NumberPolicy.DOUBLE))
+        assertEquals(
+            listOf(1, 10000000000L, BigInteger("123456789012345678901234567890"), BigDecimal("1.10")),
+            parseNumbers(NumberPolicy.BIG_DECIMAL)
+        )
+        assertFailsWith<ParsingException> { parseNumbers(NumberPolicy.LONG_AND_DOUBLE) }
+        assertEquals(
+            listOf(1L, 10000000000L, 1.1),
+            JSONArray.fromJson("[1,10000000000,1.10]", defaults.withNumberPolicy(NumberPolicy.LONG_AND_DOUBLE)).toList()
+        )
+    }
+}
@@ -0,0 +1,122 @@
+package at.xirado.simplejson
+
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertNull
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+internal class PersistentTest {
+    @Test
+    fun testMapHashCollisions() {
+        assertEquals("Aa".hashCode(), "BB".hashCode())
+        val both = PersistentMap.EMPTY.with("Aa", 1).with("BB", 2)
+        assertEquals(2, both.size)
+        assertEquals(1, both["Aa"])
+        assertEquals(2, both["BB"])
+        assertEquals(setOf("Aa", "BB"), both.keys)
+
+        val replaced = both.with("BB", 3)
+        assertEquals(3, replaced["BB"])
+        assertEquals(2, both["BB"])
+
+        val single = both.without("Aa")
+        assertEquals(1, single.size)
+        assertFalse(single.containsKey("Aa"))
+        assertEquals(2, single["BB"])
+        assertSame(both, both.without("C#"))
+    }
+
+    @Test
+    fun testMapWithoutCollapsesToEmpty() {
+        val map = PersistentMap.EMPTY.with("a", 1).with("Aa", 2).with("BB", 3)
+        assertSame(PersistentMap.EMPTY, map.without("a").without("Aa").without("BB"))
+        assertSame(PersistentMap.EMPTY, PersistentMap.EMPTY.without("a"))
+        assertEquals(3, map.size)
+    }
+
+    @Test
+    fun testMapOldVersionsUnchanged() {
+        val versions = ArrayList<PersistentMap>()
+        var map = PersistentMap.EMPTY
+        for (i in 0 until 5000) {
+            map = map.with("key$i", i)
+            if (i % 500 == 0)
+                versions.add(map)
+        }
+        assertEquals(5000, map.size)
+        for (i in 0 until 5000)
+            assertEquals(i, map["key$i"])
+        versions.forEachIndexed { version, old ->
+            val size = version * 500 + 1
+            assertEquals(size, old.size)
+            assertEquals(size, old.entries.count())
+            assertNull(old["key$size"])
+        }
+
+        var shrunk = map
+        for (i in 0 until 5000 step 2)
+            shrunk = shrunk.without("key$i")
+        assertEquals(2500, shrunk.size)
+        assertEquals(5000, map.size)
+        assertTrue(shrunk.containsKey("key1") && !shrunk.containsKey("key0"))
+        assertFailsWith<UnsupportedOperationException> { shrunk.put("key0", 0) }
+    }
+
+    @Test
+    fun testVectorGrowth() {
+        val checkpoints = intArrayOf(32, 33, 1024, 1056, 1057, 32768, 32800, 32801)
+        val versions = HashMap<Int, PersistentVector>()
+        var vector = PersistentVector.EMPTY
+        for (i in 0 until 33000) {
+            vector = vector.plus(i)
+            if (vector.size in checkpoints)
+                versions[vector.size] = vector
+        }
+        assertEquals(33000, vector.size)
+        for (i in 0 until vector.size)
+            assertEquals(i, vector[i])
+        for ((size, old) in versions) {
+            assertEquals(size, old.size)
+            assertEquals(size - 1, old[size - 1])
+            assertFailsWith<IndexOutOfBoundsException> { old[size] }
+        }
+    }
+
+    @Test
+    fun testVectorOldVersionsUnchanged() {
+        var vector = PersistentVector.EMPTY
+        for (i in 0 until 2000)
+            vector = vector.plus(i)
+        val inTrie = vector.with(5, "five")
+        val inTail = vector.with(1999, "last")
+        val appended = vector.with(2000, "next")
+        assertEquals("five", inTrie[5])
+        assertEquals("last", inTail[1999])
+        assertEquals(2001, appended.size)
+        assertEquals(5, vector[5])
+        assertEquals(1999, vector[1999])
+        assertEquals(2000, vector.size)
+        assertSame(vector, vector.with(7, vector[7]))
+        assertFailsWith<UnsupportedOperationException> { vector.add(1) }
+    }
+
+    @Test
+    fun testResolvesPersistentChildren() {
+        val json = PersistentJSONObject.copyOf(JSONObject.fromJson("""{"a":{"b":[{"c":1}]},"n":1}"""))
+        assertTrue(json.optObject("a").get() is PersistentJSONObject)
+        assertTrue(json.optArray(JSONPath.of("a.b")).get() is PersistentJSONArray)
+        assertTrue(json.optObject(JSONPath.of("a.b[0]")).get() is PersistentJSONObject)
+        assertFalse(json.optObject("missing").isPresent)
+        assertFalse(json.optArray(JSONPath.of("a.missing")).isPresent)
+        assertFailsWith<ParsingException> { json.optArray("n") }
+        assertFailsWith<UnsupportedOperationException> { json.optObject("a").get().put("x", 1) }
+
+        val array = json.getArray(JSONPath.of("a.b"))
+        assertTrue(array.optObject(JSONPath.of("[0]")).get() is PersistentJSONObject)
+        assertEquals(1, array.optObject(JSONPath.of("/0")).get().getInt("c"))
+        assertFalse(array.optArray(JSONPath.of("[1]")).isPresent)
+    }
+}
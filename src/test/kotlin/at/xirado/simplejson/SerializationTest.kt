@@ -0,0 +1,61 @@
+package at.xirado.simplejson
+
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+
+internal class SerializationTest {
+    @Test
+    fun testPrettyString() {
+        val json = JSONObject.fromJson("""{"a":[1,{"b":2}]}""")
+        val expected = """
+            {
+                "a" : [
+                    1,
+                    {
+                        "b" : 2
+                    }
+                ]
+            }
+        """.trimIndent().replace("\n", System.lineSeparator())
+        assertEquals(expected, json.toPrettyString())
+
+        val array = """
+            [
+                1,
+                {
+                    "b" : 2
+                }
+            ]
+        """.trimIndent().replace("\n", System.lineSeparator())
+        assertEquals(array, json.getArray("a").toPrettyString())
+    }
+
+    @Test
+    fun testBinaryRoundTrip() {
+        val json = JSONObject.fromJson("""{"s":"text","i":1,"l":${Long.MAX_VALUE},"d":1.5,"b":true,"n":null,"o":{"k":[1,"x",{}]},"a":[]}""")
+        val array = JSONArray.fromJson("""[1,"x",null,{"k":false},[2.5]]""")
+        for (fileType in listOf(FileType.CBOR, FileType.SMILE, FileType.MSGPACK)) {
+            val bytes = json.toBytes(fileType)
+            assertEquals(json, JSONObject.fromBytes(bytes, fileType), fileType.name)
+            assertEquals(json, JSONObject.fromBytes(bytes, fileType, ParseOptions.defaults().withFrozen(true)), fileType.name)
+            assertEquals(json, JSONObject(ByteArrayInputStream(bytes), fileType), fileType.name)
+            assertEquals(array, JSONArray.fromBytes(array.toBytes(fileType), fileType), fileType.name)
+
+            val stream = ByteArrayOutputStream()
+            json.writeTo(stream, fileType)
+            assertEquals(json, JSONObject.fromBytes(stream.toByteArray(), fileType), fileType.name)
+        }
+    }
+
+    @Test
+    fun testBinaryFromString() {
+        for (fileType in FileType.values()) {
+            if (fileType.isBinary)
+                assertFailsWith<IllegalArgumentException>(fileType.name) { JSONObject("{}", fileType) }
+        }
+        assertEquals(JSONObject.empty(), JSONObject("{}", FileType.JSON))
+    }
+}